@@ -0,0 +1,388 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a binder for each class annotated with '@ListableEntity'.
+ * <p>
+ * The generated binder reads the values of the fields annotated with '@ListableField' directly
+ * (or through their getters when the fields are private) and instantiates the formatters
+ * without reflection. When a binder can't be generated the library falls back to reflection.
+ *
+ * @author Juan Daniel Ornella
+ */
+public class ListableProcessor extends AbstractProcessor {
+
+
+    static final String LISTABLE_ENTITY = "ar.com.jdodevelopment.listable.annotation.ListableEntity";
+    static final String LISTABLE_FIELD = "ar.com.jdodevelopment.listable.annotation.ListableField";
+    static final String LISTABLE_ID = "ar.com.jdodevelopment.listable.annotation.ListableId";
+    static final String LISTABLE_BINDER = "ar.com.jdodevelopment.listable.binder.ListableBinder";
+    static final String VALUE_FORMATTER = "ar.com.jdodevelopment.listable.formatter.ValueFormatter";
+    static final String GENERATED_SUFFIX = "_ListableBinder";
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(LISTABLE_ENTITY);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement listableEntity = elements.getTypeElement(LISTABLE_ENTITY);
+        if (listableEntity == null)
+            return false;
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(listableEntity)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                processEntity((TypeElement) element);
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Generate the binder of an entity, or explain with a note why it falls back to reflection.
+     */
+    private void processEntity(TypeElement entity) {
+        String reason = checkEntityAccessible(entity);
+        List<BindingField> fields = new ArrayList<>();
+        BindingField idField = null;
+        List<VariableElement> candidates = reason == null ? ElementFilter.fieldsIn(entity.getEnclosedElements()) : Collections.<VariableElement>emptyList();
+        for (VariableElement field : candidates) {
+            if (getAnnotationMirror(field, LISTABLE_ID) != null) {
+                if (!isValidIdType(field.asType())) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Listable: the @ListableId " + field.getSimpleName()
+                            + " must be a byte, short, int, long or String, but it is " + field.asType(), field);
+                    return;
+                }
+                idField = new BindingField(field.getSimpleName().toString());
+                idField.accessor = getAccessor(entity, field);
+                idField.typeKind = field.asType().getKind();
+                if (idField.accessor == null) {
+                    reason = "the @ListableId " + idField.name + " is private and haven't a getter";
+                    break;
+                }
+            }
+            AnnotationMirror listableField = getAnnotationMirror(field, LISTABLE_FIELD);
+            if (listableField == null)
+                continue;
+            BindingField bindingField = new BindingField(field.getSimpleName().toString());
+            bindingField.accessor = getAccessor(entity, field);
+            bindingField.formatter = getFormatter(listableField);
+            bindingField.viewResource = getViewResource(listableField);
+            bindingField.typeKind = field.asType().getKind();
+            if (bindingField.accessor == null) {
+                reason = "the field " + bindingField.name + " is private and haven't a getter";
+            } else if (bindingField.formatter == null) {
+                reason = "the formatter of the field " + bindingField.name + " haven't a public constructor without parameters";
+            }
+            if (reason != null)
+                break;
+            fields.add(bindingField);
+        }
+        if (reason == null && fields.isEmpty())
+            reason = "it haven't any @ListableField";
+
+        if (reason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "Listable: using reflection for " + entity.getQualifiedName() + " because " + reason, entity);
+            return;
+        }
+        writeBinder(entity, fields, idField);
+    }
+
+    /**
+     * The same types accepted by ListableSchema, the boxed numbers aren't accepted.
+     */
+    private boolean isValidIdType(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        if (kind == TypeKind.LONG || kind == TypeKind.INT || kind == TypeKind.SHORT || kind == TypeKind.BYTE)
+            return true;
+        TypeElement string = elements.getTypeElement(String.class.getName());
+        return string != null && types.isSameType(type, string.asType());
+    }
+
+    /**
+     * @return null if the generated binder can access the entity, or the reason if it can't.
+     */
+    private String checkEntityAccessible(TypeElement entity) {
+        Element element = entity;
+        while (element.getKind().isClass() || element.getKind().isInterface()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE))
+                return "the class " + element.getSimpleName() + " is private";
+            element = element.getEnclosingElement();
+        }
+        if (entity.getNestingKind() == NestingKind.LOCAL || entity.getNestingKind() == NestingKind.ANONYMOUS)
+            return "it is a local class";
+        return null;
+    }
+
+    /**
+     * @return the expression used to read the field from a variable 'object', or null if it isn't accessible.
+     */
+    private String getAccessor(TypeElement entity, VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE))
+            return "object." + name;
+
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        List<String> getterNames = new ArrayList<>();
+        getterNames.add("get" + capitalized);
+        if (field.asType().getKind() == TypeKind.BOOLEAN)
+            getterNames.add("is" + capitalized);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(entity.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.PRIVATE)
+                    || method.getModifiers().contains(Modifier.STATIC)
+                    || !method.getParameters().isEmpty()
+                    || !getterNames.contains(method.getSimpleName().toString())
+                    || !types.isSameType(method.getReturnType(), field.asType()))
+                continue;
+            return "object." + method.getSimpleName() + "()";
+        }
+        return null;
+    }
+
+    /**
+     * @return the qualified name of the formatter, or null if it can't be instantiated directly.
+     */
+    private String getFormatter(AnnotationMirror listableField) {
+        AnnotationValue value = getAnnotationValue(listableField, "formatter");
+        TypeElement formatter = (TypeElement) ((DeclaredType) value.getValue()).asElement();
+        if (!formatter.getModifiers().contains(Modifier.PUBLIC) || formatter.getModifiers().contains(Modifier.ABSTRACT))
+            return null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(formatter.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC))
+                return formatter.getQualifiedName().toString();
+        }
+        return null;
+    }
+
+    private int getViewResource(AnnotationMirror listableField) {
+        return (Integer) getAnnotationValue(listableField, "viewResource").getValue();
+    }
+
+
+    private AnnotationMirror getAnnotationMirror(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotation.getQualifiedName().contentEquals(annotationName))
+                return mirror;
+        }
+        return null;
+    }
+
+    private AnnotationValue getAnnotationValue(AnnotationMirror mirror, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return entry.getValue();
+        }
+        throw new IllegalStateException("Missing value " + name + " in " + mirror);
+    }
+
+
+    private void writeBinder(TypeElement entity, List<BindingField> fields, BindingField idField) {
+        PackageElement packageElement = elements.getPackageOf(entity);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String entityName = types.erasure(entity.asType()).toString();
+        String binderName = getBinaryName(entity, packageName) + GENERATED_SUFFIX;
+        String qualifiedBinderName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+
+        try {
+            JavaFileObject file = filer.createSourceFile(qualifiedBinderName, entity);
+            try (Writer writer = file.openWriter()) {
+                writer.write(generateBinder(packageName, entityName, binderName, fields, idField));
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Listable: unable to write " + qualifiedBinderName + ": " + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * @return the name of the class relative to its package, using '$' for nested classes.
+     */
+    private String getBinaryName(TypeElement entity, String packageName) {
+        String qualifiedName = entity.getQualifiedName().toString();
+        String relativeName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return relativeName.replace('.', '$');
+    }
+
+    static String generateBinder(String packageName, String entityName, String binderName, List<BindingField> fields, BindingField idField) {
+        StringBuilder fieldNames = new StringBuilder();
+        StringBuilder viewResources = new StringBuilder();
+        StringBuilder formatters = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        StringBuilder longValues = new StringBuilder();
+        StringBuilder doubleValues = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            BindingField field = fields.get(i);
+            if (i > 0) {
+                fieldNames.append(", ");
+                viewResources.append(", ");
+            }
+            fieldNames.append('"').append(field.name).append('"');
+            viewResources.append(field.viewResource);
+            formatters.append("            case ").append(i).append(": return new ").append(field.formatter).append("();\n");
+            values.append("            case ").append(i).append(": return ").append(field.accessor).append(";\n");
+            if (field.isLong())
+                longValues.append("            case ").append(i).append(": return ").append(field.accessor).append(";\n");
+            if (field.typeKind == TypeKind.DOUBLE)
+                doubleValues.append("            case ").append(i).append(": return ").append(field.accessor).append(";\n");
+        }
+
+        StringBuilder code = new StringBuilder();
+        code.append("// Generated code from Listable. Do not modify!\n");
+        if (!packageName.isEmpty())
+            code.append("package ").append(packageName).append(";\n\n");
+        code.append("public final class ").append(binderName)
+                .append(" implements ").append(LISTABLE_BINDER).append('<').append(entityName).append("> {\n\n");
+        code.append("    private static final String[] FIELD_NAMES = {").append(fieldNames).append("};\n");
+        code.append("    private static final int[] VIEW_RESOURCES = {").append(viewResources).append("};\n\n");
+        code.append("    @Override\n");
+        code.append("    public int getFieldCount() {\n");
+        code.append("        return ").append(fields.size()).append(";\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public String getFieldName(int index) {\n");
+        code.append("        return FIELD_NAMES[index];\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public int getViewResource(int index) {\n");
+        code.append("        return VIEW_RESOURCES[index];\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public ").append(VALUE_FORMATTER).append(" createFormatter(int index) {\n");
+        code.append("        switch (index) {\n");
+        code.append(formatters);
+        code.append("            default: throw new IndexOutOfBoundsException(\"Invalid field index: \" + index);\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public Object getValue(").append(entityName).append(" object, int index) {\n");
+        code.append("        switch (index) {\n");
+        code.append(values);
+        code.append("            default: throw new IndexOutOfBoundsException(\"Invalid field index: \" + index);\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public long getLong(").append(entityName).append(" object, int index) {\n");
+        code.append("        switch (index) {\n");
+        code.append(longValues);
+        code.append("            default: throw new IllegalArgumentException(\"The field \" + index + \" isn't a byte, short, int or long\");\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public double getDouble(").append(entityName).append(" object, int index) {\n");
+        code.append("        switch (index) {\n");
+        code.append(doubleValues);
+        code.append("            default: throw new IllegalArgumentException(\"The field \" + index + \" isn't a double\");\n");
+        code.append("        }\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public long getLongId(").append(entityName).append(" object) {\n");
+        if (idField != null && idField.isLong())
+            code.append("        return ").append(idField.accessor).append(";\n");
+        else
+            code.append("        throw new UnsupportedOperationException(\"").append(entityName).append(" haven't a numeric @ListableId\");\n");
+        code.append("    }\n\n");
+        code.append("    @Override\n");
+        code.append("    public String getStringId(").append(entityName).append(" object) {\n");
+        if (idField != null && !idField.isLong())
+            code.append("        return ").append(idField.accessor).append(";\n");
+        else
+            code.append("        throw new UnsupportedOperationException(\"").append(entityName).append(" haven't a String @ListableId\");\n");
+        code.append("    }\n\n");
+        code.append("}\n");
+        return code.toString();
+    }
+
+
+    /**
+     * Data required to generate the binding of a field.
+     */
+    static final class BindingField {
+
+        final String name;
+        String accessor;
+        String formatter;
+        int viewResource;
+        TypeKind typeKind;
+
+        BindingField(String name) {
+            this.name = name;
+        }
+
+        boolean isLong() {
+            return typeKind == TypeKind.LONG || typeKind == TypeKind.INT || typeKind == TypeKind.SHORT || typeKind == TypeKind.BYTE;
+        }
+    }
+
+}
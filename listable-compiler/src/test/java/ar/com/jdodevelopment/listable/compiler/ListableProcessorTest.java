@@ -0,0 +1,109 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+
+package ar.com.jdodevelopment.listable.compiler;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles small entities with {@link ListableProcessor} and checks the binders generated or the errors reported.
+ */
+public class ListableProcessorTest {
+
+
+    @Test
+    public void primitiveAndStringIds_compile() {
+        assertTrue(compile(entity("long")).isEmpty());
+        assertTrue(compile(entity("String")).isEmpty());
+    }
+
+    @Test
+    public void boxedId_isReportedOnTheField() {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(entity("Long"));
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage(null).contains("the @ListableId id must be a byte, short, int, long or String"));
+        assertEquals(7, errors.get(0).getLineNumber());
+    }
+
+
+    private static String entity(String idType) {
+        return "package com.example;\n"
+                + "import ar.com.jdodevelopment.listable.annotation.ListableEntity;\n"
+                + "import ar.com.jdodevelopment.listable.annotation.ListableField;\n"
+                + "import ar.com.jdodevelopment.listable.annotation.ListableId;\n"
+                + "@ListableEntity\n"
+                + "public class Entity {\n"
+                + "    @ListableId " + idType + " id;\n"
+                + "    @ListableField String name;\n"
+                + "}\n";
+    }
+
+    /**
+     * Compile the entity together with its generated binder, in the classpath of the tests to find the annotations.
+     *
+     * @return the errors of the compilation.
+     */
+    private static List<Diagnostic<? extends JavaFileObject>> compile(String source) {
+        File output;
+        try {
+            output = Files.createTempDirectory("listable-processor").toFile();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///com/example/Entity.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = Arrays.asList("-d", output.getPath(), "-s", output.getPath(), "-classpath", System.getProperty("java.class.path"));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new ListableProcessor()));
+        task.call();
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                errors.add(diagnostic);
+        }
+        return errors;
+    }
+
+}
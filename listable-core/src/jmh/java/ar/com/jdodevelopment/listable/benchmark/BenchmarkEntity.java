@@ -0,0 +1,101 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+import ar.com.jdodevelopment.listable.formatter.DateFormatter;
+import ar.com.jdodevelopment.listable.formatter.MoneyFormatter;
+
+/**
+ * Entity listed by the benchmarks, the listable-compiler generates its binder.
+ *
+ * @author Juan Daniel Ornella
+ */
+@ListableEntity
+public class BenchmarkEntity {
+
+
+    static final int NAME = 0;
+    static final int AMOUNT = 1;
+    static final int DATE = 2;
+    static final int RATIO = 3;
+
+    @ListableId
+    long id;
+
+    @ListableField
+    String name;
+
+    @ListableField(formatter = MoneyFormatter.class, locale = "en-US")
+    long amount;
+
+    @ListableField(formatter = DateFormatter.class)
+    Date date;
+
+    @ListableField
+    double ratio;
+
+
+    /**
+     * @param count number of entities.
+     * @return entities with sequential ids and random values, always the same for the same count.
+     */
+    static List<BenchmarkEntity> create(int count) {
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        List<BenchmarkEntity> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BenchmarkEntity entity = new BenchmarkEntity();
+            entity.id = i;
+            entity.name = "Item " + i;
+            entity.amount = random.nextInt(1000000);
+            entity.date = new Date(now - random.nextInt(1000) * 86400000L);
+            entity.ratio = random.nextDouble();
+            list.add(entity);
+        }
+        return list;
+    }
+
+    /**
+     * @param list the previous version of the entities.
+     * @param changeEvery one of each changeEvery entities gets a different amount.
+     * @return new versions of the entities, with the same values unless they changed.
+     */
+    static List<BenchmarkEntity> update(List<BenchmarkEntity> list, int changeEvery) {
+        List<BenchmarkEntity> updated = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            BenchmarkEntity entity = list.get(i);
+            BenchmarkEntity copy = new BenchmarkEntity();
+            copy.id = entity.id;
+            copy.name = entity.name;
+            copy.amount = i % changeEvery == 0 ? entity.amount + 1 : entity.amount;
+            copy.date = new Date(entity.date.getTime());
+            copy.ratio = entity.ratio;
+            updated.add(copy);
+        }
+        return updated;
+    }
+
+}
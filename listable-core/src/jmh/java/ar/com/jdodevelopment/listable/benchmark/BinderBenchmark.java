@@ -0,0 +1,116 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ar.com.jdodevelopment.listable.binder.ListableBinder;
+import ar.com.jdodevelopment.listable.binder.ListableBinders;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Read the fields of an entity by reflection and with the binder generated by the listable-compiler.
+ * The time is per entity, reading all its fields.
+ *
+ * @author Juan Daniel Ornella
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinderBenchmark {
+
+
+    private static final int ITEMS = 1024;
+
+    private ListableBinder<BenchmarkEntity> reflectionBinder;
+
+    private ListableBinder<BenchmarkEntity> generatedBinder;
+
+    private List<BenchmarkEntity> items;
+
+
+    @Setup
+    public void setUp() {
+        ListableSchema<BenchmarkEntity> schema = ListableSchema.of(BenchmarkEntity.class);
+        reflectionBinder = ListableBinders.createReflectionBinder(schema);
+        generatedBinder = ListableBinders.findGeneratedBinder(BenchmarkEntity.class);
+        if (generatedBinder == null)
+            throw new IllegalStateException("The listable-compiler didn't generate the binder of BenchmarkEntity");
+        items = BenchmarkEntity.create(ITEMS);
+    }
+
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void reflectionValues(Blackhole blackhole) {
+        readValues(reflectionBinder, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void generatedValues(Blackhole blackhole) {
+        readValues(generatedBinder, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void reflectionPrimitives(Blackhole blackhole) {
+        readPrimitives(reflectionBinder, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void generatedPrimitives(Blackhole blackhole) {
+        readPrimitives(generatedBinder, blackhole);
+    }
+
+
+    private void readValues(ListableBinder<BenchmarkEntity> binder, Blackhole blackhole) {
+        int fieldCount = binder.getFieldCount();
+        for (int i = 0; i < items.size(); i++) {
+            BenchmarkEntity item = items.get(i);
+            for (int j = 0; j < fieldCount; j++) {
+                blackhole.consume(binder.getValue(item, j));
+            }
+        }
+    }
+
+    /**
+     * Read the long and double fields without boxing, as the view holders do.
+     */
+    private void readPrimitives(ListableBinder<BenchmarkEntity> binder, Blackhole blackhole) {
+        for (int i = 0; i < items.size(); i++) {
+            BenchmarkEntity item = items.get(i);
+            blackhole.consume(binder.getLongId(item));
+            blackhole.consume(binder.getLong(item, BenchmarkEntity.AMOUNT));
+            blackhole.consume(binder.getDouble(item, BenchmarkEntity.RATIO));
+        }
+    }
+
+}
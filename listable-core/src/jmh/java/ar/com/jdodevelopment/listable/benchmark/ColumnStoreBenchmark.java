@@ -0,0 +1,138 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+
+package ar.com.jdodevelopment.listable.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.schema.ListableColumnStore;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Compare a list of entities with a {@link ListableColumnStore} of the same rows.
+ * <p>
+ * The footprint is the memory allocated to build each one, run with '-prof gc' and compare the
+ * 'gc.alloc.rate.norm' of {@link #createList()} and {@link #createColumnStore()}.
+ *
+ * @author Juan Daniel Ornella
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColumnStoreBenchmark {
+
+
+    private static final String[] COUNTRIES = {"Argentina", "Brasil", "Chile", "Uruguay"};
+
+    @Param({"10000", "300000"})
+    public int rows;
+
+    private ListableSchema<Measure> schema;
+
+    private List<Measure> measures;
+
+    private ListableColumnStore<Measure> store;
+
+
+    @Setup
+    public void setUp() {
+        schema = ListableSchema.of(Measure.class);
+        measures = createList();
+        store = ListableColumnStore.of(Measure.class, measures);
+    }
+
+
+    /**
+     * The Strings are copied, as they would be when they are parsed from a response.
+     */
+    @Benchmark
+    public List<Measure> createList() {
+        List<Measure> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            list.add(new Measure(i, i * 0.25, new String(COUNTRIES[i % COUNTRIES.length])));
+        }
+        return list;
+    }
+
+    /**
+     * Includes the list the store is copied from.
+     */
+    @Benchmark
+    public ListableColumnStore<Measure> createColumnStore() {
+        return ListableColumnStore.of(Measure.class, createList());
+    }
+
+    /**
+     * @return a checksum of all the values.
+     */
+    @Benchmark
+    public long readList() {
+        long checksum = 0;
+        for (int row = 0; row < rows; row++) {
+            Measure measure = measures.get(row);
+            checksum += schema.getLong(measure, 0) + (long) schema.getDouble(measure, 1) + schema.getValue(measure, 2).hashCode();
+        }
+        return checksum;
+    }
+
+    /**
+     * @return a checksum of all the values, the same of {@link #readList()}.
+     */
+    @Benchmark
+    public long readColumnStore() {
+        long checksum = 0;
+        for (int row = 0; row < rows; row++) {
+            checksum += store.getLong(row, 0) + (long) store.getDouble(row, 1) + store.getValue(row, 2).hashCode();
+        }
+        return checksum;
+    }
+
+
+    @ListableEntity
+    public static class Measure {
+
+        @ListableField
+        final long timestamp;
+
+        @ListableField
+        final double value;
+
+        @ListableField
+        final String country;
+
+        Measure(long timestamp, double value, String country) {
+            this.timestamp = timestamp;
+            this.value = value;
+            this.country = country;
+        }
+    }
+
+}
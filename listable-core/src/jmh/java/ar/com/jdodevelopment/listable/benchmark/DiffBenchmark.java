@@ -0,0 +1,100 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ar.com.jdodevelopment.listable.schema.FieldChanges;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Compare two versions of a list item by item, as the diff of the adapters does
+ * to know which items changed and which fields must be set again.
+ * One of each hundred items changes.
+ *
+ * @author Juan Daniel Ornella
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiffBenchmark {
+
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ListableSchema<BenchmarkEntity> schema;
+
+    private List<BenchmarkEntity> oldList;
+
+    private List<BenchmarkEntity> newList;
+
+
+    @Setup
+    public void setUp() {
+        schema = ListableSchema.of(BenchmarkEntity.class);
+        oldList = BenchmarkEntity.create(size);
+        newList = BenchmarkEntity.update(oldList, 100);
+    }
+
+
+    /**
+     * @return the number of changed items.
+     */
+    @Benchmark
+    public int contentsTheSame() {
+        int changed = 0;
+        int fieldCount = schema.getFieldCount();
+        for (int i = 0; i < size; i++) {
+            BenchmarkEntity oldItem = oldList.get(i);
+            BenchmarkEntity newItem = newList.get(i);
+            for (int j = 0; j < fieldCount; j++) {
+                if (!schema.isValueEqual(oldItem, newItem, j)) {
+                    changed++;
+                    break;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @return the number of changed fields.
+     */
+    @Benchmark
+    public int changePayloads() {
+        int changed = 0;
+        for (int i = 0; i < size; i++) {
+            FieldChanges changes = schema.getChanges(oldList.get(i), newList.get(i));
+            if (changes != null && changes.contains(BenchmarkEntity.AMOUNT))
+                changed++;
+        }
+        return changed;
+    }
+
+}
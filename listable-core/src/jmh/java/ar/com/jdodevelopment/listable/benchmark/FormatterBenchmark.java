@@ -0,0 +1,122 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.NumberFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import ar.com.jdodevelopment.listable.formatter.DateFormatter;
+import ar.com.jdodevelopment.listable.formatter.MinorUnitsMoneyFormatter;
+import ar.com.jdodevelopment.listable.formatter.MoneyFormatter;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Throughput of the formatters, with the values of a list of entities.
+ * The dates repeat, as in a real list, so the cache of the formatted days is measured too.
+ *
+ * @author Juan Daniel Ornella
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FormatterBenchmark {
+
+
+    /**
+     * Power of two, so the next index is a mask.
+     */
+    private static final int ITEMS = 1024;
+
+    private DateFormatter dateFormatter;
+
+    private MoneyFormatter moneyFormatter;
+
+    private MinorUnitsMoneyFormatter minorUnitsFormatter;
+
+    private Date[] dates;
+
+    private long[] amounts;
+
+    private int index;
+
+
+    @Setup
+    public void setUp() {
+        ListableSchema<BenchmarkEntity> schema = ListableSchema.of(BenchmarkEntity.class);
+        dateFormatter = (DateFormatter) schema.obtainFormatter(BenchmarkEntity.DATE);
+        moneyFormatter = (MoneyFormatter) schema.obtainFormatter(BenchmarkEntity.AMOUNT);
+        minorUnitsFormatter = new MinorUnitsMoneyFormatter();
+        minorUnitsFormatter.configure(schema.getListableField(BenchmarkEntity.AMOUNT));
+
+        List<BenchmarkEntity> items = BenchmarkEntity.create(ITEMS);
+        dates = new Date[ITEMS];
+        amounts = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            dates[i] = items.get(i).date;
+            amounts[i] = items.get(i).amount;
+        }
+    }
+
+
+    @Benchmark
+    public CharSequence dateFormatValue() {
+        return dateFormatter.formatValue(dates[nextIndex()]);
+    }
+
+    @Benchmark
+    public CharSequence moneyFormatLong() {
+        return moneyFormatter.formatLong(amounts[nextIndex()]);
+    }
+
+    @Benchmark
+    public CharSequence moneyFormatValue() {
+        return moneyFormatter.formatValue(amounts[nextIndex()]);
+    }
+
+    /**
+     * The previous implementation of the MoneyFormatter, that parsed each value as double and created a new NumberFormat.
+     */
+    @Benchmark
+    public CharSequence moneyFormatLegacy() {
+        Number value = Double.parseDouble(String.valueOf(amounts[nextIndex()]));
+        return NumberFormat.getCurrencyInstance(Locale.US).format(value);
+    }
+
+    @Benchmark
+    public CharSequence minorUnitsFormatLong() {
+        return minorUnitsFormatter.formatLong(amounts[nextIndex()]);
+    }
+
+
+    private int nextIndex() {
+        index = (index + 1) & (ITEMS - 1);
+        return index;
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+import ar.com.jdodevelopment.listable.schema.SelectionModel;
+import ar.com.jdodevelopment.listable.schema.StableIds;
+
+/**
+ * Select items by their stable ids and read the selection of the whole list.
+ *
+ * @author Juan Daniel Ornella
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SelectionBenchmark {
+
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private StableIds<BenchmarkEntity> stableIds;
+
+    private List<BenchmarkEntity> items;
+
+    /**
+     * Half of the items selected.
+     */
+    private SelectionModel<BenchmarkEntity> selection;
+
+
+    @Setup
+    public void setUp() {
+        stableIds = new StableIds<>(ListableSchema.<BenchmarkEntity>of(BenchmarkEntity.class));
+        items = BenchmarkEntity.create(size);
+        selection = new SelectionModel<>(stableIds);
+        for (int i = 0; i < size; i += 2) {
+            selection.setSelected(items.get(i), true);
+        }
+    }
+
+
+    /**
+     * @return the number of selected items.
+     */
+    @Benchmark
+    public int selectHalf() {
+        SelectionModel<BenchmarkEntity> model = new SelectionModel<>(stableIds);
+        int selected = 0;
+        for (int i = 0; i < size; i += 2) {
+            if (model.setSelected(items.get(i), true))
+                selected++;
+        }
+        return selected;
+    }
+
+    /**
+     * @return the number of selected items.
+     */
+    @Benchmark
+    public int countSelected() {
+        return count(selection);
+    }
+
+    /**
+     * Select all and invert are O(1), only reading the selection traverses the list.
+     *
+     * @return the number of selected items.
+     */
+    @Benchmark
+    public int selectAllInvertAndCount() {
+        SelectionModel<BenchmarkEntity> model = new SelectionModel<>(stableIds);
+        model.selectAll();
+        model.setSelected(items.get(0), false);
+        model.invert();
+        return count(model);
+    }
+
+    /**
+     * @return true if the selection is still valid.
+     */
+    @Benchmark
+    public boolean retainAll() {
+        SelectionModel<BenchmarkEntity> model = new SelectionModel<>(stableIds);
+        model.setSelected(items.get(size - 1), true);
+        model.retainAll(items);
+        return model.isSelected(items.get(size - 1));
+    }
+
+
+    private int count(SelectionModel<BenchmarkEntity> model) {
+        int selected = 0;
+        for (int i = 0; i < size; i++) {
+            if (model.isSelected(items.get(i)))
+                selected++;
+        }
+        return selected;
+    }
+
+}
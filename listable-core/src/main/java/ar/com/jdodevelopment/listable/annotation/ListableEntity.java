@@ -28,6 +28,11 @@ import static java.lang.annotation.ElementType.TYPE;
 public @interface ListableEntity {
 
 
-    int layoutResource() default android.R.layout.simple_list_item_1;
+    /**
+     * The annotations don't depend on the platform, so the default is the value of android.R.layout.simple_list_item_1.
+     *
+     * @return the layout of the rows.
+     */
+    int layoutResource() default 0x01090003;
 
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import ar.com.jdodevelopment.listable.formatter.ValueFormatter;
+import ar.com.jdodevelopment.listable.formatter.ToStringFormatter;
+
+import static java.lang.annotation.ElementType.FIELD;
+
+/**
+ *
+ * Indicates the fields of a class that are going to be shown in the list and in what way.
+ *
+ * @see ListableEntity
+ * @author Juan Daniel Ornella
+ */
+@Target(FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ListableField {
+
+
+    /**
+     * Define the class that will format the values of the field.
+     * In the Android module it can be a ListableFormatter, that sets the value in the view,
+     * or a {@link ar.com.jdodevelopment.listable.formatter.TextFormatter}, that sets the text in a TextView.
+     *
+     * @return class of the formatter.
+     */
+    Class<? extends ValueFormatter> formatter() default ToStringFormatter.class;
+
+    /**
+     *
+     * @return the id of the view where the value will be setted, by default android.R.id.text1.
+     */
+    int viewResource() default 0x01020014;
+
+    /**
+     * Pattern used by the formatters that support it, like {@link ar.com.jdodevelopment.listable.formatter.DateFormatter}.
+     *
+     * @return the pattern, or empty to use the default pattern of the formatter.
+     */
+    String pattern() default "";
+
+    /**
+     * Locale used by the formatters that support it, as a tag like "es-AR".
+     *
+     * @return the locale tag, or empty to use the default locale of the device.
+     */
+    String locale() default "";
+
+    /**
+     * Column of the Cursor where the value is read, used by ListableCursorAdapter.
+     *
+     * @return the column name, or empty to use the name of the field.
+     */
+    String column() default "";
+
+    /**
+     * The view of the field is a click target of its own, the clicks are dispatched to the
+     * OnListableFieldClickListener of the adapter with the name of the field.
+     *
+     * @return true if the view of the field can be clicked.
+     */
+    boolean clickable() default false;
+
+}
\ No newline at end of file
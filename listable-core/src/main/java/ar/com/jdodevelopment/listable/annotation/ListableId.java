@@ -20,34 +20,25 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-import ar.com.jdodevelopment.listable.formatter.ListableFormatter;
-import ar.com.jdodevelopment.listable.formatter.ToStringFormatter;
-
 import static java.lang.annotation.ElementType.FIELD;
 
 /**
  *
- * Indicates the fields of a class that are going to be shown in the list and in what way.
+ * Indicates the field that identifies each entity, used by the adapters as stable id.
+ * The field must be a byte, short, int, long or String, and its value must be unique in the list.
  *
  * @see ListableEntity
  * @author Juan Daniel Ornella
  */
 @Target(FIELD)
 @Retention(RetentionPolicy.RUNTIME)
-public @interface ListableField {
-
-
-    /**
-     * Define the class that will format the values of the field.
-     *
-     * @return class of the formatter.
-     */
-    Class<? extends ListableFormatter> formatter() default ToStringFormatter.class;
+public @interface ListableId {
 
     /**
+     * Column of the Cursor where the id is read, used by ListableCursorAdapter.
      *
-     * @return the id of the view where the value will be setted.
+     * @return the column name, or empty to use the name of the field.
      */
-    int viewResource() default android.R.id.text1;
+    String column() default "";
 
-}
\ No newline at end of file
+}
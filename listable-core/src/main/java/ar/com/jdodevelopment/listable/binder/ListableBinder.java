@@ -0,0 +1,106 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.binder;
+
+import ar.com.jdodevelopment.listable.formatter.ValueFormatter;
+
+/**
+ * Gives access to the fields declared with the Annotation '{@link ar.com.jdodevelopment.listable.annotation.ListableField}'
+ * of an entity.
+ * <p>
+ * The listable-compiler generates an implementation for each class annotated with
+ * '{@link ar.com.jdodevelopment.listable.annotation.ListableEntity}' that reads the values without reflection.
+ * When there is no generated implementation a reflection based one is used.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ * @see ListableBinders
+ */
+public interface ListableBinder<T> {
+
+
+    /**
+     * @return the number of fields declared with the Annotation '@ListableField'.
+     */
+    int getFieldCount();
+
+    /**
+     * @param index position of the field.
+     * @return the name of the field.
+     */
+    String getFieldName(int index);
+
+    /**
+     * @param index position of the field.
+     * @return the id of the view where the value of the field will be setted.
+     */
+    int getViewResource(int index);
+
+    /**
+     * Instantiate the {@link ValueFormatter} declared for a field.
+     *
+     * @param index position of the field.
+     * @return a new instance of the formatter.
+     */
+    ValueFormatter createFormatter(int index);
+
+    /**
+     * @param object target object.
+     * @param index position of the field.
+     * @return the value of the field in the object.
+     */
+    Object getValue(T object, int index);
+
+    /**
+     * Read a byte, short, int or long field without boxing it.
+     *
+     * @param object target object.
+     * @param index position of the field.
+     * @return the value of the field in the object.
+     * @throws IllegalArgumentException if the field isn't a byte, short, int or long.
+     */
+    long getLong(T object, int index);
+
+    /**
+     * Read a double field without boxing it.
+     *
+     * @param object target object.
+     * @param index position of the field.
+     * @return the value of the field in the object.
+     * @throws IllegalArgumentException if the field isn't a double.
+     */
+    double getDouble(T object, int index);
+
+    /**
+     * Read the field declared with the Annotation '@ListableId' when it is a byte, short, int or long.
+     *
+     * @param object target object.
+     * @return the id of the object.
+     * @throws UnsupportedOperationException if the entity haven't a numeric '@ListableId'.
+     */
+    long getLongId(T object);
+
+    /**
+     * Read the field declared with the Annotation '@ListableId' when it is a String.
+     *
+     * @param object target object.
+     * @return the id of the object.
+     * @throws UnsupportedOperationException if the entity haven't a String '@ListableId'.
+     */
+    String getStringId(T object);
+
+}
@@ -0,0 +1,68 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.binder;
+
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Resolves the {@link ListableBinder} of an entity class.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class ListableBinders {
+
+
+    /**
+     * Suffix of the classes generated by the listable-compiler.
+     */
+    public static final String GENERATED_SUFFIX = "_ListableBinder";
+
+
+    private ListableBinders() {
+    }
+
+
+    /**
+     * Find the binder generated by the listable-compiler for the entity class.
+     *
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @return the generated binder, or null if it doesn't exist.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ListableBinder<T> findGeneratedBinder(Class entityClass) {
+        String binderName = entityClass.getName() + GENERATED_SUFFIX;
+        try {
+            Class<?> binderClass = Class.forName(binderName, true, entityClass.getClassLoader());
+            return (ListableBinder<T>) binderClass.newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create the binder " + binderName, e);
+        }
+    }
+
+    /**
+     * Create a binder that obtain the values by reflection.
+     *
+     * @param schema the schema of the entity that will be listed.
+     * @return a binder based on reflection.
+     */
+    public static <T> ListableBinder<T> createReflectionBinder(ListableSchema<T> schema) {
+        return new ReflectionListableBinder<>(schema);
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.binder;
+
+import ar.com.jdodevelopment.listable.formatter.ValueFormatter;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * {@link ListableBinder} used when the listable-compiler haven't generated a binder for the entity.
+ * Values are obtained by reflection from the fields resolved by the {@link ListableSchema}.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+class ReflectionListableBinder<T> implements ListableBinder<T> {
+
+
+    private final ListableSchema<T> schema;
+
+
+    /**
+     * @param schema the schema of the entity that will be listed.
+     */
+    ReflectionListableBinder(ListableSchema<T> schema) {
+        this.schema = schema;
+    }
+
+
+    @Override
+    public int getFieldCount() {
+        return schema.getFieldCount();
+    }
+
+    @Override
+    public String getFieldName(int index) {
+        return schema.getFieldName(index);
+    }
+
+    @Override
+    public int getViewResource(int index) {
+        return schema.getViewResource(index);
+    }
+
+    @Override
+    public ValueFormatter createFormatter(int index) {
+        try {
+            return schema.getFormatterClass(index).newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Object getValue(T object, int index) {
+        try {
+            return schema.getField(index).get(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public long getLong(T object, int index) {
+        try {
+            return schema.getField(index).getLong(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public double getDouble(T object, int index) {
+        try {
+            return schema.getField(index).getDouble(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public long getLongId(T object) {
+        if (schema.getIdType() != ListableSchema.ID_LONG)
+            throw new UnsupportedOperationException(schema.getEntityClass().getName() + " haven't a numeric @ListableId");
+        try {
+            return schema.getIdField().getLong(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getStringId(T object) {
+        if (schema.getIdType() != ListableSchema.ID_STRING)
+            throw new UnsupportedOperationException(schema.getEntityClass().getName() + " haven't a String @ListableId");
+        try {
+            return (String) schema.getIdField().get(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
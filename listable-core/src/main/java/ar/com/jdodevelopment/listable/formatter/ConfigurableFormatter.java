@@ -0,0 +1,39 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+
+/**
+ * Implemented by the {@link ValueFormatter}s that read their configuration, like the pattern or the locale,
+ * from the Annotation '{@link ListableField}' of the field.
+ * <p>
+ * The {@link FormatterRegistry} shares an instance for each distinct configuration.
+ *
+ * @author Juan Daniel Ornella
+ */
+public interface ConfigurableFormatter {
+
+
+    /**
+     * Called once, before the formatter is used.
+     *
+     * @param listableField the annotation of the field that will be formatted.
+     */
+    void configure(ListableField listableField);
+
+}
@@ -0,0 +1,170 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Formats dates with a pattern and a locale, shared by all the {@link DateFormatter}s with the same configuration.
+ * <p>
+ * The {@link SimpleDateFormat} is only used while holding the lock of the engine, and it is rebuilt when the
+ * default locale changes or when {@link #invalidateAll()} is called. When the pattern doesn't contain time fields,
+ * the formatted values are also cached by day in a small direct mapped cache, so rows with the same date
+ * reuse the same String.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class DateFormatEngine {
+
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    /**
+     * Number of days cached by engine, must be a power of two.
+     */
+    private static final int DAY_CACHE_SIZE = 64;
+
+    /**
+     * Pattern letters of {@link SimpleDateFormat} that make the value depend on the time of the day.
+     */
+    private static final String TIME_PATTERN_LETTERS = "aHkKhmsSzZX";
+
+    private static final ConcurrentMap<String, DateFormatEngine> ENGINES = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented to force all the engines to rebuild their formats.
+     */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+
+    private final String pattern;
+    private final Locale fixedLocale;
+    private final boolean cacheByDay;
+    private final Date date = new Date(0);
+    private final long[] cachedDays = new long[DAY_CACHE_SIZE];
+    private final String[] cachedValues = new String[DAY_CACHE_SIZE];
+
+    private SimpleDateFormat dateFormat;
+    private Locale locale;
+    private int generation;
+
+
+    /**
+     * @param pattern pattern of {@link SimpleDateFormat}.
+     * @param localeTag tag of the locale like "es-AR", or empty to follow the default locale.
+     * @return the engine shared by all the formatters with the same pattern and locale.
+     */
+    static DateFormatEngine obtain(String pattern, String localeTag) {
+        String key = pattern + '\u0000' + localeTag;
+        DateFormatEngine engine = ENGINES.get(key);
+        if (engine == null) {
+            engine = new DateFormatEngine(pattern, localeTag);
+            DateFormatEngine previous = ENGINES.putIfAbsent(key, engine);
+            if (previous != null)
+                engine = previous;
+        }
+        return engine;
+    }
+
+    /**
+     * Discard the formats and cached values of all the engines, for example when the time zone changes.
+     */
+    static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+
+    private DateFormatEngine(String pattern, String localeTag) {
+        this.pattern = pattern;
+        this.fixedLocale = LocaleTags.parse(localeTag);
+        this.cacheByDay = !containsTimeFields(pattern);
+    }
+
+
+    /**
+     * @param millis milliseconds since epoch.
+     * @return the formatted date.
+     */
+    synchronized String format(long millis) {
+        ensureDateFormat();
+        if (!cacheByDay)
+            return formatDate(millis);
+
+        long day = getDay(millis);
+        int slot = (int) (day & (DAY_CACHE_SIZE - 1));
+        String value = cachedValues[slot];
+        if (value == null || cachedDays[slot] != day) {
+            value = formatDate(millis);
+            cachedDays[slot] = day;
+            cachedValues[slot] = value;
+        }
+        return value;
+    }
+
+    private String formatDate(long millis) {
+        date.setTime(millis);
+        return dateFormat.format(date);
+    }
+
+    /**
+     * @return the number of days since epoch in the time zone of the format.
+     */
+    private long getDay(long millis) {
+        TimeZone timeZone = dateFormat.getTimeZone();
+        long localMillis = millis + timeZone.getOffset(millis);
+        long day = localMillis / MILLIS_PER_DAY;
+        if (localMillis % MILLIS_PER_DAY < 0)
+            day--;
+        return day;
+    }
+
+    /**
+     * Build the format the first time, and again when the locale changes or the engines are invalidated.
+     */
+    private void ensureDateFormat() {
+        Locale currentLocale = fixedLocale != null ? fixedLocale : Locale.getDefault();
+        int currentGeneration = GENERATION.get();
+        if (dateFormat == null || !currentLocale.equals(locale) || currentGeneration != generation) {
+            dateFormat = new SimpleDateFormat(pattern, currentLocale);
+            locale = currentLocale;
+            generation = currentGeneration;
+            Arrays.fill(cachedValues, null);
+        }
+    }
+
+
+    private static boolean containsTimeFields(String pattern) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && TIME_PATTERN_LETTERS.indexOf(c) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
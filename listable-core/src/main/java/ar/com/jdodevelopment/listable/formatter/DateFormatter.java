@@ -0,0 +1,76 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import java.util.Date;
+
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+
+/**
+ * Set formatted {@link java.util.Date} values or child classes as texts.
+ * <p>
+ * The pattern and the locale can be declared in the Annotation '{@link ListableField}' of the field,
+ * by default the pattern is {@value #DEFAULT_PATTERN} and the locale is the default locale of the device.
+ *
+ * @author Juan Daniel Ornella
+ */
+public class DateFormatter implements ConfigurableFormatter, TextFormatter {
+
+
+    public static final String DEFAULT_PATTERN = "dd/MM/yyyy";
+
+    private DateFormatEngine engine = DateFormatEngine.obtain(DEFAULT_PATTERN, "");
+
+
+    /**
+     * Discard the cached formats and values of all the DateFormatters.
+     * Call it when the time zone of the device changes. Changes of the default locale are detected automatically.
+     */
+    public static void invalidateCaches() {
+        DateFormatEngine.invalidateAll();
+    }
+
+
+    @Override
+    public void configure(ListableField listableField) {
+        String pattern = listableField.pattern().isEmpty() ? DEFAULT_PATTERN : listableField.pattern();
+        engine = DateFormatEngine.obtain(pattern, listableField.locale());
+    }
+
+    @Override
+    public CharSequence formatValue(Object value) {
+        Date date = (Date) value;
+        return getFormattedValue(date.getTime());
+    }
+
+
+    private String getFormattedValue(long milis) {
+        return engine.format(milis);
+    }
+
+    @Override
+    public CharSequence formatNull() {
+        return "-";
+    }
+
+    @Override
+    public boolean supportedValueType(Object value) {
+        return value instanceof Date;
+    }
+
+
+}
@@ -0,0 +1,190 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+
+/**
+ * Provides the instances of the formatters and remembers which types of values they support.
+ * <p>
+ * Formatters are stateless by default, so a single instance of each class is shared.
+ * Implement {@link StatefulFormatter} to get a new instance each time.
+ * {@link ConfigurableFormatter}s are shared by configuration.
+ * <p>
+ * The result of {@link ValueFormatter#supportedValueType(Object)} is memoized by formatter class and value class,
+ * so it must depend only on the type of its argument.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class FormatterRegistry {
+
+
+    private static final ConcurrentMap<Class, ValueFormatter> SHARED_FORMATTERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<ConfigurationKey, ValueFormatter> CONFIGURED_FORMATTERS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class, ConcurrentMap<Class, Boolean>> SUPPORTED_VALUE_TYPES = new ConcurrentHashMap<>();
+
+
+    private FormatterRegistry() {
+    }
+
+
+    /**
+     * @param formatterClass class of the formatter.
+     * @return true if the instances of the formatter class can be shared.
+     */
+    public static boolean isShared(Class<? extends ValueFormatter> formatterClass) {
+        return !StatefulFormatter.class.isAssignableFrom(formatterClass);
+    }
+
+    /**
+     * Obtain an instance of the formatter, shared unless it is a {@link StatefulFormatter}.
+     *
+     * @param formatterClass class of the formatter.
+     * @return instance of the formatter.
+     * @throws IllegalStateException if the formatter can't be instantiated.
+     */
+    public static ValueFormatter obtain(Class<? extends ValueFormatter> formatterClass) {
+        if (!isShared(formatterClass))
+            return newInstance(formatterClass);
+
+        ValueFormatter formatter = SHARED_FORMATTERS.get(formatterClass);
+        if (formatter == null) {
+            formatter = newInstance(formatterClass);
+            ValueFormatter previous = SHARED_FORMATTERS.putIfAbsent(formatterClass, formatter);
+            if (previous != null)
+                formatter = previous;
+        }
+        return formatter;
+    }
+
+    /**
+     * Obtain an instance of the formatter configured for a field.
+     *
+     * @param formatterClass class of the formatter.
+     * @param listableField the annotation of the field that will be formatted.
+     * @return instance of the formatter.
+     * @throws IllegalStateException if the formatter can't be instantiated.
+     */
+    public static ValueFormatter obtain(Class<? extends ValueFormatter> formatterClass, ListableField listableField) {
+        if (!ConfigurableFormatter.class.isAssignableFrom(formatterClass))
+            return obtain(formatterClass);
+        if (!isShared(formatterClass))
+            return configure(newInstance(formatterClass), listableField);
+
+        ConfigurationKey key = new ConfigurationKey(formatterClass, listableField);
+        ValueFormatter formatter = CONFIGURED_FORMATTERS.get(key);
+        if (formatter == null) {
+            formatter = configure(newInstance(formatterClass), listableField);
+            ValueFormatter previous = CONFIGURED_FORMATTERS.putIfAbsent(key, formatter);
+            if (previous != null)
+                formatter = previous;
+        }
+        return formatter;
+    }
+
+    /**
+     * Configure the formatter if it is a {@link ConfigurableFormatter}.
+     *
+     * @param formatter target formatter.
+     * @param listableField the annotation of the field that will be formatted.
+     * @return the same formatter.
+     */
+    public static ValueFormatter configure(ValueFormatter formatter, ListableField listableField) {
+        if (formatter instanceof ConfigurableFormatter)
+            ((ConfigurableFormatter) formatter).configure(listableField);
+        return formatter;
+    }
+
+    private static ValueFormatter newInstance(Class<? extends ValueFormatter> formatterClass) {
+        try {
+            return formatterClass.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * Memoized version of {@link ValueFormatter#supportedValueType(Object)}.
+     *
+     * @param formatter target formatter.
+     * @param value target value to check.
+     * @return boolean indicating if the type of value is supported.
+     */
+    public static boolean isValueSupported(ValueFormatter formatter, Object value) {
+        ConcurrentMap<Class, Boolean> supported = getSupportedTypes(SUPPORTED_VALUE_TYPES, formatter.getClass());
+        Class valueClass = value.getClass();
+        Boolean result = supported.get(valueClass);
+        if (result == null) {
+            result = formatter.supportedValueType(value);
+            supported.put(valueClass, result);
+        }
+        return result;
+    }
+
+    private static ConcurrentMap<Class, Boolean> getSupportedTypes(ConcurrentMap<Class, ConcurrentMap<Class, Boolean>> cache, Class formatterClass) {
+        ConcurrentMap<Class, Boolean> supported = cache.get(formatterClass);
+        if (supported == null) {
+            supported = new ConcurrentHashMap<>();
+            ConcurrentMap<Class, Boolean> previous = cache.putIfAbsent(formatterClass, supported);
+            if (previous != null)
+                supported = previous;
+        }
+        return supported;
+    }
+
+
+    /**
+     * Identifies the configuration that the Annotation '{@link ListableField}' gives to a formatter.
+     */
+    private static final class ConfigurationKey {
+
+        private final Class formatterClass;
+        private final String pattern;
+        private final String locale;
+
+        ConfigurationKey(Class formatterClass, ListableField listableField) {
+            this.formatterClass = formatterClass;
+            this.pattern = listableField.pattern();
+            this.locale = listableField.locale();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ConfigurationKey)) return false;
+            ConfigurationKey that = (ConfigurationKey) o;
+            return formatterClass == that.formatterClass
+                    && pattern.equals(that.pattern)
+                    && locale.equals(that.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = formatterClass.hashCode();
+            result = 31 * result + pattern.hashCode();
+            result = 31 * result + locale.hashCode();
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import java.util.Locale;
+
+/**
+ * Parses the locale tags declared in the Annotation '{@link ar.com.jdodevelopment.listable.annotation.ListableField}'.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class LocaleTags {
+
+
+    private LocaleTags() {
+    }
+
+
+    /**
+     * @param localeTag tag like "es", "es-AR" or "es_AR", or empty.
+     * @return the corresponding locale, or null if the tag is empty.
+     */
+    static Locale parse(String localeTag) {
+        if (localeTag.isEmpty())
+            return null;
+        String[] parts = localeTag.split("[-_]", 3);
+        switch (parts.length) {
+            case 1:
+                return new Locale(parts[0]);
+            case 2:
+                return new Locale(parts[0], parts[1]);
+            default:
+                return new Locale(parts[0], parts[1], parts[2]);
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+/**
+ * Format amounts stored in the minor unit of the currency, like cents, as money.
+ * For example 2999 is formatted as $29.99.
+ * <p>
+ * Supports Integer, Long, Short and Byte values.
+ *
+ * @author Juan Daniel Ornella
+ */
+public class MinorUnitsMoneyFormatter extends MoneyFormatter {
+
+
+    @Override
+    protected String getFormattedValue(Number value) {
+        return engine.formatMinorUnits(value.longValue());
+    }
+
+    @Override
+    protected String getFormattedValue(long value) {
+        return engine.formatMinorUnits(value);
+    }
+
+    @Override
+    public boolean supportedValueType(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import java.math.BigDecimal;
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Formats numbers as money with a locale, shared by all the {@link MoneyFormatter}s with the same locale.
+ * <p>
+ * The currency {@link NumberFormat} is only used while holding the lock of the engine,
+ * and it is rebuilt when the default locale changes.
+ * Values are formatted directly from their type, without converting them to String,
+ * in a buffer reused by all the calls, so only the resulting String is allocated.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class MoneyFormatEngine {
+
+
+    private static final ConcurrentMap<String, MoneyFormatEngine> ENGINES = new ConcurrentHashMap<>();
+
+    /**
+     * Amounts of minor units below it have up to 15 digits, and are formatted as double without loss of precision.
+     */
+    private static final long MAX_EXACT_MINOR_UNITS = (long) 1e15;
+
+    private static final double[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000};
+
+
+    private final Locale fixedLocale;
+    private final StringBuffer buffer = new StringBuffer();
+    private final FieldPosition fieldPosition = new FieldPosition(0);
+
+    private NumberFormat numberFormat;
+    private Locale locale;
+    private int fractionDigits;
+
+
+    /**
+     * @param localeTag tag of the locale like "es-AR", or empty to follow the default locale.
+     * @return the engine shared by all the formatters with the same locale.
+     */
+    static MoneyFormatEngine obtain(String localeTag) {
+        MoneyFormatEngine engine = ENGINES.get(localeTag);
+        if (engine == null) {
+            engine = new MoneyFormatEngine(localeTag);
+            MoneyFormatEngine previous = ENGINES.putIfAbsent(localeTag, engine);
+            if (previous != null)
+                engine = previous;
+        }
+        return engine;
+    }
+
+
+    private MoneyFormatEngine(String localeTag) {
+        this.fixedLocale = LocaleTags.parse(localeTag);
+    }
+
+
+    /**
+     * @param value Integer, Long, Short, Byte, Float, Double, BigDecimal or BigInteger.
+     * @return the value formatted as money.
+     */
+    String format(Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+            return format(value.longValue());
+        if (value instanceof Double)
+            return format(value.doubleValue());
+        if (value instanceof Float)
+            return format(toDouble((Float) value));
+        return formatObject(value);
+    }
+
+    synchronized String format(long value) {
+        ensureNumberFormat();
+        buffer.setLength(0);
+        return numberFormat.format(value, buffer, fieldPosition).toString();
+    }
+
+    synchronized String format(double value) {
+        ensureNumberFormat();
+        buffer.setLength(0);
+        return numberFormat.format(value, buffer, fieldPosition).toString();
+    }
+
+    /**
+     * @param value BigDecimal or BigInteger, formatted without loss of precision.
+     */
+    synchronized String formatObject(Number value) {
+        ensureNumberFormat();
+        buffer.setLength(0);
+        return numberFormat.format(value, buffer, fieldPosition).toString();
+    }
+
+    /**
+     * Amounts of up to 15 digits are formatted as double, because the nearest double of a decimal
+     * with up to 15 significant digits is formatted back as the same decimal, without creating a BigDecimal.
+     *
+     * @param minorUnits amount in the minor unit of the currency, like cents.
+     * @return the amount formatted as money.
+     */
+    synchronized String formatMinorUnits(long minorUnits) {
+        ensureNumberFormat();
+        buffer.setLength(0);
+        if (fractionDigits == 0)
+            return numberFormat.format(minorUnits, buffer, fieldPosition).toString();
+        if (fractionDigits < POWERS_OF_TEN.length && minorUnits > -MAX_EXACT_MINOR_UNITS && minorUnits < MAX_EXACT_MINOR_UNITS)
+            return numberFormat.format(minorUnits / POWERS_OF_TEN[fractionDigits], buffer, fieldPosition).toString();
+        return numberFormat.format(BigDecimal.valueOf(minorUnits, fractionDigits), buffer, fieldPosition).toString();
+    }
+
+
+    /**
+     * Floats are widened through their decimal representation, so 29.99f is formatted as 29.99
+     * and not as 29.989999771118164.
+     */
+    private static double toDouble(Float value) {
+        return Double.parseDouble(value.toString());
+    }
+
+    /**
+     * Build the format the first time, and again when the locale changes.
+     */
+    private void ensureNumberFormat() {
+        Locale currentLocale = fixedLocale != null ? fixedLocale : Locale.getDefault();
+        if (numberFormat == null || !currentLocale.equals(locale)) {
+            numberFormat = NumberFormat.getCurrencyInstance(currentLocale);
+            locale = currentLocale;
+            Currency currency = numberFormat.getCurrency();
+            int digits = currency != null ? currency.getDefaultFractionDigits() : -1;
+            fractionDigits = digits >= 0 ? digits : numberFormat.getMaximumFractionDigits();
+        }
+    }
+
+}
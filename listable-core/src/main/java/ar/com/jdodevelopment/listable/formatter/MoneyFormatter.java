@@ -0,0 +1,73 @@
+package ar.com.jdodevelopment.listable.formatter;
+
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+
+/**
+ * Format numbers as money.
+ * <p>
+ * Supports Integer, Long, Short, Byte, Float, Double, BigDecimal and BigInteger values.
+ * The locale can be declared in the Annotation '{@link ListableField}' of the field,
+ * by default it is the default locale of the device.
+ *
+ * @author Juan Daniel Ornella
+ * @see MinorUnitsMoneyFormatter
+ */
+public class MoneyFormatter implements ConfigurableFormatter, LongTextFormatter, DoubleTextFormatter {
+
+
+    MoneyFormatEngine engine = MoneyFormatEngine.obtain("");
+
+
+    @Override
+    public void configure(ListableField listableField) {
+        engine = MoneyFormatEngine.obtain(listableField.locale());
+    }
+
+    @Override
+    public CharSequence formatValue(Object value) {
+        return getFormattedValue((Number) value);
+    }
+
+    @Override
+    public CharSequence formatLong(long value) {
+        return getFormattedValue(value);
+    }
+
+    @Override
+    public CharSequence formatDouble(double value) {
+        return engine.format(value);
+    }
+
+    /**
+     * @param value value of a byte, short, int or long field.
+     * @return the value formatted as money.
+     */
+    protected String getFormattedValue(long value) {
+        return engine.format(value);
+    }
+
+    /**
+     * @param value supported value.
+     * @return the value formatted as money.
+     */
+    protected String getFormattedValue(Number value) {
+        return engine.format(value);
+    }
+
+    @Override
+    public CharSequence formatNull() {
+        return "-";
+    }
+
+    @Override
+    public boolean supportedValueType(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double
+                || value instanceof Short || value instanceof Byte || value instanceof BigDecimal || value instanceof BigInteger;
+    }
+
+
+}
@@ -0,0 +1,30 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+/**
+ * Marker for {@link ValueFormatter} implementations that keep state and can't be shared.
+ * <p>
+ * By default the {@link FormatterRegistry} shares a single instance of each formatter class
+ * between all the fields and view holders. Formatters implementing this interface get their
+ * own instance for each field of each view holder.
+ *
+ * @author Juan Daniel Ornella
+ */
+public interface StatefulFormatter {
+
+}
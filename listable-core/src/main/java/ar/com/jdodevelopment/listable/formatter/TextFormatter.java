@@ -0,0 +1,43 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.formatter;
+
+/**
+ * Formatters that only format the values as texts, so they don't depend on the platform.
+ * In the Android module the texts are set in TextViews.
+ * <p>
+ * The texts can be formatted in background, kept and set later in other views,
+ * so the methods can be called from any thread and must be thread-safe.
+ *
+ * @author Juan Daniel Ornella
+ */
+public interface TextFormatter extends ValueFormatter {
+
+
+    /**
+     * @param value supported value.
+     * @return the value formatted as text.
+     */
+    CharSequence formatValue(Object value);
+
+    /**
+     * @return the text when the value is null.
+     */
+    CharSequence formatNull();
+
+}
@@ -16,36 +16,34 @@
 
 package ar.com.jdodevelopment.listable.formatter;
 
-import android.support.annotation.NonNull;
-import android.view.View;
-import android.widget.TextView;
-
-
 /**
  * Default formatter for the Annotation '{@link ar.com.jdodevelopment.listable.annotation.ListableField}'.
- * Call the method toString() of an object and set it in a {@link TextView}.
+ * Call the method toString() of an object, in the Android module the text is set in a TextView.
  * Ensure that override the method String.toString if you are trying to format your custom entity.
  *
  * @author Juan Daniel Ornella
  */
-public class ToStringFormatter implements ListableFormatter {
+public class ToStringFormatter implements LongTextFormatter, DoubleTextFormatter {
+
 
+    @Override
+    public CharSequence formatValue(Object value) {
+        return value.toString();
+    }
 
     @Override
-    public void setValueInView(@NonNull View view, @NonNull Object value) {
-        TextView textView = (TextView) view;
-        textView.setText(value.toString());
+    public CharSequence formatLong(long value) {
+        return Long.toString(value);
     }
 
     @Override
-    public void setNullInView(View view) {
-        TextView textView = (TextView) view;
-        textView.setText("-");
+    public CharSequence formatDouble(double value) {
+        return Double.toString(value);
     }
 
     @Override
-    public boolean supportedViewType(View view) {
-        return view instanceof TextView;
+    public CharSequence formatNull() {
+        return "-";
     }
 
     @Override
@@ -0,0 +1,38 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.formatter;
+
+/**
+ * Base of all the formatters declared in the Annotation '{@link ar.com.jdodevelopment.listable.annotation.ListableField}'.
+ * <p>
+ * It doesn't depend on the platform, the formatters that set the values in the views extend it
+ * in the Android module, and the {@link TextFormatter}s only format the values as texts.
+ *
+ * @author Juan Daniel Ornella
+ */
+public interface ValueFormatter {
+
+
+    /**
+     *
+     * @param value target value to check.
+     * @return boolean indicating if the type of value is supported.
+     */
+    boolean supportedValueType(Object value);
+
+}
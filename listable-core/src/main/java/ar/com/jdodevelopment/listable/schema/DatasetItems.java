@@ -0,0 +1,71 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Conversions shared by the implementations of {@link ListableDataset}.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class DatasetItems {
+
+
+    private DatasetItems() {
+    }
+
+
+    /**
+     * @return the number boxed in the wrapper of the type, the type is integral or boolean.
+     */
+    static Object box(Class<?> type, long value) {
+        if (type == int.class || type == Integer.class) return (int) value;
+        if (type == short.class || type == Short.class) return (short) value;
+        if (type == byte.class || type == Byte.class) return (byte) value;
+        if (type == boolean.class || type == Boolean.class) return value != 0;
+        return value;
+    }
+
+    /**
+     * Create an entity with its constructor without parameters and set the values of a row.
+     *
+     * @param idValue the value of the '@ListableId', ignored if the entity haven't it.
+     * @throws IllegalStateException if the entity haven't a constructor without parameters.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T newItem(ListableDataset<T> dataset, int row, Object idValue) {
+        ListableSchema<T> schema = dataset.getSchema();
+        try {
+            Constructor<?> constructor = schema.getEntityClass().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            T item = (T) constructor.newInstance();
+            for (int i = 0; i < schema.getFieldCount(); i++) {
+                schema.getField(i).set(item, dataset.getValue(row, i));
+            }
+            Field idField = schema.getIdField();
+            if (idField != null)
+                idField.set(item, idValue);
+            return item;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The class " + schema.getEntityClass().getName() + " haven't a constructor without parameters", e);
+        }
+    }
+
+}
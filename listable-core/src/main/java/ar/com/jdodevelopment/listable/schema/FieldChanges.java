@@ -0,0 +1,122 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.util.List;
+
+/**
+ * Set of indexes of the fields of a {@link ListableSchema} that changed in an item.
+ * <p>
+ * It is used as payload of the notifications of RecyclerView, so the view holders only set again the values
+ * of the fields that changed.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class FieldChanges {
+
+
+    private final long[] words;
+
+
+    /**
+     * @param fieldCount number of fields of the schema.
+     */
+    public FieldChanges(int fieldCount) {
+        this.words = new long[(fieldCount + 63) >>> 6];
+    }
+
+
+    /**
+     * Merge the payloads received by a view holder.
+     *
+     * @param payloads payloads of a RecyclerView notification.
+     * @return the union of the changes, or null if the payloads are empty or any of them isn't a FieldChanges,
+     * meaning that all the fields must be set again.
+     */
+    public static FieldChanges union(List<Object> payloads) {
+        if (payloads.isEmpty())
+            return null;
+        FieldChanges union = null;
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (!(payload instanceof FieldChanges))
+                return null;
+            FieldChanges changes = (FieldChanges) payload;
+            if (union == null) {
+                union = changes;
+            } else {
+                if (union == payloads.get(0))
+                    union = union.copy();
+                union.addAll(changes);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * @return new changes with the fields that changed in any of both.
+     */
+    public static FieldChanges union(FieldChanges changes, FieldChanges other) {
+        FieldChanges union = changes.words.length >= other.words.length ? changes.copy() : other.copy();
+        union.addAll(changes.words.length >= other.words.length ? other : changes);
+        return union;
+    }
+
+
+    /**
+     * @param index position of the field that changed.
+     */
+    public void add(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * @param index position of a field.
+     * @return true if the field changed.
+     */
+    public boolean contains(int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return true if no field changed.
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param other changes to add to these changes.
+     */
+    public void addAll(FieldChanges other) {
+        for (int i = 0; i < words.length && i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    private FieldChanges copy() {
+        FieldChanges copy = new FieldChanges(words.length << 6);
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+}
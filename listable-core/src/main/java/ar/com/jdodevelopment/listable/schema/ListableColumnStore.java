@@ -0,0 +1,205 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only store of the values of a list of entities by column instead of by object, for very large lists.
+ * <p>
+ * Each field declared with '@ListableField' is kept in a primitive array: integral numbers in a long[],
+ * doubles in a double[] and Strings as int codes of a dictionary shared by all the columns, so repeated
+ * Strings are kept once. Other types are kept in an Object[]. The entities aren't retained, they are
+ * created again by {@link #getItem(int)} only when they are needed, for example on a click.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public final class ListableColumnStore<T> implements ListableDataset<T> {
+
+
+    private static final int NULL_CODE = -1;
+
+    private final ListableSchema<T> schema;
+    private final int size;
+
+    private final long[][] longColumns;
+    private final double[][] doubleColumns;
+    private final int[][] stringColumns;
+    private final Object[][] objectColumns;
+
+    /**
+     * Distinct Strings of all the columns, indexed by their code.
+     */
+    private final String[] dictionary;
+
+    /**
+     * Ids of the rows when the entity declared '@ListableId', the code of the dictionary for String ids.
+     */
+    private final long[] ids;
+
+
+    private ListableColumnStore(ListableSchema<T> schema, List<? extends T> items) {
+        this.schema = schema;
+        this.size = items.size();
+        int fieldCount = schema.getFieldCount();
+        this.longColumns = new long[fieldCount][];
+        this.doubleColumns = new double[fieldCount][];
+        this.stringColumns = new int[fieldCount][];
+        this.objectColumns = new Object[fieldCount][];
+
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < fieldCount; i++) {
+            if (schema.getValueType(i) == ListableSchema.VALUE_LONG) {
+                long[] column = longColumns[i] = new long[size];
+                for (int row = 0; row < size; row++) {
+                    column[row] = schema.getLong(items.get(row), i);
+                }
+            } else if (schema.getValueType(i) == ListableSchema.VALUE_DOUBLE) {
+                double[] column = doubleColumns[i] = new double[size];
+                for (int row = 0; row < size; row++) {
+                    column[row] = schema.getDouble(items.get(row), i);
+                }
+            } else if (schema.getField(i).getType() == String.class) {
+                int[] column = stringColumns[i] = new int[size];
+                for (int row = 0; row < size; row++) {
+                    column[row] = encode((String) schema.getValue(items.get(row), i), codes, strings);
+                }
+            } else {
+                Object[] column = objectColumns[i] = new Object[size];
+                for (int row = 0; row < size; row++) {
+                    column[row] = schema.getValue(items.get(row), i);
+                }
+            }
+        }
+
+        if (schema.hasId()) {
+            this.ids = new long[size];
+            for (int row = 0; row < size; row++) {
+                T item = items.get(row);
+                if (schema.getIdType() == ListableSchema.ID_LONG) {
+                    ids[row] = schema.getLongId(item);
+                } else {
+                    String stringId = schema.getStringId(item);
+                    if (stringId == null)
+                        throw new IllegalStateException("The @ListableId of " + item + " is null");
+                    ids[row] = encode(stringId, codes, strings);
+                }
+            }
+        } else {
+            this.ids = null;
+        }
+        this.dictionary = strings.toArray(new String[0]);
+    }
+
+    private static int encode(String value, Map<String, Integer> codes, List<String> strings) {
+        if (value == null)
+            return NULL_CODE;
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = strings.size();
+            codes.put(value, code);
+            strings.add(value);
+        }
+        return code;
+    }
+
+
+    /**
+     * Copy the values of the items by column. The items can be discarded after.
+     *
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @param items the items to store.
+     * @return a new store with the values of the items.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     */
+    public static <T> ListableColumnStore<T> of(Class entityClass, List<? extends T> items) {
+        return new ListableColumnStore<>(ListableSchema.<T>of(entityClass), items);
+    }
+
+
+    @Override
+    public ListableSchema<T> getSchema() {
+        return schema;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of distinct Strings kept in the dictionary.
+     */
+    public int getDictionarySize() {
+        return dictionary.length;
+    }
+
+    @Override
+    public boolean isNull(int row, int index) {
+        if (stringColumns[index] != null)
+            return stringColumns[index][row] == NULL_CODE;
+        if (objectColumns[index] != null)
+            return objectColumns[index][row] == null;
+        return false;
+    }
+
+    @Override
+    public long getLong(int row, int index) {
+        return longColumns[index][row];
+    }
+
+    @Override
+    public double getDouble(int row, int index) {
+        return doubleColumns[index][row];
+    }
+
+    @Override
+    public Object getValue(int row, int index) {
+        if (longColumns[index] != null)
+            return DatasetItems.box(schema.getField(index).getType(), longColumns[index][row]);
+        if (doubleColumns[index] != null)
+            return doubleColumns[index][row];
+        if (stringColumns[index] != null) {
+            int code = stringColumns[index][row];
+            return code == NULL_CODE ? null : dictionary[code];
+        }
+        return objectColumns[index][row];
+    }
+
+    @Override
+    public long getId(int row) {
+        if (ids == null)
+            throw new IllegalStateException("The class " + schema.getEntityClass().getName() + " haven't a @ListableId");
+        return ids[row];
+    }
+
+    @Override
+    public T getItem(int row) {
+        if (ids == null)
+            return DatasetItems.newItem(this, row, null);
+        Class<?> idType = schema.getIdField().getType();
+        long id = ids[row];
+        return DatasetItems.newItem(this, row, idType == String.class ? dictionary[(int) id] : DatasetItems.box(idType, id));
+    }
+
+}
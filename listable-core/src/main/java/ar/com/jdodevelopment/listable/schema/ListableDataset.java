@@ -0,0 +1,78 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+/**
+ * Read-only rows of entities stored by their values instead of by object,
+ * like {@link ListableColumnStore} or {@link ListableMappedDataset}.
+ * <p>
+ * The values are read by row and by the position of the field in the {@link ListableSchema}.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public interface ListableDataset<T> {
+
+    ListableSchema<T> getSchema();
+
+    /**
+     * @return the number of rows.
+     */
+    int size();
+
+    /**
+     * @param row position of the row.
+     * @param index position of the field.
+     * @return true if the value is null, never for primitive fields.
+     */
+    boolean isNull(int row, int index);
+
+    /**
+     * Read the value of a field of type {@link ListableSchema#VALUE_LONG} without boxing.
+     */
+    long getLong(int row, int index);
+
+    /**
+     * Read the value of a field of type {@link ListableSchema#VALUE_DOUBLE} without boxing.
+     */
+    double getDouble(int row, int index);
+
+    /**
+     * @param row position of the row.
+     * @param index position of the field.
+     * @return the value of the field, boxed in the wrapper of the type of the field for primitives.
+     */
+    Object getValue(int row, int index);
+
+    /**
+     * @param row position of the row.
+     * @return the stable id of the row, the number for numeric ids or a unique code for String ids.
+     * @throws IllegalStateException if the entity haven't declared the Annotation '@ListableId'.
+     */
+    long getId(int row);
+
+    /**
+     * Create an entity with the values of a row, only the fields declared with '@ListableField' and '@ListableId' are set.
+     *
+     * @param row position of the row.
+     * @return a new entity.
+     * @throws IllegalStateException if the entity haven't a constructor without parameters.
+     */
+    T getItem(int row);
+
+}
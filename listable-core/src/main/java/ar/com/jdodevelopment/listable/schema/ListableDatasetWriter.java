@@ -0,0 +1,189 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write a list of entities in the file format read by {@link ListableMappedDataset}.
+ * <p>
+ * Only the fields declared with '@ListableField' and '@ListableId' are written. Repeated Strings are written once.
+ * The supported types are the integral numbers, booleans, floats, doubles, Strings, Dates and BigDecimals, and their wrappers.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class ListableDatasetWriter {
+
+
+    private ListableDatasetWriter() {
+    }
+
+
+    /**
+     * @param entityClass the class that wrap the entities.
+     * @param items the entities to write.
+     * @param file the file to write, replaced if it exists.
+     * @throws IOException if the file can't be written.
+     * @throws IllegalStateException if a field has a type not supported, there are more than 63 fields or the dataset
+     * would be bigger than 2 GB. In that case the file is deleted.
+     */
+    public static <T> void write(Class entityClass, List<? extends T> items, File file) throws IOException {
+        write(entityClass, items, file, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSize the max size of the file, header, rows and strings included.
+     */
+    static <T> void write(Class entityClass, List<? extends T> items, File file, long maxSize) throws IOException {
+        ListableSchema<T> schema = ListableSchema.of(entityClass);
+        int fieldCount = schema.getFieldCount();
+        if (fieldCount > ListableMappedDataset.MAX_FIELDS)
+            throw new IllegalStateException("The datasets support up to " + ListableMappedDataset.MAX_FIELDS + " fields");
+        int[] kinds = new int[fieldCount];
+        byte[][] names = new byte[fieldCount][];
+        long headerSize = 5 * 4;
+        for (int i = 0; i < fieldCount; i++) {
+            kinds[i] = ListableMappedDataset.getKind(schema.getField(i).getType());
+            names[i] = schema.getFieldName(i).getBytes(ListableMappedDataset.UTF_8);
+            headerSize += 4 + names[i].length + 4;
+        }
+        int idKind = ListableMappedDataset.getIdKind(schema);
+        long rowsSize = (long) items.size() * ListableMappedDataset.getRowWidth(fieldCount, idKind);
+        if (headerSize + rowsSize > maxSize)
+            throw new IllegalStateException("The dataset must be smaller than the max size of the file");
+
+        // The Strings are written after the rows, so they can take only what the header and the rows left.
+        Strings strings = new Strings(maxSize - headerSize - rowsSize);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        boolean written = false;
+        try {
+            output.writeInt(ListableMappedDataset.MAGIC);
+            output.writeInt(ListableMappedDataset.VERSION);
+            output.writeInt(items.size());
+            output.writeInt(fieldCount);
+            output.writeInt(idKind);
+            for (int i = 0; i < fieldCount; i++) {
+                output.writeInt(names[i].length);
+                output.write(names[i]);
+                output.writeInt(kinds[i]);
+            }
+
+            for (int row = 0; row < items.size(); row++) {
+                T item = items.get(row);
+                long nulls = 0;
+                for (int i = 0; i < fieldCount; i++) {
+                    if (schema.getValueType(i) == ListableSchema.VALUE_OBJECT && schema.getValue(item, i) == null)
+                        nulls |= 1L << i;
+                }
+                output.writeLong(nulls);
+                for (int i = 0; i < fieldCount; i++) {
+                    writeSlot(output, schema, item, i, kinds[i], (nulls & (1L << i)) != 0, strings);
+                }
+                if (idKind == ListableMappedDataset.KIND_STRING) {
+                    String stringId = schema.getStringId(item);
+                    if (stringId == null)
+                        throw new IllegalStateException("The @ListableId of " + item + " is null");
+                    output.writeLong(strings.reference(stringId));
+                } else if (idKind != ListableMappedDataset.KIND_NONE) {
+                    output.writeLong(schema.getLongId(item));
+                }
+            }
+            strings.bytes.writeTo(output);
+            written = true;
+        } finally {
+            output.close();
+            if (!written)
+                file.delete();
+        }
+    }
+
+    private static <T> void writeSlot(DataOutputStream output, ListableSchema<T> schema, T item, int index, int kind,
+                                      boolean isNull, Strings strings) throws IOException {
+        if (isNull) {
+            output.writeLong(0);
+            return;
+        }
+        if (schema.getValueType(index) == ListableSchema.VALUE_LONG) {
+            output.writeLong(schema.getLong(item, index));
+            return;
+        }
+        if (schema.getValueType(index) == ListableSchema.VALUE_DOUBLE) {
+            output.writeDouble(schema.getDouble(item, index));
+            return;
+        }
+        Object value = schema.getValue(item, index);
+        switch (kind) {
+            case ListableMappedDataset.KIND_LONG:
+                output.writeLong(value instanceof Boolean ? ((Boolean) value ? 1 : 0) : ((Number) value).longValue());
+                break;
+            case ListableMappedDataset.KIND_DOUBLE:
+                output.writeDouble(((Number) value).doubleValue());
+                break;
+            case ListableMappedDataset.KIND_DATE:
+                output.writeLong(((Date) value).getTime());
+                break;
+            case ListableMappedDataset.KIND_DECIMAL:
+                output.writeLong(strings.reference(((BigDecimal) value).toString()));
+                break;
+            default:
+                output.writeLong(strings.reference((String) value));
+        }
+    }
+
+
+    /**
+     * Section of the distinct Strings, written after the rows.
+     */
+    private static final class Strings {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final Map<String, Long> references = new HashMap<>();
+        final long maxSize;
+
+        Strings(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * @return the offset of the String in the high 32 bits and its length in the low 32 bits.
+         */
+        long reference(String value) {
+            Long reference = references.get(value);
+            if (reference == null) {
+                byte[] encoded = value.getBytes(ListableMappedDataset.UTF_8);
+                if (bytes.size() + (long) encoded.length > maxSize)
+                    throw new IllegalStateException("The dataset, with its Strings, must be smaller than the max size of the file");
+                reference = ((long) bytes.size() << 32) | encoded.length;
+                bytes.write(encoded, 0, encoded.length);
+                references.put(value, reference);
+            }
+            return reference;
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Date;
+
+/**
+ * Read-only dataset mapped in memory from a file written by {@link ListableDatasetWriter}.
+ * <p>
+ * The file isn't read when it is opened, only its header. Each row has a fixed width, so the values of a row are
+ * read from its offset when it is bound, and the operating system loads only the pages of the file that are read.
+ * The time to show the first rows doesn't depend on the size of the file.
+ * <p>
+ * File format, in big endian:
+ * <pre>
+ * header:  magic, version, row count, field count, id kind, and for each field its name and kind
+ * rows:    for each row a mask of null fields, a slot of 8 bytes for each field, and a slot for the id
+ * strings: UTF-8 bytes of the distinct Strings, referenced by offset and length from the slots
+ * </pre>
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public final class ListableMappedDataset<T> implements ListableDataset<T> {
+
+
+    static final int MAGIC = 0x4C535444;
+    static final int VERSION = 1;
+
+    static final int KIND_NONE = 0;
+    static final int KIND_LONG = 1;
+    static final int KIND_DOUBLE = 2;
+    static final int KIND_STRING = 3;
+    static final int KIND_DATE = 4;
+    static final int KIND_DECIMAL = 5;
+
+    /**
+     * The null fields of a row are a mask in a long.
+     */
+    static final int MAX_FIELDS = 63;
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final ListableSchema<T> schema;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int[] kinds;
+    private final int idKind;
+    private final int rowWidth;
+    private final int rowsOffset;
+    private final int stringsOffset;
+
+
+    private ListableMappedDataset(ListableSchema<T> schema, ByteBuffer buffer) {
+        this.schema = schema;
+        this.buffer = buffer;
+        String entityName = schema.getEntityClass().getName();
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+            throw new IllegalStateException("The file isn't a dataset of " + entityName + " or its version isn't supported");
+        this.size = buffer.getInt();
+        int fieldCount = buffer.getInt();
+        this.idKind = buffer.getInt();
+        if (fieldCount != schema.getFieldCount() || idKind != getIdKind(schema))
+            throw new IllegalStateException("The dataset was written for another version of " + entityName);
+        this.kinds = new int[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            kinds[i] = buffer.getInt();
+            if (!schema.getFieldName(i).equals(new String(name, UTF_8)) || kinds[i] != getKind(schema.getField(i).getType()))
+                throw new IllegalStateException("The dataset was written for another version of " + entityName + ", in the field: " + schema.getFieldName(i));
+        }
+        this.rowWidth = getRowWidth(fieldCount, idKind);
+        this.rowsOffset = buffer.position();
+        this.stringsOffset = rowsOffset + size * rowWidth;
+    }
+
+
+    /**
+     * Map a file written by {@link ListableDatasetWriter}. The file must be smaller than 2 GB.
+     *
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @param file the file of the dataset.
+     * @return the dataset, valid while the file isn't modified.
+     * @throws IOException if the file can't be mapped.
+     * @throws IllegalStateException if the file wasn't written for the fields of the entity.
+     */
+    public static <T> ListableMappedDataset<T> open(Class entityClass, File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ListableMappedDataset<>(ListableSchema.<T>of(entityClass), buffer);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+
+    /**
+     * @return how the values of the type are kept in the file.
+     * @throws IllegalStateException if the type isn't supported.
+     */
+    static int getKind(Class<?> type) {
+        if (type == long.class || type == int.class || type == short.class || type == byte.class || type == boolean.class
+                || type == Long.class || type == Integer.class || type == Short.class || type == Byte.class || type == Boolean.class)
+            return KIND_LONG;
+        if (type == double.class || type == float.class || type == Double.class || type == Float.class)
+            return KIND_DOUBLE;
+        if (type == String.class)
+            return KIND_STRING;
+        if (type == Date.class)
+            return KIND_DATE;
+        if (type == BigDecimal.class)
+            return KIND_DECIMAL;
+        throw new IllegalStateException("The type " + type.getName() + " isn't supported by the datasets");
+    }
+
+    static int getIdKind(ListableSchema<?> schema) {
+        return schema.hasId() ? getKind(schema.getIdField().getType()) : KIND_NONE;
+    }
+
+    static int getRowWidth(int fieldCount, int idKind) {
+        return 8 * (1 + fieldCount + (idKind != KIND_NONE ? 1 : 0));
+    }
+
+
+    @Override
+    public ListableSchema<T> getSchema() {
+        return schema;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isNull(int row, int index) {
+        return (buffer.getLong(rowsOffset + row * rowWidth) & (1L << index)) != 0;
+    }
+
+    @Override
+    public long getLong(int row, int index) {
+        return buffer.getLong(slot(row, index));
+    }
+
+    @Override
+    public double getDouble(int row, int index) {
+        return buffer.getDouble(slot(row, index));
+    }
+
+    @Override
+    public Object getValue(int row, int index) {
+        if (isNull(row, index))
+            return null;
+        int slot = slot(row, index);
+        Class<?> type = schema.getField(index).getType();
+        switch (kinds[index]) {
+            case KIND_LONG:
+                return DatasetItems.box(type, buffer.getLong(slot));
+            case KIND_DOUBLE:
+                double value = buffer.getDouble(slot);
+                return type == float.class || type == Float.class ? (Object) (float) value : (Object) value;
+            case KIND_DATE:
+                return new Date(buffer.getLong(slot));
+            case KIND_DECIMAL:
+                return new BigDecimal(getString(buffer.getLong(slot)));
+            default:
+                return getString(buffer.getLong(slot));
+        }
+    }
+
+    @Override
+    public long getId(int row) {
+        if (idKind == KIND_NONE)
+            throw new IllegalStateException("The class " + schema.getEntityClass().getName() + " haven't a @ListableId");
+        return buffer.getLong(slot(row, kinds.length));
+    }
+
+    @Override
+    public T getItem(int row) {
+        if (idKind == KIND_NONE)
+            return DatasetItems.newItem(this, row, null);
+        long id = getId(row);
+        Class<?> idType = schema.getIdField().getType();
+        return DatasetItems.newItem(this, row, idKind == KIND_STRING ? getString(id) : DatasetItems.box(idType, id));
+    }
+
+
+    /**
+     * @return the offset of the slot of a field in the buffer, the slot after the fields is the id.
+     */
+    private int slot(int row, int index) {
+        return rowsOffset + row * rowWidth + 8 * (1 + index);
+    }
+
+    /**
+     * @param reference the offset in the strings section in the high 32 bits and the length in the low 32 bits.
+     */
+    private String getString(long reference) {
+        int offset = stringsOffset + (int) (reference >>> 32);
+        byte[] bytes = new byte[(int) reference];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, UTF_8);
+    }
+
+}
@@ -0,0 +1,438 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+import ar.com.jdodevelopment.listable.binder.ListableBinder;
+import ar.com.jdodevelopment.listable.binder.ListableBinders;
+import ar.com.jdodevelopment.listable.formatter.FormatterRegistry;
+import ar.com.jdodevelopment.listable.formatter.ValueFormatter;
+
+/**
+ * Everything that is declared with the Annotations '@ListableEntity' and '@ListableField' in an entity class,
+ * resolved only once and shared by all the adapters and view holders of that class.
+ * <p>
+ * The fields are stored in flat arrays, by index, in the same order used by the {@link ListableBinder}.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public final class ListableSchema<T> {
+
+
+    /**
+     * The field is read as an Object.
+     */
+    public static final int VALUE_OBJECT = 0;
+
+    /**
+     * The field is a byte, short, int or long and can be read with {@link #getLong(Object, int)}.
+     */
+    public static final int VALUE_LONG = 1;
+
+    /**
+     * The field is a double and can be read with {@link #getDouble(Object, int)}.
+     */
+    public static final int VALUE_DOUBLE = 2;
+
+    /**
+     * The entity haven't declared the Annotation '@ListableId'.
+     */
+    public static final int ID_NONE = 0;
+
+    /**
+     * The '@ListableId' is a byte, short, int or long.
+     */
+    public static final int ID_LONG = 1;
+
+    /**
+     * The '@ListableId' is a String.
+     */
+    public static final int ID_STRING = 2;
+
+    /**
+     * Schemas already resolved, by entity class.
+     */
+    private static final ConcurrentMap<Class, ListableSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private final Class entityClass;
+    private final int layoutResource;
+    private final Field[] fields;
+    private final String[] fieldNames;
+    private final ListableField[] listableFields;
+    private final int[] viewResources;
+    private final Class<? extends ValueFormatter>[] formatterClasses;
+    private final int[] valueTypes;
+    private final Field idField;
+    private final int idType;
+    private final ListableBinder<T> binder;
+
+
+    /**
+     * Obtain the schema of an entity class, resolving it the first time.
+     *
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @return the schema of the entity class.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     *                               or haven't declared in any field the Annotation '@ListableField'.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ListableSchema<T> of(Class entityClass) {
+        ListableSchema schema = SCHEMAS.get(entityClass);
+        if (schema == null) {
+            schema = new ListableSchema(entityClass);
+            ListableSchema previous = SCHEMAS.putIfAbsent(entityClass, schema);
+            if (previous != null)
+                schema = previous;
+        }
+        return schema;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private ListableSchema(Class entityClass) {
+        this.entityClass = entityClass;
+        this.layoutResource = getLayoutResource(entityClass);
+
+        ListableBinder<T> generatedBinder = ListableBinders.findGeneratedBinder(entityClass);
+        this.fields = generatedBinder != null ? getBinderFields(entityClass, generatedBinder) : getListableFields(entityClass);
+        if (fields.length == 0)
+            throw new IllegalStateException("You must declare at least one @ListableField in the class:" + entityClass.getSimpleName());
+
+        this.fieldNames = new String[fields.length];
+        this.listableFields = new ListableField[fields.length];
+        this.viewResources = new int[fields.length];
+        this.formatterClasses = new Class[fields.length];
+        this.valueTypes = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            ListableField listableField = fields[i].getAnnotation(ListableField.class);
+            fieldNames[i] = fields[i].getName();
+            listableFields[i] = listableField;
+            viewResources[i] = listableField.viewResource();
+            formatterClasses[i] = listableField.formatter();
+            valueTypes[i] = getValueType(fields[i].getType());
+        }
+        this.idField = getIdField(entityClass);
+        this.idType = idField == null ? ID_NONE : getValueType(idField.getType()) == VALUE_LONG ? ID_LONG : ID_STRING;
+        this.binder = generatedBinder != null ? generatedBinder : ListableBinders.<T>createReflectionBinder(this);
+    }
+
+
+    /**
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     */
+    private static int getLayoutResource(Class<?> entityClass) {
+        ListableEntity listableEntity = entityClass.getAnnotation(ListableEntity.class);
+        if (listableEntity == null) {
+            String message = "The class " + entityClass.getName() + " haven't Annotation @ListableEntity";
+            throw new IllegalStateException(message);
+        }
+        return listableEntity.layoutResource();
+    }
+
+    /**
+     * @return the fields that have the Annotation '@ListableField', already accessible.
+     */
+    private static Field[] getListableFields(Class<?> entityClass) {
+        List<Field> list = new ArrayList<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (field.getAnnotation(ListableField.class) != null) {
+                field.setAccessible(true);
+                list.add(field);
+            }
+        }
+        return list.toArray(new Field[0]);
+    }
+
+    /**
+     * @return the field declared with the Annotation '@ListableId', already accessible, or null.
+     * @throws IllegalStateException if there are many fields with '@ListableId' or it isn't an integral number or a String.
+     */
+    private static Field getIdField(Class<?> entityClass) {
+        Field idField = null;
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (field.getAnnotation(ListableId.class) == null)
+                continue;
+            if (idField != null)
+                throw new IllegalStateException("The class " + entityClass.getName() + " have more than one @ListableId");
+            if (getValueType(field.getType()) != VALUE_LONG && field.getType() != String.class)
+                throw new IllegalStateException("The @ListableId " + field.getName() + " must be a byte, short, int, long or String");
+            field.setAccessible(true);
+            idField = field;
+        }
+        return idField;
+    }
+
+    /**
+     * @return how a field of the type can be read.
+     */
+    private static int getValueType(Class<?> type) {
+        if (type == long.class || type == int.class || type == short.class || type == byte.class)
+            return VALUE_LONG;
+        if (type == double.class)
+            return VALUE_DOUBLE;
+        return VALUE_OBJECT;
+    }
+
+    /**
+     * @return the fields in the order declared by the generated binder.
+     */
+    private static Field[] getBinderFields(Class<?> entityClass, ListableBinder<?> binder) {
+        Field[] fields = new Field[binder.getFieldCount()];
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                fields[i] = entityClass.getDeclaredField(binder.getFieldName(i));
+                fields[i].setAccessible(true);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException("The binder of " + entityClass.getName() + " is outdated", e);
+            }
+        }
+        return fields;
+    }
+
+
+    public Class getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * @return the value 'layoutResource' of the Annotation '@ListableEntity'.
+     */
+    public int getLayoutResource() {
+        return layoutResource;
+    }
+
+    /**
+     * @return the number of fields declared with the Annotation '@ListableField'.
+     */
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    public Field getField(int index) {
+        return fields[index];
+    }
+
+    public String getFieldName(int index) {
+        return fieldNames[index];
+    }
+
+    public ListableField getListableField(int index) {
+        return listableFields[index];
+    }
+
+    /**
+     * @param index position of the field.
+     * @return the value 'column' of the Annotation '@ListableField', or the name of the field if it is empty.
+     */
+    public String getColumnName(int index) {
+        String column = listableFields[index].column();
+        return column.isEmpty() ? fieldNames[index] : column;
+    }
+
+    public int getViewResource(int index) {
+        return viewResources[index];
+    }
+
+    /**
+     * @param index position of the field.
+     * @return the value 'clickable' of the Annotation '@ListableField'.
+     */
+    public boolean isClickable(int index) {
+        return listableFields[index].clickable();
+    }
+
+    public Class<? extends ValueFormatter> getFormatterClass(int index) {
+        return formatterClasses[index];
+    }
+
+    /**
+     * @param index position of the field.
+     * @return {@link #VALUE_OBJECT}, {@link #VALUE_LONG} or {@link #VALUE_DOUBLE}.
+     */
+    public int getValueType(int index) {
+        return valueTypes[index];
+    }
+
+    /**
+     * @param index position of the field.
+     * @return the value zero boxed in the wrapper of the type of a primitive field, or null for other fields.
+     */
+    public Object getZeroValue(int index) {
+        Class<?> type = fields[index].getType();
+        if (type == long.class) return 0L;
+        if (type == int.class) return 0;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == double.class) return 0d;
+        return null;
+    }
+
+    /**
+     * Obtain the formatter of a field from the {@link FormatterRegistry}.
+     * {@link ar.com.jdodevelopment.listable.formatter.StatefulFormatter}s are created by the binder.
+     * {@link ar.com.jdodevelopment.listable.formatter.ConfigurableFormatter}s are configured for the field.
+     *
+     * @param index position of the field.
+     * @return the formatter of the field.
+     */
+    public ValueFormatter obtainFormatter(int index) {
+        Class<? extends ValueFormatter> formatterClass = formatterClasses[index];
+        if (FormatterRegistry.isShared(formatterClass))
+            return FormatterRegistry.obtain(formatterClass, listableFields[index]);
+        return FormatterRegistry.configure(binder.createFormatter(index), listableFields[index]);
+    }
+
+    /**
+     * @return the field declared with the Annotation '@ListableId', or null.
+     */
+    public Field getIdField() {
+        return idField;
+    }
+
+    /**
+     * @return the value 'column' of the Annotation '@ListableId', or the name of the field if it is empty, or null without id.
+     */
+    public String getIdColumnName() {
+        if (idField == null)
+            return null;
+        String column = idField.getAnnotation(ListableId.class).column();
+        return column.isEmpty() ? idField.getName() : column;
+    }
+
+    /**
+     * @return {@link #ID_NONE}, {@link #ID_LONG} or {@link #ID_STRING}.
+     */
+    public int getIdType() {
+        return idType;
+    }
+
+    /**
+     * @return true if the entity declared the Annotation '@ListableId'.
+     */
+    public boolean hasId() {
+        return idType != ID_NONE;
+    }
+
+    /**
+     * @return the binder used to read the values, generated by the listable-compiler when available.
+     */
+    public ListableBinder<T> getBinder() {
+        return binder;
+    }
+
+    /**
+     * @param object target object.
+     * @param index position of the field.
+     * @return the value of the field in the object.
+     */
+    public Object getValue(T object, int index) {
+        return binder.getValue(object, index);
+    }
+
+    /**
+     * @param oldItem first object.
+     * @param newItem second object.
+     * @param index position of the field.
+     * @return true if the field has the same value in both objects.
+     */
+    public boolean isValueEqual(T oldItem, T newItem, int index) {
+        switch (valueTypes[index]) {
+            case VALUE_LONG:
+                return binder.getLong(oldItem, index) == binder.getLong(newItem, index);
+            case VALUE_DOUBLE:
+                return Double.compare(binder.getDouble(oldItem, index), binder.getDouble(newItem, index)) == 0;
+            default:
+                Object oldValue = binder.getValue(oldItem, index);
+                Object newValue = binder.getValue(newItem, index);
+                return oldValue == null ? newValue == null : oldValue.equals(newValue);
+        }
+    }
+
+    /**
+     * @param oldItem the previous version of an object.
+     * @param newItem the new version of the object.
+     * @return the fields whose values are different, or null if all of them are equal.
+     */
+    public FieldChanges getChanges(T oldItem, T newItem) {
+        FieldChanges changes = null;
+        for (int i = 0; i < fields.length; i++) {
+            if (!isValueEqual(oldItem, newItem, i)) {
+                if (changes == null)
+                    changes = new FieldChanges(fields.length);
+                changes.add(i);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * @param fieldName name of the field.
+     * @return the index of the field with the name.
+     * @throws IllegalArgumentException if there isn't a '@ListableField' with the name.
+     */
+    public int indexOf(String fieldName) {
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(fieldName))
+                return i;
+        }
+        throw new IllegalArgumentException("The class " + entityClass.getName() + " haven't a @ListableField named " + fieldName);
+    }
+
+    /**
+     * @param object target object.
+     * @param index position of a field of type {@link #VALUE_LONG}.
+     * @return the value of the field in the object, without boxing.
+     */
+    public long getLong(T object, int index) {
+        return binder.getLong(object, index);
+    }
+
+    /**
+     * @param object target object.
+     * @param index position of a field of type {@link #VALUE_DOUBLE}.
+     * @return the value of the field in the object, without boxing.
+     */
+    public double getDouble(T object, int index) {
+        return binder.getDouble(object, index);
+    }
+
+    /**
+     * @param object target object.
+     * @return the value of the numeric '@ListableId' of the object.
+     */
+    public long getLongId(T object) {
+        return binder.getLongId(object);
+    }
+
+    /**
+     * @param object target object.
+     * @return the value of the String '@ListableId' of the object.
+     */
+    public String getStringId(T object) {
+        return binder.getStringId(object);
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import ar.com.jdodevelopment.listable.util.LongIntMap;
+
+/**
+ * Selection of the items of an adapter, keyed by the items instead of their positions so it
+ * survives insertions, removals and submitted lists.
+ * <p>
+ * When the items declared '@ListableId' the stable ids are kept in a {@link LongIntMap} without boxing,
+ * otherwise the items themselves are kept, compared by {@link Object#equals(Object)}.
+ * The keys are the exceptions to a default state, so selecting all or inverting the selection is O(1):
+ * only the flag {@code inverted} changes.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public class SelectionModel<T> {
+
+
+    private final StableIds<T> stableIds;
+
+    /**
+     * Ids of the items whose state is the opposite to the default, when the items have '@ListableId'.
+     */
+    private LongIntMap ids;
+
+    /**
+     * Items whose state is the opposite to the default, when the items haven't '@ListableId'.
+     */
+    private Set<Object> items;
+
+    /**
+     * When true the items are selected by default.
+     */
+    private boolean inverted;
+
+
+    /**
+     * @param stableIds the stable ids of the adapter, or null if the items haven't '@ListableId'.
+     */
+    public SelectionModel(StableIds<T> stableIds) {
+        this.stableIds = stableIds;
+        if (stableIds != null) {
+            ids = new LongIntMap();
+        } else {
+            items = new HashSet<>();
+        }
+    }
+
+
+    public boolean isSelected(T item) {
+        return inverted != containsKey(item);
+    }
+
+    /**
+     * @return true if the state of the item changed.
+     */
+    public boolean setSelected(T item, boolean selected) {
+        if (isSelected(item) == selected)
+            return false;
+        if (selected != inverted) {
+            addKey(item);
+        } else {
+            removeKey(item);
+        }
+        return true;
+    }
+
+    public void selectAll() {
+        clearKeys();
+        inverted = true;
+    }
+
+    public void clear() {
+        clearKeys();
+        inverted = false;
+    }
+
+    public void invert() {
+        inverted = !inverted;
+    }
+
+    /**
+     * @return true if no item can be selected, without traversing the list.
+     */
+    public boolean isClear() {
+        return !inverted && keyCount() == 0;
+    }
+
+    /**
+     * Forget the keys of the items that aren't in the list anymore.
+     */
+    public void retainAll(List<T> list) {
+        if (keyCount() == 0)
+            return;
+        if (stableIds != null) {
+            LongIntMap retained = new LongIntMap();
+            for (int i = 0; i < list.size(); i++) {
+                long id = stableIds.getId(list.get(i));
+                if (ids.containsKey(id))
+                    retained.put(id, 1);
+            }
+            ids = retained;
+        } else {
+            Set<Object> retained = new HashSet<>();
+            for (int i = 0; i < list.size(); i++) {
+                T item = list.get(i);
+                if (items.contains(item))
+                    retained.add(item);
+            }
+            items = retained;
+        }
+    }
+
+
+    private boolean containsKey(T item) {
+        if (stableIds != null)
+            return ids.containsKey(stableIds.getId(item));
+        return items.contains(item);
+    }
+
+    private void addKey(T item) {
+        if (stableIds != null) {
+            ids.put(stableIds.getId(item), 1);
+        } else {
+            items.add(item);
+        }
+    }
+
+    private void removeKey(T item) {
+        if (stableIds != null) {
+            ids.remove(stableIds.getId(item));
+        } else {
+            items.remove(item);
+        }
+    }
+
+    private void clearKeys() {
+        if (stableIds != null) {
+            ids.clear();
+        } else {
+            items.clear();
+        }
+    }
+
+    private int keyCount() {
+        return stableIds != null ? ids.size() : items.size();
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.schema;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assign the stable ids of the items of an adapter from their '@ListableId'.
+ * <p>
+ * Numeric ids are used as they are, except -1 that is {@link #NO_ID}. Each distinct String id gets a sequential
+ * number the first time it is seen, so ids never collide. The numbers of the String ids that aren't in the items
+ * of the adapter anymore are forgotten from time to time, so a list which ids keep changing don't grow the map
+ * without bound. A forgotten String id that comes back gets a new number.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public class StableIds<T> {
+
+
+    /**
+     * The id of the items without id, same as RecyclerView.NO_ID.
+     */
+    public static final long NO_ID = -1;
+
+    /**
+     * Size under which the String ids are never forgotten.
+     */
+    static final int MIN_PRUNE_SIZE = 64;
+
+
+    private final ListableSchema<T> schema;
+
+    /**
+     * Items of the adapter, or null if the String ids are never forgotten.
+     */
+    private final List<? extends T> items;
+
+    /**
+     * Numbers assigned to String ids.
+     */
+    private Map<String, Long> stringIds = new HashMap<>();
+
+    /**
+     * Next number to assign, never reused so a forgotten id can't be taken by another item.
+     */
+    private long nextStringId;
+
+
+    public StableIds(ListableSchema<T> schema) {
+        this(schema, null);
+    }
+
+    /**
+     * @param schema schema of the items.
+     * @param items  the live list of the items of the adapter. Only the String ids of these items are kept when the
+     *               map is pruned.
+     */
+    public StableIds(ListableSchema<T> schema, List<? extends T> items) {
+        this.schema = schema;
+        this.items = items;
+    }
+
+
+    /**
+     * @param item target item.
+     * @return the stable id of the item.
+     * @throws IllegalStateException if the String id of the item is null or the numeric id is {@link #NO_ID}.
+     */
+    public long getId(T item) {
+        if (schema.getIdType() == ListableSchema.ID_LONG) {
+            long id = schema.getLongId(item);
+            if (id == NO_ID)
+                throw new IllegalStateException("The @ListableId of " + item + " is -1, that is reserved for the items without id");
+            return id;
+        }
+
+        String stringId = schema.getStringId(item);
+        if (stringId == null)
+            throw new IllegalStateException("The @ListableId of " + item + " is null");
+        Long id = stringIds.get(stringId);
+        if (id == null) {
+            if (items != null && stringIds.size() >= Math.max(MIN_PRUNE_SIZE, 2 * items.size()))
+                prune();
+            id = nextStringId++;
+            stringIds.put(stringId, id);
+        }
+        return id;
+    }
+
+    /**
+     * Forget the numbers of the String ids that aren't in the items. Is only called after the map doubled the size
+     * of the items, so the cost is amortized between the new ids.
+     */
+    private void prune() {
+        Map<String, Long> retained = new HashMap<>();
+        for (T item : items) {
+            String stringId = schema.getStringId(item);
+            Long id = stringId == null ? null : stringIds.get(stringId);
+            if (id != null)
+                retained.put(stringId, id);
+        }
+        stringIds = retained;
+    }
+
+    /**
+     * @return the count of String ids that have a number assigned.
+     */
+    int size() {
+        return stringIds.size();
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares {@link MoneyFormatEngine} with the previous implementation of {@link MoneyFormatter},
+ * that converted each value to String, parsed it as double and created a new NumberFormat.
+ */
+public class MoneyFormatEngineTest {
+
+
+    private static final Locale[] LOCALES = {Locale.US, new Locale("es", "AR"), Locale.GERMANY, Locale.JAPAN};
+
+    private static final Number[] VALUES = {0, 5, -3, 42L, 29.99, 29.99f, 0.015f, 1234567.891, -0.5, Integer.MAX_VALUE, 123456789L, (short) 7, (byte) 1};
+
+
+    private static String legacyFormat(Number value, Locale locale) {
+        Number doubleValue = Double.parseDouble(value.toString());
+        NumberFormat numberFormat = NumberFormat.getCurrencyInstance(locale);
+        return numberFormat.format(doubleValue);
+    }
+
+
+    @Test
+    public void format_matchesLegacyFormatter() {
+        for (Locale locale : LOCALES) {
+            MoneyFormatEngine engine = MoneyFormatEngine.obtain(locale.toString());
+            for (Number value : VALUES) {
+                assertEquals(locale + " " + value, legacyFormat(value, locale), engine.format(value));
+            }
+        }
+    }
+
+    @Test
+    public void format_keepsPrecisionOfLongAndBigDecimal() {
+        MoneyFormatEngine engine = MoneyFormatEngine.obtain("en-US");
+        assertEquals("$9,007,199,254,740,993.00", engine.format(9007199254740993L));
+        assertEquals("$12,345,678,901,234,567.89", engine.format(new BigDecimal("12345678901234567.89")));
+    }
+
+    @Test
+    public void formatMinorUnits_usesFractionDigitsOfCurrency() {
+        assertEquals("$29.99", MoneyFormatEngine.obtain("en-US").formatMinorUnits(2999));
+        assertEquals("$0.05", MoneyFormatEngine.obtain("en-US").formatMinorUnits(5));
+        assertEquals(legacyFormat(500, Locale.JAPAN), MoneyFormatEngine.obtain("ja-JP").formatMinorUnits(500));
+    }
+
+    @Test
+    public void formatMinorUnits_keepsPrecisionOfLargeAmounts() {
+        MoneyFormatEngine engine = MoneyFormatEngine.obtain("en-US");
+        assertEquals("$123,456,789,012,345.67", engine.formatMinorUnits(12345678901234567L));
+        assertEquals("-$123,456,789,012,345.67", engine.formatMinorUnits(-12345678901234567L));
+        assertEquals("$9,999,999,999,999.99", engine.formatMinorUnits(999999999999999L));
+        assertEquals("$10,000,000,000,000.01", engine.formatMinorUnits(1000000000000001L));
+        assertEquals("$92,233,720,368,547,758.07", engine.formatMinorUnits(Long.MAX_VALUE));
+    }
+
+}
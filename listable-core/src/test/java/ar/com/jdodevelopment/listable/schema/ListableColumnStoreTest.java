@@ -0,0 +1,154 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link ListableColumnStore} keeps the values of the entities.
+ * Its footprint and read cost are compared with a list of entities in ColumnStoreBenchmark.
+ */
+public class ListableColumnStoreTest {
+
+
+    private static final String[] COUNTRIES = {"Argentina", "Brasil", "Chile", "Uruguay", null};
+
+
+    @Test
+    public void values_areReadByColumn() {
+        ListableColumnStore<Sale> store = ListableColumnStore.of(Sale.class, sales(100));
+        ListableSchema<Sale> schema = store.getSchema();
+        int units = schema.indexOf("units");
+        int amount = schema.indexOf("amount");
+        int country = schema.indexOf("country");
+        int discount = schema.indexOf("discount");
+
+        assertEquals(100, store.size());
+        assertEquals(4, store.getDictionarySize());
+        assertEquals(7L, store.getLong(7, units));
+        assertEquals(7, store.getValue(7, units));
+        assertEquals(10.5, store.getDouble(7, amount), 0);
+        assertEquals("Uruguay", store.getValue(3, country));
+        assertTrue(store.isNull(4, country));
+        assertNull(store.getValue(4, country));
+        assertEquals(new BigDecimal("0.07"), store.getValue(7, discount));
+        assertFalse(store.isNull(7, units));
+        assertEquals(1007L, store.getId(7));
+    }
+
+    @Test
+    public void getItem_createsTheEntityFromTheColumns() {
+        List<Sale> sales = sales(10);
+        Sale item = ListableColumnStore.<Sale>of(Sale.class, sales).getItem(6);
+        assertEquals(sales.get(6).id, item.id);
+        assertEquals(sales.get(6).units, item.units);
+        assertEquals(sales.get(6).amount, item.amount, 0);
+        assertEquals(sales.get(6).country, item.country);
+        assertEquals(sales.get(6).discount, item.discount);
+    }
+
+    @Test
+    public void repeatedStrings_areKeptOnceAndReadAsTheListValues() {
+        int rows = 1000;
+        List<Measure> measures = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            measures.add(new Measure(i, i * 0.25, new String(COUNTRIES[i % 4])));
+        }
+        ListableColumnStore<Measure> store = ListableColumnStore.of(Measure.class, measures);
+        ListableSchema<Measure> schema = store.getSchema();
+
+        assertEquals(4, store.getDictionarySize());
+        assertSame(store.getValue(0, 2), store.getValue(4, 2));
+        for (int row = 0; row < rows; row++) {
+            Measure measure = measures.get(row);
+            assertEquals(schema.getLong(measure, 0), store.getLong(row, 0));
+            assertEquals(schema.getDouble(measure, 1), store.getDouble(row, 1), 0);
+            assertEquals(schema.getValue(measure, 2), store.getValue(row, 2));
+        }
+    }
+
+
+    private static List<Sale> sales(int count) {
+        List<Sale> sales = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Sale sale = new Sale();
+            sale.id = 1000 + i;
+            sale.units = i;
+            sale.amount = i * 1.5;
+            sale.country = COUNTRIES[i % COUNTRIES.length];
+            sale.discount = new BigDecimal("0.0" + (i % 10));
+            sales.add(sale);
+        }
+        return sales;
+    }
+
+
+    @ListableEntity
+    static class Measure {
+
+        @ListableField
+        final long timestamp;
+
+        @ListableField
+        final double value;
+
+        @ListableField
+        final String country;
+
+        Measure(long timestamp, double value, String country) {
+            this.timestamp = timestamp;
+            this.value = value;
+            this.country = country;
+        }
+    }
+
+
+    @ListableEntity
+    static class Sale {
+
+        @ListableId
+        long id;
+
+        @ListableField
+        int units;
+
+        @ListableField
+        double amount;
+
+        @ListableField
+        String country;
+
+        @ListableField
+        BigDecimal discount;
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.schema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the files written by {@link ListableDatasetWriter} are read back by {@link ListableMappedDataset}.
+ */
+public class ListableMappedDatasetTest {
+
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("products", ".listable");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+
+    @Test
+    public void values_areReadBackFromTheMappedFile() throws IOException {
+        List<Product> products = products(1_000);
+        ListableDatasetWriter.write(Product.class, products, file);
+        ListableMappedDataset<Product> dataset = ListableMappedDataset.open(Product.class, file);
+        ListableSchema<Product> schema = dataset.getSchema();
+
+        assertEquals(1_000, dataset.size());
+        for (int row = 0; row < products.size(); row += 37) {
+            Product product = products.get(row);
+            for (int i = 0; i < schema.getFieldCount(); i++) {
+                assertEquals(schema.getFieldName(i), schema.getValue(product, i), dataset.getValue(row, i));
+            }
+        }
+        assertEquals(7L, dataset.getLong(7, schema.indexOf("stock")));
+        assertEquals(10.5, dataset.getDouble(7, schema.indexOf("price")), 0);
+        assertTrue(dataset.isNull(3, schema.indexOf("description")));
+        assertNull(dataset.getValue(3, schema.indexOf("discount")));
+        assertFalse(dataset.isNull(4, schema.indexOf("description")));
+    }
+
+    @Test
+    public void getItem_createsTheEntityWithItsStringId() throws IOException {
+        List<Product> products = products(10);
+        ListableDatasetWriter.write(Product.class, products, file);
+        ListableMappedDataset<Product> dataset = ListableMappedDataset.open(Product.class, file);
+
+        Product product = dataset.getItem(5);
+        assertEquals("SKU-5", product.sku);
+        assertEquals(products.get(5).name, product.name);
+        assertEquals(products.get(5).added, product.added);
+        assertTrue(dataset.getId(5) != dataset.getId(6));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fileOfAnotherEntity_throws() throws IOException {
+        ListableDatasetWriter.write(Product.class, products(3), file);
+        ListableMappedDataset.open(Other.class, file);
+    }
+
+
+    @Test
+    public void datasetWhoseStringsExceedTheMaxSize_throwsAndDeletesTheFile() throws IOException {
+        List<Product> products = products(100);
+        ListableDatasetWriter.write(Product.class, products, file);
+        long size = file.length();
+
+        ListableDatasetWriter.write(Product.class, products, file, size);
+        assertEquals(size, file.length());
+        try {
+            ListableDatasetWriter.write(Product.class, products, file, size - 1);
+            fail();
+        } catch (IllegalStateException expected) {
+            assertFalse(file.exists());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void datasetWhoseRowsExceedTheMaxSize_throws() throws IOException {
+        ListableDatasetWriter.write(Product.class, products(100), file, 100 * 8);
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.sku = "SKU-" + i;
+            product.name = "Product " + (i % 50);
+            product.description = i % 3 == 0 ? null : "Descripción " + i;
+            product.price = i * 1.5;
+            product.stock = i;
+            product.rating = i % 5 + 0.5f;
+            product.discount = i % 3 == 0 ? null : new BigDecimal("0." + i);
+            product.added = new Date(1_500_000_000_000L + i);
+            product.available = i % 2 == 0;
+            products.add(product);
+        }
+        return products;
+    }
+
+
+    @ListableEntity
+    static class Product {
+
+        @ListableId
+        String sku;
+
+        @ListableField
+        String name;
+
+        @ListableField
+        String description;
+
+        @ListableField
+        double price;
+
+        @ListableField
+        int stock;
+
+        @ListableField
+        float rating;
+
+        @ListableField
+        BigDecimal discount;
+
+        @ListableField
+        Date added;
+
+        @ListableField
+        Boolean available;
+    }
+
+
+    @ListableEntity
+    static class Other {
+
+        @ListableField
+        String name;
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.schema;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StableIdsTest {
+
+
+    @Test
+    public void churningStringIds_keepTheMapBounded() {
+        List<Message> items = new ArrayList<>();
+        StableIds<Message> stableIds = new StableIds<>(ListableSchema.<Message>of(Message.class), items);
+        for (int i = 0; i < 100_000; i++) {
+            Message message = new Message("message-" + i);
+            items.add(message);
+            stableIds.getId(message);
+            if (items.size() > 10)
+                items.remove(0);
+        }
+        assertTrue("" + stableIds.size(), stableIds.size() <= StableIds.MIN_PRUNE_SIZE + 1);
+    }
+
+    @Test
+    public void liveStringIds_keepTheirIdAfterPruning() {
+        List<Message> items = new ArrayList<>();
+        StableIds<Message> stableIds = new StableIds<>(ListableSchema.<Message>of(Message.class), items);
+        Message kept = new Message("kept");
+        items.add(kept);
+        long keptId = stableIds.getId(kept);
+        long lastId = keptId;
+        for (int i = 0; i < 1_000; i++) {
+            Message message = new Message("message-" + i);
+            items.add(message);
+            long id = stableIds.getId(message);
+            assertTrue(id > lastId);
+            lastId = id;
+            items.remove(message);
+        }
+        assertEquals(keptId, stableIds.getId(new Message("kept")));
+    }
+
+    @Test
+    public void numericIdOfMinusOne_isRejected() {
+        StableIds<Order> stableIds = new StableIds<>(ListableSchema.<Order>of(Order.class));
+        assertEquals(7L, stableIds.getId(new Order(7)));
+        try {
+            stableIds.getId(new Order(StableIds.NO_ID));
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+
+    @ListableEntity
+    static class Message {
+
+        @ListableId
+        String key;
+
+        @ListableField
+        String text;
+
+        Message(String key) {
+            this.key = key;
+            this.text = key;
+        }
+    }
+
+    @ListableEntity
+    static class Order {
+
+        @ListableId
+        long number;
+
+        @ListableField
+        String text = "";
+
+        Order(long number) {
+            this.number = number;
+        }
+    }
+
+}
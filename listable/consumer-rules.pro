@@ -0,0 +1,9 @@
+# Binders generated by the listable-compiler are found by the name of the entity.
+-keepnames @ar.com.jdodevelopment.listable.annotation.ListableEntity class *
+-keep class **_ListableBinder { public <init>(); }
+
+# Fields read by reflection when there is no generated binder, their names are also the default Cursor columns.
+-keepclassmembers @ar.com.jdodevelopment.listable.annotation.ListableEntity class * {
+    @ar.com.jdodevelopment.listable.annotation.ListableField <fields>;
+    @ar.com.jdodevelopment.listable.annotation.ListableId <fields>;
+}
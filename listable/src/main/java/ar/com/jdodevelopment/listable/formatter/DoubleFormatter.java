@@ -0,0 +1,38 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+/**
+ * Implemented by the {@link ListableFormatter}s that can format double fields without boxing them.
+ *
+ * @author Juan Daniel Ornella
+ */
+public interface DoubleFormatter extends ListableFormatter {
+
+
+    /**
+     * Sets the value of a double field in the view.
+     *
+     * @param view target view.
+     * @param value target value.
+     */
+    void setDoubleInView(@NonNull View view, double value);
+
+}
@@ -21,10 +21,13 @@ import android.view.View;
 
 
 /**
+ * Formatters that set the values in the views.
+ * <p>
+ * The {@link TextFormatter}s of the core module are set in TextViews by {@link ViewFormatters}.
  *
  * @author Juan Daniel Ornella
  */
-public interface ListableFormatter {
+public interface ListableFormatter extends ValueFormatter {
 
 
     /**
@@ -34,13 +37,6 @@ public interface ListableFormatter {
      */
     boolean supportedViewType(View view);
 
-    /**
-     *
-     * @param value target value to check.
-     * @return boolean indicating if the type of value is supported.
-     */
-    boolean supportedValueType(Object value);
-
     /**
      * Set the corresponding value when the value is null.
      * @param view taget view.
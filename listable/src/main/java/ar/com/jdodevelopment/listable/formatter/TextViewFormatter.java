@@ -0,0 +1,89 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.widget.TextView;
+
+/**
+ * Set the texts of a {@link TextFormatter} in a TextView.
+ * Byte, short, int, long, float and double fields are formatted without boxing
+ * when the formatter is a {@link LongTextFormatter} or a {@link DoubleTextFormatter},
+ * the other formatters receive the values boxed in the type of the field.
+ *
+ * @author Juan Daniel Ornella
+ * @see ViewFormatters#of(ValueFormatter)
+ */
+class TextViewFormatter implements LongFormatter, DoubleFormatter {
+
+
+    private final TextFormatter textFormatter;
+
+
+    TextViewFormatter(TextFormatter textFormatter) {
+        this.textFormatter = textFormatter;
+    }
+
+
+    TextFormatter getTextFormatter() {
+        return textFormatter;
+    }
+
+
+    @Override
+    public void setValueInView(@NonNull View view, @NonNull Object value) {
+        TextView textView = (TextView) view;
+        textView.setText(textFormatter.formatValue(value));
+    }
+
+    /**
+     * Only called when the formatter is a {@link LongTextFormatter}, see {@link ViewFormatters#isLongSupported(ListableFormatter)}.
+     */
+    @Override
+    public void setLongInView(@NonNull View view, long value) {
+        TextView textView = (TextView) view;
+        textView.setText(((LongTextFormatter) textFormatter).formatLong(value));
+    }
+
+    /**
+     * Only called when the formatter is a {@link DoubleTextFormatter}, see {@link ViewFormatters#isDoubleSupported(ListableFormatter)}.
+     */
+    @Override
+    public void setDoubleInView(@NonNull View view, double value) {
+        TextView textView = (TextView) view;
+        textView.setText(((DoubleTextFormatter) textFormatter).formatDouble(value));
+    }
+
+    @Override
+    public void setNullInView(View view) {
+        TextView textView = (TextView) view;
+        textView.setText(textFormatter.formatNull());
+    }
+
+    @Override
+    public boolean supportedViewType(View view) {
+        return view instanceof TextView;
+    }
+
+    @Override
+    public boolean supportedValueType(Object value) {
+        return FormatterRegistry.isValueSupported(textFormatter, value);
+    }
+
+}
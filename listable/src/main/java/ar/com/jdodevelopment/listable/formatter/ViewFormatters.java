@@ -0,0 +1,104 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.formatter;
+
+import android.view.View;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Adapt the formatters declared in the Annotation '{@link ar.com.jdodevelopment.listable.annotation.ListableField}'
+ * to the views, and remembers which types of views they support.
+ * <p>
+ * The result of {@link ListableFormatter#supportedViewType(View)} is memoized by formatter class and view class,
+ * so it must depend only on the type of its argument.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class ViewFormatters {
+
+
+    private static final ConcurrentMap<Class, ConcurrentMap<Class, Boolean>> SUPPORTED_VIEW_TYPES = new ConcurrentHashMap<>();
+
+
+    private ViewFormatters() {
+    }
+
+
+    /**
+     * @param formatter formatter declared for a field.
+     * @return the same formatter if it is a {@link ListableFormatter},
+     * or a formatter that sets the texts of the {@link TextFormatter} in a TextView.
+     * @throws IllegalStateException if the formatter is neither a ListableFormatter nor a TextFormatter.
+     */
+    public static ListableFormatter of(ValueFormatter formatter) {
+        if (formatter instanceof ListableFormatter)
+            return (ListableFormatter) formatter;
+        if (formatter instanceof TextFormatter)
+            return new TextViewFormatter((TextFormatter) formatter);
+        throw new IllegalStateException(formatter.getClass().getSimpleName() + " is neither a ListableFormatter nor a TextFormatter");
+    }
+
+    /**
+     * @param formatter formatter returned by {@link #of(ValueFormatter)}.
+     * @return true if the formatter is a {@link LongFormatter} that formats the long values without boxing them.
+     * The TextFormatters that aren't {@link LongTextFormatter}s must receive the values boxed in the type of the field.
+     */
+    public static boolean isLongSupported(ListableFormatter formatter) {
+        if (formatter instanceof TextViewFormatter)
+            return ((TextViewFormatter) formatter).getTextFormatter() instanceof LongTextFormatter;
+        return formatter instanceof LongFormatter;
+    }
+
+    /**
+     * @param formatter formatter returned by {@link #of(ValueFormatter)}.
+     * @return true if the formatter is a {@link DoubleFormatter} that formats the double values without boxing them.
+     * The TextFormatters that aren't {@link DoubleTextFormatter}s must receive the values boxed in the type of the field.
+     */
+    public static boolean isDoubleSupported(ListableFormatter formatter) {
+        if (formatter instanceof TextViewFormatter)
+            return ((TextViewFormatter) formatter).getTextFormatter() instanceof DoubleTextFormatter;
+        return formatter instanceof DoubleFormatter;
+    }
+
+    /**
+     * Memoized version of {@link ListableFormatter#supportedViewType(View)}.
+     *
+     * @param formatter target formatter.
+     * @param view target view to check.
+     * @return boolean indicating if the type of view is supported.
+     */
+    public static boolean isViewSupported(ListableFormatter formatter, View view) {
+        ConcurrentMap<Class, Boolean> supported = SUPPORTED_VIEW_TYPES.get(formatter.getClass());
+        if (supported == null) {
+            supported = new ConcurrentHashMap<>();
+            ConcurrentMap<Class, Boolean> previous = SUPPORTED_VIEW_TYPES.putIfAbsent(formatter.getClass(), supported);
+            if (previous != null)
+                supported = previous;
+        }
+        Class viewClass = view.getClass();
+        Boolean result = supported.get(viewClass);
+        if (result == null) {
+            result = formatter.supportedViewType(view);
+            supported.put(viewClass, result);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.metrics;
+
+import android.os.Trace;
+
+import java.util.Arrays;
+
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Latencies of creating and binding the view holders of an entity, and of setting each of its fields.
+ * <p>
+ * The adapters and view holders call the begin and end methods around each step while {@link ListableMetrics}
+ * is enabled, which also marks the steps as sections of {@link Trace}. Must be used from the main thread.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class EntityMetrics {
+
+
+    /**
+     * Maximum length of the name of a section of {@link Trace}.
+     */
+    private static final int MAX_SECTION_LENGTH = 127;
+
+
+    private final Class entityClass;
+
+    private final String[] fieldNames;
+
+    private final String createSection;
+
+    private final String bindSection;
+
+    private final String[] fieldSections;
+
+    private final LatencyHistogram createLatency = new LatencyHistogram();
+
+    private final LatencyHistogram bindLatency = new LatencyHistogram();
+
+    private final LatencyHistogram[] fieldLatencies;
+
+    /**
+     * Latencies of the formatter of each field, shared by all the fields with the same formatter class.
+     */
+    private final LatencyHistogram[] formatterLatencies;
+
+    /**
+     * Time spent setting each field in the current bind.
+     */
+    private final long[] bindFieldNanos;
+
+    private long slowBindCount;
+
+
+    EntityMetrics(ListableSchema<?> schema) {
+        this.entityClass = schema.getEntityClass();
+        int fieldCount = schema.getFieldCount();
+        String entityName = entityClass.getSimpleName();
+        this.fieldNames = new String[fieldCount];
+        this.fieldSections = new String[fieldCount];
+        this.fieldLatencies = new LatencyHistogram[fieldCount];
+        this.formatterLatencies = new LatencyHistogram[fieldCount];
+        this.bindFieldNanos = new long[fieldCount];
+        this.createSection = section("Listable create " + entityName);
+        this.bindSection = section("Listable bind " + entityName);
+        for (int i = 0; i < fieldCount; i++) {
+            fieldNames[i] = schema.getFieldName(i);
+            fieldSections[i] = section("Listable field " + entityName + "." + fieldNames[i]);
+            fieldLatencies[i] = new LatencyHistogram();
+            formatterLatencies[i] = ListableMetrics.obtainFormatterLatency(schema.getFormatterClass(i));
+        }
+    }
+
+    private static String section(String name) {
+        return name.length() <= MAX_SECTION_LENGTH ? name : name.substring(0, MAX_SECTION_LENGTH);
+    }
+
+
+    /**
+     * @return the start time, to pass to {@link #endCreate(long)}.
+     */
+    public long beginCreate() {
+        Trace.beginSection(createSection);
+        return System.nanoTime();
+    }
+
+    public void endCreate(long startNanos) {
+        createLatency.record(System.nanoTime() - startNanos);
+        Trace.endSection();
+    }
+
+    /**
+     * @return the start time, to pass to {@link #endBind(long, int)}.
+     */
+    public long beginBind() {
+        Trace.beginSection(bindSection);
+        Arrays.fill(bindFieldNanos, 0);
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the latency of the bind, notifying the listener of {@link ListableMetrics} if it was slow.
+     */
+    public void endBind(long startNanos, int position) {
+        long nanos = System.nanoTime() - startNanos;
+        bindLatency.record(nanos);
+        Trace.endSection();
+        if (nanos >= ListableMetrics.getSlowBindThresholdNanos()) {
+            slowBindCount++;
+            ListableMetricsListener listener = ListableMetrics.getListener();
+            if (listener != null)
+                listener.onSlowBind(this, position, nanos, bindFieldNanos);
+        }
+    }
+
+    /**
+     * @return the start time, to pass to {@link #endField(int, long)}.
+     */
+    public long beginField(int index) {
+        Trace.beginSection(fieldSections[index]);
+        return System.nanoTime();
+    }
+
+    public void endField(int index, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        fieldLatencies[index].record(nanos);
+        formatterLatencies[index].record(nanos);
+        bindFieldNanos[index] += nanos;
+        Trace.endSection();
+    }
+
+
+    public Class getEntityClass() {
+        return entityClass;
+    }
+
+    public int getFieldCount() {
+        return fieldNames.length;
+    }
+
+    public String getFieldName(int index) {
+        return fieldNames[index];
+    }
+
+    /**
+     * @return latencies of inflating the view and creating the view holder.
+     */
+    public LatencyHistogram getCreateLatency() {
+        return createLatency;
+    }
+
+    /**
+     * @return latencies of binding the items.
+     */
+    public LatencyHistogram getBindLatency() {
+        return bindLatency;
+    }
+
+    /**
+     * @param index position of the field in the schema.
+     * @return latencies of reading, formatting and setting the value of the field.
+     */
+    public LatencyHistogram getFieldLatency(int index) {
+        return fieldLatencies[index];
+    }
+
+    /**
+     * @return number of binds that took longer than the threshold of {@link ListableMetrics}.
+     */
+    public long getSlowBindCount() {
+        return slowBindCount;
+    }
+
+    void reset() {
+        createLatency.reset();
+        bindLatency.reset();
+        for (LatencyHistogram fieldLatency : fieldLatencies) {
+            fieldLatency.reset();
+        }
+        slowBindCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(entityClass.getSimpleName())
+                .append("\n  create: ").append(createLatency)
+                .append("\n  bind: ").append(bindLatency)
+                .append("\n  slow binds: ").append(slowBindCount);
+        for (int i = 0; i < fieldNames.length; i++) {
+            builder.append("\n  ").append(fieldNames[i]).append(": ").append(fieldLatencies[i]);
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.metrics;
+
+/**
+ * Distribution of latencies, counted in buckets by power of two of nanoseconds.
+ * <p>
+ * Recording doesn't allocate, so it can be used while binding. Latencies are recorded in the main thread,
+ * so they should be read there too.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class LatencyHistogram {
+
+
+    /**
+     * Number of latencies of each bucket: the bucket i counts the latencies from 2^i to 2^(i+1) - 1 nanoseconds.
+     */
+    private final long[] buckets = new long[64];
+
+    private long count;
+
+    private long totalNanos;
+
+    private long maxNanos;
+
+
+    /**
+     * @param nanos latency to add to the distribution.
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        buckets[63 - Long.numberOfLeadingZeros(nanos | 1)]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos)
+            maxNanos = nanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getMeanNanos() {
+        return count > 0 ? totalNanos / count : 0;
+    }
+
+    /**
+     * @param percentile between 0 and 100, like 50 for the median or 99.
+     * @return an upper bound of the latency under which the percentile of the latencies are,
+     * the end of its bucket, or 0 without latencies.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0)
+            return 0;
+        long target = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+        long accumulated = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            accumulated += buckets[i];
+            if (accumulated >= target && accumulated > 0)
+                return Math.min(maxNanos, (1L << (i + 1)) - 1);
+        }
+        return maxNanos;
+    }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = 0;
+        }
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + getMeanNanos() + "ns, p50=" + getPercentileNanos(50)
+                + "ns, p99=" + getPercentileNanos(99) + "ns, max=" + maxNanos + "ns";
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.metrics;
+
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ar.com.jdodevelopment.listable.formatter.ValueFormatter;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Opt-in metrics of the adapters: latencies of creating and binding view holders, by entity, field and formatter,
+ * also marked as sections of {@link android.os.Trace} to see them in systrace or the profiler.
+ * <p>
+ * Metrics are disabled by default, then the adapters only check {@link #isEnabled()} on each bind.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class ListableMetrics {
+
+
+    /**
+     * Binds that take longer than this are reported as slow, by default: half of a frame at 60 fps.
+     */
+    public static final long DEFAULT_SLOW_BIND_NANOS = 8_000_000L;
+
+
+    private static final ConcurrentMap<Class, EntityMetrics> ENTITY_METRICS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<Class, LatencyHistogram> FORMATTER_LATENCIES = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private static volatile long slowBindThresholdNanos = DEFAULT_SLOW_BIND_NANOS;
+
+    private static volatile ListableMetricsListener listener;
+
+
+    private ListableMetrics() {
+    }
+
+
+    /**
+     * @param enabled true to record the metrics and trace sections, false by default.
+     */
+    public static void setEnabled(boolean enabled) {
+        ListableMetrics.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param listener callback invoked when a bind takes longer than the threshold, or null.
+     */
+    public static void setListener(@Nullable ListableMetricsListener listener) {
+        ListableMetrics.listener = listener;
+    }
+
+    @Nullable
+    public static ListableMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @param slowBindThresholdNanos binds that take longer than this are reported as slow.
+     */
+    public static void setSlowBindThresholdNanos(long slowBindThresholdNanos) {
+        ListableMetrics.slowBindThresholdNanos = slowBindThresholdNanos;
+    }
+
+    public static long getSlowBindThresholdNanos() {
+        return slowBindThresholdNanos;
+    }
+
+
+    /**
+     * Used by the adapters and view holders to record the metrics.
+     *
+     * @param schema schema of the entity.
+     * @return the metrics of the entity, or null if metrics are disabled.
+     */
+    @Nullable
+    public static EntityMetrics obtain(ListableSchema<?> schema) {
+        if (!enabled)
+            return null;
+        EntityMetrics metrics = ENTITY_METRICS.get(schema.getEntityClass());
+        if (metrics == null) {
+            metrics = new EntityMetrics(schema);
+            EntityMetrics previous = ENTITY_METRICS.putIfAbsent(schema.getEntityClass(), metrics);
+            if (previous != null)
+                metrics = previous;
+        }
+        return metrics;
+    }
+
+    static LatencyHistogram obtainFormatterLatency(Class<? extends ValueFormatter> formatterClass) {
+        LatencyHistogram latency = FORMATTER_LATENCIES.get(formatterClass);
+        if (latency == null) {
+            latency = new LatencyHistogram();
+            LatencyHistogram previous = FORMATTER_LATENCIES.putIfAbsent(formatterClass, latency);
+            if (previous != null)
+                latency = previous;
+        }
+        return latency;
+    }
+
+    /**
+     * @param entityClass class of the entity.
+     * @return the metrics of the entity, or null if it wasn't listed while metrics were enabled.
+     */
+    @Nullable
+    public static EntityMetrics getEntityMetrics(Class entityClass) {
+        return ENTITY_METRICS.get(entityClass);
+    }
+
+    /**
+     * @param formatterClass class of the formatter.
+     * @return the latencies of setting values with the formatter in all the entities, or null if it wasn't used
+     * while metrics were enabled.
+     */
+    @Nullable
+    public static LatencyHistogram getFormatterLatency(Class<? extends ValueFormatter> formatterClass) {
+        return FORMATTER_LATENCIES.get(formatterClass);
+    }
+
+    /**
+     * Reset the latencies and counters recorded so far. Must be called from the main thread.
+     */
+    public static void reset() {
+        for (EntityMetrics metrics : ENTITY_METRICS.values()) {
+            metrics.reset();
+        }
+        for (LatencyHistogram latency : FORMATTER_LATENCIES.values()) {
+            latency.reset();
+        }
+    }
+
+}
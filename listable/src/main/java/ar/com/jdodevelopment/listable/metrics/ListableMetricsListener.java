@@ -0,0 +1,39 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.metrics;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Callback invoked in the main thread when an item takes longer to bind than the threshold of {@link ListableMetrics}.
+ *
+ * @author Juan Daniel Ornella
+ */
+public interface ListableMetricsListener {
+
+
+    /**
+     * @param metrics metrics of the entity of the item, with the names of its fields.
+     * @param position position of the item in the adapter.
+     * @param bindNanos time spent binding the item.
+     * @param fieldNanos time spent setting each field in this bind, by index, 0 for the fields that weren't set.
+     *                   The array is reused, so it is only valid during the call.
+     */
+    void onSlowBind(@NonNull EntityMetrics metrics, int position, long bindNanos, @NonNull long[] fieldNanos);
+
+}
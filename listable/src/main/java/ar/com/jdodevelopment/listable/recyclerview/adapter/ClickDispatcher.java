@@ -0,0 +1,179 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Dispatch the clicks of the view holders of an adapter to its callbacks.
+ * <p>
+ * A single listener is registered in each view holder when it is created, in the itemView and in the views
+ * of the fields declared with '@ListableField(clickable = true)'. The item is resolved from the adapter position
+ * when the click happens, so binding attaches nothing and the callbacks can be changed or removed at any time.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+final class ClickDispatcher<T> {
+
+
+    /**
+     * Gives the item of a position of the adapter, or null if it isn't loaded yet.
+     */
+    interface Items<T> {
+        T getItem(int position);
+    }
+
+
+    private final ListableSchema<T> schema;
+
+    private final Items<T> items;
+
+    private ListableAdapter.OnListableClickListener<T> onListableClickListener;
+
+    private ListableAdapter.OnListableLongClickListener<T> onListableLongClickListener;
+
+    private ListableAdapter.OnListableFieldClickListener<T> onListableFieldClickListener;
+
+    /**
+     * The views with the listener of a view holder, true for the itemViews and false for the views of the fields.
+     * The views are weakly referenced, so the holders discarded by the RecyclerView aren't retained.
+     */
+    private final Map<View, Boolean> registeredViews = new WeakHashMap<>();
+
+
+    ClickDispatcher(ListableSchema<T> schema, Items<T> items) {
+        this.schema = schema;
+        this.items = items;
+    }
+
+
+    void setOnListableClickListener(ListableAdapter.OnListableClickListener<T> onListableClickListener) {
+        this.onListableClickListener = onListableClickListener;
+        updateClickableViews();
+    }
+
+    void setOnListableLongClickListener(ListableAdapter.OnListableLongClickListener<T> onListableLongClickListener) {
+        this.onListableLongClickListener = onListableLongClickListener;
+        updateClickableViews();
+    }
+
+    void setOnListableFieldClickListener(ListableAdapter.OnListableFieldClickListener<T> onListableFieldClickListener) {
+        this.onListableFieldClickListener = onListableFieldClickListener;
+        updateClickableViews();
+    }
+
+    /**
+     * Register the listener of a view holder, called once when it is created.
+     * The views are clickable only while there is a callback for them, so the rows stay inert without callbacks.
+     */
+    void register(ListableViewHolder<T> viewHolder) {
+        ViewHolderListener listener = new ViewHolderListener(viewHolder);
+        viewHolder.itemView.setOnClickListener(listener);
+        viewHolder.itemView.setOnLongClickListener(listener);
+        registeredViews.put(viewHolder.itemView, Boolean.TRUE);
+        updateClickable(viewHolder.itemView, true);
+        for (int i = 0; i < schema.getFieldCount(); i++) {
+            if (!schema.isClickable(i))
+                continue;
+            View view = viewHolder.getListableView(i);
+            view.setOnClickListener(listener);
+            registeredViews.put(view, Boolean.FALSE);
+            updateClickable(view, false);
+        }
+    }
+
+    private void updateClickableViews() {
+        for (Map.Entry<View, Boolean> entry : registeredViews.entrySet()) {
+            updateClickable(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * The clicks of the fields are dispatched as clicks of the item when there isn't an OnListableFieldClickListener.
+     */
+    private void updateClickable(View view, boolean itemView) {
+        if (itemView) {
+            view.setClickable(onListableClickListener != null);
+            view.setLongClickable(onListableLongClickListener != null);
+        } else {
+            view.setClickable(onListableFieldClickListener != null || onListableClickListener != null);
+        }
+    }
+
+
+    /**
+     * The listener of a single view holder.
+     */
+    private final class ViewHolderListener implements View.OnClickListener, View.OnLongClickListener {
+
+        private final ListableViewHolder<T> viewHolder;
+
+        ViewHolderListener(ListableViewHolder<T> viewHolder) {
+            this.viewHolder = viewHolder;
+        }
+
+        /**
+         * When there isn't an OnListableFieldClickListener the click of a field is dispatched as a click of the item.
+         */
+        @Override
+        public void onClick(View view) {
+            T item = getItem();
+            if (item == null)
+                return;
+            int index = view == viewHolder.itemView ? -1 : indexOfField(view);
+            if (index >= 0 && onListableFieldClickListener != null) {
+                onListableFieldClickListener.onListableFieldClick(view, item, schema.getFieldName(index));
+            } else if (onListableClickListener != null) {
+                onListableClickListener.onListableClick(view, item);
+            }
+        }
+
+        @Override
+        public boolean onLongClick(View view) {
+            T item = onListableLongClickListener != null ? getItem() : null;
+            if (item != null)
+                onListableLongClickListener.onListableLongClick(view, item);
+            return false;
+        }
+
+        /**
+         * @return the item bound to the view holder, or null if it was removed or isn't loaded.
+         */
+        private T getItem() {
+            int position = viewHolder.getAdapterPosition();
+            return position != RecyclerView.NO_POSITION ? items.getItem(position) : null;
+        }
+
+        private int indexOfField(View view) {
+            for (int i = 0; i < schema.getFieldCount(); i++) {
+                if (viewHolder.getListableView(i) == view)
+                    return i;
+            }
+            return -1;
+        }
+    }
+
+}
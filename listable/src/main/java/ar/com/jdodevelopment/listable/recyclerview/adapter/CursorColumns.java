@@ -0,0 +1,185 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.database.Cursor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.Date;
+
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Indexes of the columns of a {@link Cursor} corresponding to each field of a {@link ListableSchema},
+ * resolved once per Cursor, and reading of their values with the getter of the type of each field.
+ *
+ * @author Juan Daniel Ornella
+ */
+public final class CursorColumns {
+
+
+    private final ListableSchema<?> schema;
+    private final int[] columnIndexes;
+    private final int idColumnIndex;
+
+
+    /**
+     * @param schema the schema of the entity that will be listed.
+     * @param cursor the cursor whose columns are resolved.
+     * @throws IllegalStateException if a column is missing in the Cursor.
+     */
+    public CursorColumns(ListableSchema<?> schema, Cursor cursor) {
+        this.schema = schema;
+        this.columnIndexes = new int[schema.getFieldCount()];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            columnIndexes[i] = getColumnIndex(cursor, schema.getColumnName(i), schema.getFieldName(i));
+        }
+        String idColumnName = schema.getIdColumnName();
+        this.idColumnIndex = idColumnName != null ? getColumnIndex(cursor, idColumnName, schema.getIdField().getName()) : -1;
+    }
+
+    private static int getColumnIndex(Cursor cursor, String columnName, String fieldName) {
+        int columnIndex = cursor.getColumnIndex(columnName);
+        if (columnIndex < 0)
+            throw new IllegalStateException("The column: " + columnName + " could not be found, in the field: " + fieldName);
+        return columnIndex;
+    }
+
+
+    /**
+     * @param index position of the field.
+     * @return the index of the column of the field in the Cursor.
+     */
+    public int getColumnIndex(int index) {
+        return columnIndexes[index];
+    }
+
+    /**
+     * @return the index of the column of the '@ListableId', or -1 if the entity haven't declared it.
+     */
+    public int getIdColumnIndex() {
+        return idColumnIndex;
+    }
+
+    /**
+     * @param cursor cursor moved to the row.
+     * @param index position of the field.
+     * @return true if the value of the field is null in the row.
+     */
+    public boolean isNull(Cursor cursor, int index) {
+        return cursor.isNull(columnIndexes[index]);
+    }
+
+    /**
+     * Read the value of a field of type byte, short, int or long, or their wrappers, without boxing.
+     */
+    public long getLong(Cursor cursor, int index) {
+        return cursor.getLong(columnIndexes[index]);
+    }
+
+    /**
+     * Read the value of a field of type float or double, or their wrappers, without boxing.
+     */
+    public double getDouble(Cursor cursor, int index) {
+        return cursor.getDouble(columnIndexes[index]);
+    }
+
+    /**
+     * Read the value of a field, converted to the type of the field.
+     * Dates are read as milliseconds, and other types not supported by the Cursor as String.
+     *
+     * @param cursor cursor moved to the row.
+     * @param index position of the field.
+     * @return the value, or null.
+     */
+    public Object getValue(Cursor cursor, int index) {
+        int column = columnIndexes[index];
+        if (cursor.isNull(column))
+            return null;
+        Class<?> type = schema.getField(index).getType();
+        if (type == String.class || type == CharSequence.class)
+            return cursor.getString(column);
+        if (type == long.class || type == Long.class)
+            return cursor.getLong(column);
+        if (type == int.class || type == Integer.class)
+            return cursor.getInt(column);
+        if (type == short.class || type == Short.class)
+            return cursor.getShort(column);
+        if (type == byte.class || type == Byte.class)
+            return (byte) cursor.getInt(column);
+        if (type == double.class || type == Double.class)
+            return cursor.getDouble(column);
+        if (type == float.class || type == Float.class)
+            return cursor.getFloat(column);
+        if (type == boolean.class || type == Boolean.class)
+            return cursor.getInt(column) != 0;
+        if (type == byte[].class)
+            return cursor.getBlob(column);
+        if (Date.class.isAssignableFrom(type))
+            return new Date(cursor.getLong(column));
+        if (type == BigDecimal.class)
+            return new BigDecimal(cursor.getString(column));
+        return cursor.getString(column);
+    }
+
+    /**
+     * Create an entity with its constructor without parameters and set the values of the row,
+     * only the fields declared with '@ListableField' and '@ListableId' are set.
+     * The primitive fields whose column is null keep their default value.
+     *
+     * @param cursor cursor moved to the row.
+     * @return a new entity.
+     * @throws IllegalStateException if the entity haven't a constructor without parameters.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T newItem(Cursor cursor) {
+        try {
+            Constructor<?> constructor = schema.getEntityClass().getDeclaredConstructor();
+            constructor.setAccessible(true);
+            T item = (T) constructor.newInstance();
+            for (int i = 0; i < columnIndexes.length; i++) {
+                Field field = schema.getField(i);
+                Object value = getValue(cursor, i);
+                if (value != null || !field.getType().isPrimitive())
+                    field.set(item, value);
+            }
+            if (idColumnIndex >= 0 && !cursor.isNull(idColumnIndex))
+                schema.getIdField().set(item, getIdValue(cursor));
+            return item;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The class " + schema.getEntityClass().getName() + " haven't a constructor without parameters", e);
+        }
+    }
+
+    /**
+     * @return the value of the '@ListableId', a String or a number of the type of the field.
+     */
+    private Object getIdValue(Cursor cursor) {
+        Class<?> type = schema.getIdField().getType();
+        if (type == String.class)
+            return cursor.getString(idColumnIndex);
+        long id = cursor.getLong(idColumnIndex);
+        if (type == int.class) return (int) id;
+        if (type == short.class) return (short) id;
+        if (type == byte.class) return (byte) id;
+        return id;
+    }
+
+}
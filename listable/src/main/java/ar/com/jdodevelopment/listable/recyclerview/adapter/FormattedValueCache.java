@@ -0,0 +1,259 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import ar.com.jdodevelopment.listable.schema.StableIds;
+import ar.com.jdodevelopment.listable.util.LongIntMap;
+
+/**
+ * Texts already formatted for the fields of the items, kept by item and field index so the rows that are shown again
+ * aren't formatted again.
+ * <p>
+ * The items are identified by their stable id when the entity declared the Annotation '@ListableId',
+ * and by identity otherwise. When the cache is full the least recently used item is discarded.
+ * The adapter discards the texts of the items that it reports as changed. Must be used from the main thread.
+ *
+ * @param <T> the class that want to list
+ * @author Juan Daniel Ornella
+ */
+public final class FormattedValueCache<T> {
+
+
+    public static final int DEFAULT_MAX_SIZE = 200;
+
+
+    private final StableIds<T> stableIds;
+
+    private final int fieldCount;
+
+    private final int maxSize;
+
+    /**
+     * Slot of each cached item, by stable id.
+     */
+    private final LongIntMap slotsById;
+
+    /**
+     * Slot of each cached item, by identity, when there are no stable ids.
+     */
+    private final IdentityHashMap<Object, Integer> slotsByItem;
+
+    /**
+     * Key of the item cached in each slot.
+     */
+    private final long[] ids;
+    private final Object[] items;
+
+    /**
+     * Texts of the item cached in each slot, by field index.
+     */
+    private final CharSequence[][] texts;
+
+    /**
+     * Doubly linked list of the used slots, from the most recently used to the least.
+     * The free slots are linked by {@link #older}.
+     */
+    private final int[] newer;
+    private final int[] older;
+    private int newest = -1;
+    private int oldest = -1;
+    private int freeSlot = -1;
+
+    /**
+     * Number of slots used at least once.
+     */
+    private int usedSlots;
+
+    private int size;
+
+    private int hitCount;
+
+    private int missCount;
+
+
+    FormattedValueCache(int fieldCount, int maxSize, StableIds<T> stableIds) {
+        if (maxSize <= 0)
+            throw new IllegalStateException("The size of the cache must be positive: " + maxSize);
+        this.stableIds = stableIds;
+        this.fieldCount = fieldCount;
+        this.maxSize = maxSize;
+        this.slotsById = stableIds != null ? new LongIntMap() : null;
+        this.slotsByItem = stableIds == null ? new IdentityHashMap<>() : null;
+        this.ids = new long[maxSize];
+        this.items = new Object[maxSize];
+        this.texts = new CharSequence[maxSize][];
+        this.newer = new int[maxSize];
+        this.older = new int[maxSize];
+    }
+
+
+    /**
+     * Find the texts of an item, or make room for them.
+     *
+     * @param item target item.
+     * @return the texts of the item by field index, null for the fields that weren't formatted yet.
+     */
+    CharSequence[] obtain(T item) {
+        return obtain(item, true);
+    }
+
+    /**
+     * Find the texts of an item about to be bound, or make room for them, without counting a hit or miss.
+     *
+     * @param item target item.
+     * @return the texts of the item by field index, null for the fields that weren't formatted yet.
+     */
+    CharSequence[] prepare(T item) {
+        return obtain(item, false);
+    }
+
+    private CharSequence[] obtain(T item, boolean counted) {
+        int slot = find(item);
+        if (slot >= 0) {
+            if (counted)
+                hitCount++;
+            unlink(slot);
+            linkNewest(slot);
+            return texts[slot];
+        }
+        if (counted)
+            missCount++;
+        if (freeSlot >= 0) {
+            slot = freeSlot;
+            freeSlot = older[slot];
+        } else if (usedSlots < maxSize) {
+            slot = usedSlots++;
+            texts[slot] = new CharSequence[fieldCount];
+        } else {
+            slot = oldest;
+            remove(slot);
+            freeSlot = older[slot];
+        }
+        if (stableIds != null) {
+            ids[slot] = stableIds.getId(item);
+            slotsById.put(ids[slot], slot);
+        } else {
+            items[slot] = item;
+            slotsByItem.put(item, slot);
+        }
+        Arrays.fill(texts[slot], null);
+        linkNewest(slot);
+        size++;
+        return texts[slot];
+    }
+
+    /**
+     * Discard the texts of an item, because it changed or it was removed.
+     */
+    void invalidate(T item) {
+        int slot = find(item);
+        if (slot >= 0)
+            remove(slot);
+    }
+
+    /**
+     * Discard the texts of all the items.
+     */
+    public void clear() {
+        while (oldest >= 0) {
+            remove(oldest);
+        }
+    }
+
+    private int find(T item) {
+        if (stableIds != null)
+            return slotsById.get(stableIds.getId(item), -1);
+        Integer slot = slotsByItem.get(item);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Unlink the slot and add it to the free slots.
+     */
+    private void remove(int slot) {
+        if (stableIds != null) {
+            slotsById.remove(ids[slot]);
+        } else {
+            slotsByItem.remove(items[slot]);
+            items[slot] = null;
+        }
+        unlink(slot);
+        older[slot] = freeSlot;
+        freeSlot = slot;
+        size--;
+    }
+
+    private void unlink(int slot) {
+        if (newer[slot] >= 0)
+            older[newer[slot]] = older[slot];
+        else
+            newest = older[slot];
+        if (older[slot] >= 0)
+            newer[older[slot]] = newer[slot];
+        else
+            oldest = newer[slot];
+    }
+
+    private void linkNewest(int slot) {
+        newer[slot] = -1;
+        older[slot] = newest;
+        if (newest >= 0)
+            newer[newest] = slot;
+        newest = slot;
+        if (oldest < 0)
+            oldest = slot;
+    }
+
+
+    /**
+     * @return the number of items whose texts are cached.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the maximum number of items whose texts are cached.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of times that the texts of a bound item were cached.
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times that the texts of a bound item had to be formatted.
+     */
+    public int getMissCount() {
+        return missCount;
+    }
+
+    public void resetCounters() {
+        hitCount = 0;
+        missCount = 0;
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ar.com.jdodevelopment.listable.schema.StableIds;
+import ar.com.jdodevelopment.listable.util.LongIntMap;
+
+/**
+ * Index of the positions of the items of an adapter, by item and by stable id.
+ * <p>
+ * Each item gets a slot in the order of the list, and a Fenwick tree counts the slots still present,
+ * so the position of an item is the number of present slots before its slot. Appending, removing and
+ * replacing items keep the index up to date in O(log n), other changes invalidate it and it is
+ * rebuilt in O(n) on the next lookup.
+ * <p>
+ * Items are found by {@link Object#equals(Object)} like {@link List#indexOf(Object)}, returning the first position.
+ * The items must not change their equals, hashCode or stable id while they are in the list. An item updated
+ * in place must be notified with {@link #invalidate()}, then the index is rebuilt on the next lookup.
+ * Items that aren't in the index aren't searched in the list.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+class ItemIndex<T> {
+
+
+    /**
+     * Returned by the lookups when the slot found has another item, because an item changed without invalidating the index.
+     */
+    private static final int STALE = -2;
+
+
+    private final StableIds<T> stableIds;
+
+    private final Map<Object, Integer> slotsByItem = new HashMap<>();
+    private final LongIntMap slotsById = new LongIntMap();
+
+    /**
+     * Fenwick tree over the slots, 1-based, with 1 for each present slot.
+     */
+    private int[] tree = new int[1];
+    private int slotCount;
+    private boolean duplicates;
+    private boolean valid;
+
+
+    /**
+     * @param stableIds the stable ids of the adapter, or null if the items haven't '@ListableId'.
+     */
+    ItemIndex(StableIds<T> stableIds) {
+        this.stableIds = stableIds;
+    }
+
+
+    /**
+     * @return the first position of the item, or {@link RecyclerView#NO_POSITION}.
+     */
+    int positionOf(Object item, List<T> list) {
+        ensureValid(list);
+        int position = findPosition(item, list);
+        if (position == STALE) {
+            rebuild(list);
+            position = findPosition(item, list);
+        }
+        return position == STALE ? RecyclerView.NO_POSITION : position;
+    }
+
+    /**
+     * @return the position of the item with the stable id, or {@link RecyclerView#NO_POSITION}.
+     */
+    int positionOfId(long id, List<T> list) {
+        ensureValid(list);
+        int position = findPositionOfId(id, list);
+        if (position == STALE) {
+            rebuild(list);
+            position = findPositionOfId(id, list);
+        }
+        return position == STALE ? RecyclerView.NO_POSITION : position;
+    }
+
+    /**
+     * @return the position of the slot of the item, or {@link #STALE} if the list has another item in that position.
+     */
+    private int findPosition(Object item, List<T> list) {
+        Integer slot = slotsByItem.get(item);
+        if (slot == null)
+            return RecyclerView.NO_POSITION;
+        int position = countBefore(slot);
+        if (position < list.size() && (item == null ? list.get(position) == null : item.equals(list.get(position))))
+            return position;
+        return STALE;
+    }
+
+    private int findPositionOfId(long id, List<T> list) {
+        int slot = slotsById.get(id, -1);
+        if (slot < 0)
+            return RecyclerView.NO_POSITION;
+        int position = countBefore(slot);
+        if (position < list.size() && stableIds.getId(list.get(position)) == id)
+            return position;
+        return STALE;
+    }
+
+
+    /**
+     * Discard the index, it will be rebuilt on the next lookup. Must be called when an item is updated in place
+     * changing its equals, hashCode or stable id.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Called after appending items at the end of the list.
+     */
+    void onAppended(List<T> list, int from) {
+        if (!valid)
+            return;
+        if (slotCount + list.size() - from >= tree.length) {
+            rebuild(list);
+            return;
+        }
+        for (int i = from; i < list.size(); i++) {
+            addSlot(list.get(i), slotCount++);
+        }
+    }
+
+    /**
+     * Called after removing the item that was at the position.
+     */
+    void onRemoved(T item, int position) {
+        if (!valid)
+            return;
+        int slot = slotAt(position);
+        update(slot, -1);
+        removeSlot(item, slot);
+    }
+
+    /**
+     * Called after replacing the item at the position. Both items can be the same object updated in place,
+     * then the index is invalidated only if its hashCode changed.
+     */
+    void onReplaced(T oldItem, T newItem, int position) {
+        if (!valid)
+            return;
+        int slot = slotAt(position);
+        removeSlot(oldItem, slot);
+        if (valid)
+            indexSlot(newItem, slot);
+    }
+
+
+    private void ensureValid(List<T> list) {
+        if (!valid)
+            rebuild(list);
+    }
+
+    private void rebuild(List<T> list) {
+        int size = list.size();
+        tree = new int[Math.max(16, Integer.highestOneBit(Math.max(size, 1)) << 2) + 1];
+        slotsByItem.clear();
+        slotsById.clear();
+        slotCount = 0;
+        duplicates = false;
+        valid = true;
+        for (int i = 0; i < size; i++) {
+            addSlot(list.get(i), slotCount++);
+        }
+    }
+
+    private void addSlot(T item, int slot) {
+        update(slot, 1);
+        indexSlot(item, slot);
+    }
+
+    private void indexSlot(T item, int slot) {
+        Integer previous = slotsByItem.get(item);
+        if (previous == null) {
+            slotsByItem.put(item, slot);
+        } else {
+            duplicates = true;
+            if (slot < previous)
+                slotsByItem.put(item, slot);
+        }
+        if (stableIds != null)
+            slotsById.put(stableIds.getId(item), slot);
+    }
+
+    /**
+     * Remove the item of the slot from the maps. With duplicated items the index is invalidated,
+     * because the next occurrence of the item is unknown. When the item isn't found its hashCode changed,
+     * so the index is invalidated too.
+     */
+    private void removeSlot(T item, int slot) {
+        Integer indexed = slotsByItem.get(item);
+        if (indexed == null || (indexed != slot && !duplicates)) {
+            valid = false;
+            return;
+        }
+        if (indexed == slot) {
+            slotsByItem.remove(item);
+            if (duplicates) {
+                valid = false;
+                return;
+            }
+        }
+        if (stableIds != null) {
+            long id = stableIds.getId(item);
+            if (slotsById.get(id, -1) == slot)
+                slotsById.remove(id);
+        }
+    }
+
+
+    /**
+     * Add a value to the count of a slot.
+     */
+    private void update(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * @return the number of present slots before the slot.
+     */
+    private int countBefore(int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * @return the slot of the item at the position.
+     */
+    private int slotAt(int position) {
+        int remaining = position + 1;
+        int index = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next < tree.length && tree[next] < remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index;
+    }
+
+}
@@ -16,19 +16,33 @@
 
 package ar.com.jdodevelopment.listable.recyclerview.adapter;
 
-import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.util.AdapterListUpdateCallback;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.util.ListUpdateCallback;
 import android.support.v7.widget.RecyclerView;
-import android.view.LayoutInflater;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.ViewGroup;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
-import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.metrics.EntityMetrics;
+import ar.com.jdodevelopment.listable.metrics.ListableMetrics;
 import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.FieldChanges;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+import ar.com.jdodevelopment.listable.schema.StableIds;
 
 /**
  * It allow to list entities only declaring the Annotation '@ListableEntity'
@@ -40,14 +54,19 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
 
 
     /**
-     * Listener used to dispatch click events.
+     * Executor shared by the adapters to calculate the differences of submitted lists.
      */
-    private ListableAdapter.OnListableClickListener<T> onListableClickListener;
+    private static Executor defaultDiffExecutor;
 
     /**
-     * Listener used to dispatch long click events.
+     * Executor shared by the adapters to format the texts of the items in background.
      */
-    private ListableAdapter.OnListableLongClickListener<T> onListableLongClickListener;
+    private static Executor defaultTextExecutor;
+
+    /**
+     * Dispatch the click events of the view holders, registered once in each view holder when it is created.
+     */
+    final ClickDispatcher<T> clickDispatcher;
 
     /**
      * Resource ID for an XML layout resource to inflate to display the content of RecyclerView.
@@ -64,14 +83,123 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
      */
     protected final Class entityClass;
 
+    /**
+     * Annotations of the entity resolved once and shared with the view holders.
+     */
+    protected final ListableSchema<T> schema;
+
+    /**
+     * Stable ids of the items, only when the entity declared the Annotation '@ListableId'.
+     */
+    private final StableIds<T> stableIds;
+
+    /**
+     * Positions of the items, by item and by stable id.
+     */
+    private final ItemIndex<T> itemIndex;
+
+    /**
+     * Used to post the result of the differences calculated in background.
+     */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Executor used to calculate the differences of submitted lists.
+     */
+    private Executor diffExecutor;
+
+    /**
+     * Compares the items of submitted lists, by default the values of '@ListableField'.
+     */
+    private DiffUtil.ItemCallback<T> itemCallback;
+
+    /**
+     * Incremented on each submitted list, to discard the differences of older lists.
+     */
+    private int submitGeneration;
+
+    /**
+     * Incremented on each change of the list, to detect changes while a difference is calculated.
+     */
+    protected int mutationCount;
+
+    /**
+     * Notify the changes to the RecyclerView.
+     */
+    private final ListUpdateCallback adapterNotifier = new AdapterListUpdateCallback(this);
+
+    /**
+     * Changes recorded while a batch is in progress.
+     */
+    private final NotificationBuffer pendingNotifications = new NotificationBuffer();
+
+    /**
+     * Number of batches started and not committed yet.
+     */
+    private int batchDepth;
+
+    /**
+     * Changes posted from any thread, applied once per frame.
+     */
+    private final PendingUpdates<T> pendingUpdates = new PendingUpdates<>();
+
+    /**
+     * Applies the posted changes in the next frame.
+     */
+    private final Choreographer.FrameCallback applyPendingUpdates = frameTimeNanos -> applyPendingUpdates();
+
+    /**
+     * Choreographer of the main thread, known once the adapter was used from the main thread.
+     * Posting frame callbacks to it is thread-safe.
+     */
+    private volatile Choreographer choreographer;
+
+    /**
+     * Formats the texts of the items in background, or null when it isn't enabled.
+     */
+    private TextPrecomputer<T> textPrecomputer;
+
+    /**
+     * Item bound to each view holder, while the texts are formatted in background.
+     */
+    private final Map<ListableViewHolder<T>, T> boundItems = new WeakHashMap<>();
+
+    /**
+     * Texts already formatted for the items, or null when they aren't cached.
+     */
+    private FormattedValueCache<T> formattedValueCache;
+
+    /**
+     * Executor used to format the texts of the items in background.
+     */
+    private Executor textExecutor;
+
+    /**
+     * Prepares the texts of the items about to be shown while scrolling.
+     */
+    private final LookAhead lookAhead = new LookAhead(this::prepare);
+
+    /**
+     * Formatters used to prepare the texts of the items before they are bound, known after the first bind.
+     */
+    private TextFieldFormatters<T> preparingFormatters;
+
 
     /**
      * @param entityClass the class that wrap the entity that will be listed.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
      */
     public ListableAdapter(Class entityClass) {
         this.list = new ArrayList<>();
         this.entityClass = entityClass;
-        initListableEntity();
+        this.schema = ListableSchema.of(entityClass);
+        this.layoutId = schema.getLayoutResource();
+        this.stableIds = schema.hasId() ? new StableIds<>(schema, list) : null;
+        this.itemIndex = new ItemIndex<>(stableIds);
+        this.clickDispatcher = new ClickDispatcher<>(schema, position -> list.get(position));
+        setHasStableIds(stableIds != null);
+        if (Looper.myLooper() == Looper.getMainLooper())
+            this.choreographer = Choreographer.getInstance();
     }
 
     /**
@@ -87,49 +215,154 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
     @NonNull
     @Override
     public ListableViewHolder<T> onCreateViewHolder(@NonNull ViewGroup parent, int position) {
-        Context context = parent.getContext();
-        View view = LayoutInflater.from(context).inflate(this.layoutId, parent, false);
-        return new ListableViewHolder<>(view, entityClass);
+        return ViewHolderFactory.create(parent, this.layoutId, schema, clickDispatcher);
     }
 
     @Override
     public void onBindViewHolder(@NonNull ListableViewHolder<T> viewHolder, int position) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        long start = metrics != null ? metrics.beginBind() : 0;
+        T obj = list.get(position);
+        boolean prepared = textPrecomputer != null && textPrecomputer.apply(viewHolder, obj);
+        if (textPrecomputer != null)
+            boundItems.put(viewHolder, obj);
+        if (!prepared && formattedValueCache != null)
+            viewHolder.setValuesInViews(obj, formattedValueCache.obtain(obj));
+        else if (!prepared)
+            viewHolder.setValuesInViews(obj);
+        if (preparingFormatters == null)
+            preparingFormatters = new TextFieldFormatters<>(schema, viewHolder, false);
+        if (metrics != null)
+            metrics.endBind(start, position);
+    }
+
+    /**
+     * When all the payloads are {@link FieldChanges}, only the fields that changed are set again.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ListableViewHolder<T> viewHolder, int position, @NonNull List<Object> payloads) {
+        FieldChanges changes = FieldChanges.union(payloads);
+        if (changes == null) {
+            onBindViewHolder(viewHolder, position);
+            return;
+        }
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        long start = metrics != null ? metrics.beginBind() : 0;
         T obj = list.get(position);
-        viewHolder.setValuesInViews(obj);
+        viewHolder.setChangedValuesInViews(obj, changes);
+        if (textPrecomputer != null)
+            boundItems.put(viewHolder, obj);
+        if (metrics != null)
+            metrics.endBind(start, position);
+    }
+
+    /**
+     * The texts of the item of a recycled holder aren't needed anymore. The item is the one that was bound,
+     * because after inserts or removes the position of the holder can belong to another item.
+     */
+    @Override
+    public void onViewRecycled(@NonNull ListableViewHolder<T> viewHolder) {
+        super.onViewRecycled(viewHolder);
+        T item = boundItems.remove(viewHolder);
+        if (textPrecomputer != null && item != null)
+            textPrecomputer.cancel(item);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        recyclerView.addOnScrollListener(lookAhead);
+    }
 
-        if (onListableClickListener != null)
-            viewHolder.setOnListableClickListener(onListableClickListener, obj);
-        if (onListableLongClickListener != null)
-            viewHolder.setOnListableLongClickListener(onListableLongClickListener, obj);
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        recyclerView.removeOnScrollListener(lookAhead);
+        lookAhead.stop();
+    }
+
+    /**
+     * Prepare the texts of an item about to be shown: they are formatted in background when
+     * {@link #setAsyncTextEnabled(boolean) enabled}, otherwise they are formatted now and kept in the
+     * {@link #setFormattedValueCacheSize(int) cache}.
+     *
+     * @return false if the position is out of the list or there is nothing to prepare.
+     */
+    boolean prepare(int position) {
+        if (position < 0 || position >= list.size() || preparingFormatters == null)
+            return false;
+        T obj = list.get(position);
+        if (textPrecomputer != null) {
+            textPrecomputer.prepare(obj, getTextExecutor());
+            return true;
+        }
+        if (formattedValueCache != null) {
+            preparingFormatters.formatTexts(obj, formattedValueCache.prepare(obj));
+            return true;
+        }
+        return false;
     }
 
 
+    /**
+     * When the entity declared the Annotation '@ListableId' the ids are stable and unique,
+     * otherwise the hashCode of the item is used.
+     */
     @Override
     public long getItemId(int position) {
+        if (stableIds != null)
+            return stableIds.getId(list.get(position));
         return list.get(position).hashCode();
     }
 
-    @Override
-    public int getItemCount() {
-        return list.size();
+    /**
+     * Find the position of an item by its stable id.
+     *
+     * @param id the id returned by {@link #getItemId(int)}.
+     * @return the position of the item, or {@link RecyclerView#NO_POSITION} if it isn't in the list.
+     * @throws IllegalStateException if the entity haven't declared the Annotation '@ListableId'.
+     */
+    public int getPositionOfId(long id) {
+        if (stableIds == null)
+            throw new IllegalStateException("The class " + entityClass.getName() + " haven't a @ListableId");
+        return itemIndex.positionOfId(id, list);
     }
 
+    /**
+     * @return the stable ids of the items, or null if the entity haven't declared the Annotation '@ListableId'.
+     */
+    StableIds<T> getStableIds() {
+        return stableIds;
+    }
 
     /**
-     * Init the required parameters that are getted from the annotation @ListableEntity.
+     * Find the first position of an object, comparing with equals like {@link List#indexOf(Object)},
+     * without traversing the list.
+     * <p>
+     * An item updated in place changing its equals or hashCode must be notified with {@link #set(int, Object)}
+     * or {@link #notifyFieldsChanged(int, String...)} before looking it up.
      *
-     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     * @param object the object to find.
+     * @return the position of the object, or {@link RecyclerView#NO_POSITION} if it isn't in the list.
      */
-    private void initListableEntity() {
-        ListableEntity listableEntity = (ListableEntity) entityClass.getAnnotation(ListableEntity.class);
-        if (listableEntity != null) {
-            this.layoutId = listableEntity.layoutResource();
-        } else {
-            String message = "The class " + entityClass.getName() + " haven't Annotation @ListableEntity";
-            throw new IllegalStateException(message);
-        }
+    public int positionOf(T object) {
+        return itemIndex.positionOf(object, list);
+    }
+
+    /**
+     * @param object the object to find.
+     * @return true if the object is in the list.
+     */
+    public boolean contains(T object) {
+        return positionOf(object) != RecyclerView.NO_POSITION;
+    }
+
+    @Override
+    public int getItemCount() {
+        return list.size();
     }
 
+
     /**
      * Appends the specified element to the end of this list and notify the RecyclerView.
      *
@@ -138,7 +371,9 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
     public void add(@NonNull Collection<? extends T> list) {
         int oldSize = this.list.size();
         this.list.addAll(list);
-        notifyItemRangeInserted(oldSize, list.size() - oldSize);
+        onItemsAppended(oldSize);
+        if (this.list.size() > oldSize)
+            notifier().onInserted(oldSize, this.list.size() - oldSize);
     }
 
 
@@ -149,7 +384,34 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
      */
     public void add(T object) {
         list.add(object);
-        notifyItemInserted(list.size() - 1);
+        onItemsAppended(list.size() - 1);
+        notifier().onInserted(list.size() - 1, 1);
+    }
+
+
+    /**
+     * Inserts the elements at the specified position in this list and notify the RecyclerView with one range.
+     *
+     * @param position index at which to insert the first element
+     * @param list collection containing elements to be inserted to this list
+     */
+    public void insertAll(int position, @NonNull Collection<? extends T> list) {
+        if (position == this.list.size()) {
+            add(list);
+            return;
+        }
+        int oldSize = this.list.size();
+        this.list.addAll(position, list);
+        mutationCount++;
+        itemIndex.invalidate();
+        if (this.list.size() > oldSize)
+            notifier().onInserted(position, this.list.size() - oldSize);
+    }
+
+
+    private void onItemsAppended(int from) {
+        mutationCount++;
+        itemIndex.onAppended(list, from);
     }
 
 
@@ -159,19 +421,131 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
      * @param position the index of the element to be removed
      */
     public void remove(int position) {
-        list.remove(position);
-        notifyItemRemoved(position);
+        T object = list.remove(position);
+        mutationCount++;
+        invalidateFormattedValues(object);
+        itemIndex.onRemoved(object, position);
+        notifier().onRemoved(position, 1);
     }
 
     /**
-     * Removes the object in this list and notify the RecyclerView.
+     * Removes the first occurrence of the object in this list, if it is present, and notify the RecyclerView.
      *
      * @param object to be removed
      */
     public void remove(T object) {
-        int position = list.indexOf(object);
-        list.remove(position);
-        notifyItemRemoved(position);
+        int position = positionOf(object);
+        if (position != RecyclerView.NO_POSITION)
+            remove(position);
+    }
+
+    /**
+     * Removes the elements between the specified positions and notify the RecyclerView with one range.
+     *
+     * @param fromPosition index of the first element to be removed, inclusive
+     * @param toPosition index after the last element to be removed, exclusive
+     */
+    public void removeRange(int fromPosition, int toPosition) {
+        List<T> range = list.subList(fromPosition, toPosition);
+        List<T> removed = new ArrayList<>(range);
+        range.clear();
+        if (removed.isEmpty())
+            return;
+        mutationCount++;
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            itemIndex.onRemoved(removed.get(i), fromPosition + i);
+            invalidateFormattedValues(removed.get(i));
+        }
+        notifier().onRemoved(fromPosition, removed.size());
+    }
+
+    /**
+     * Removes all the elements that satisfy the predicate and notify the RecyclerView one range
+     * for each run of consecutive removed elements.
+     *
+     * @param predicate returns true for the elements to be removed
+     * @return the number of removed elements
+     */
+    public int removeIf(@NonNull ListablePredicate<? super T> predicate) {
+        int size = list.size();
+        BitSet removed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (predicate.test(list.get(i))) {
+                removed.set(i);
+                invalidateFormattedValues(list.get(i));
+            }
+        }
+        int removedCount = removed.cardinality();
+        if (removedCount == 0)
+            return 0;
+
+        int kept = 0;
+        for (int i = removed.nextClearBit(0); i < size; i = removed.nextClearBit(i + 1)) {
+            list.set(kept++, list.get(i));
+        }
+        list.subList(kept, size).clear();
+        mutationCount++;
+        itemIndex.invalidate();
+
+        int removedBefore = 0;
+        for (int start = removed.nextSetBit(0); start >= 0; start = removed.nextSetBit(start)) {
+            int end = removed.nextClearBit(start);
+            notifier().onRemoved(start - removedBefore, end - start);
+            removedBefore += end - start;
+            start = end;
+        }
+        return removedCount;
+    }
+
+    /**
+     * Replaces the element at the specified position and notify the RecyclerView only the fields that changed.
+     *
+     * @param position the index of the element to be replaced
+     * @param object the new version of the element
+     * @return the element previously at the position
+     */
+    public T set(int position, @NonNull T object) {
+        T oldObject = list.set(position, object);
+        mutationCount++;
+        itemIndex.onReplaced(oldObject, object, position);
+        if (oldObject != null)
+            invalidateFormattedValues(oldObject);
+        invalidateFormattedValues(object);
+        if (oldObject == object || oldObject == null) {
+            notifier().onChanged(position, 1, null);
+        } else {
+            FieldChanges changes = schema.getChanges(oldObject, object);
+            if (changes != null)
+                notifier().onChanged(position, 1, changes);
+        }
+        return oldObject;
+    }
+
+    /**
+     * Replaces the element at the specified position and notify the RecyclerView only the fields that changed.
+     *
+     * @param position the index of the element to be replaced
+     * @param object the new version of the element
+     * @see #set(int, Object)
+     */
+    public void update(int position, @NonNull T object) {
+        set(position, object);
+    }
+
+    /**
+     * Notify the RecyclerView that some fields of the element at the specified position were modified.
+     *
+     * @param position the index of the modified element
+     * @param fieldNames the names of the fields declared with '@ListableField' that were modified
+     */
+    public void notifyFieldsChanged(int position, @NonNull String... fieldNames) {
+        FieldChanges changes = new FieldChanges(schema.getFieldCount());
+        for (String fieldName : fieldNames) {
+            changes.add(schema.indexOf(fieldName));
+        }
+        itemIndex.invalidate();
+        invalidateFormattedValues(list.get(position));
+        notifier().onChanged(position, 1, changes);
     }
 
     /**
@@ -180,7 +554,355 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
     public void removeAll() {
         int oldSize = list.size();
         list.clear();
-        notifyItemRangeRemoved(0, oldSize);
+        mutationCount++;
+        itemIndex.invalidate();
+        clearFormattedValues();
+        if (oldSize > 0)
+            notifier().onRemoved(0, oldSize);
+    }
+
+
+    /**
+     * Start a batch of changes. Until the batch is committed the changes aren't notified to the RecyclerView,
+     * then they are notified together merging the adjacent ranges.
+     * <p>
+     * Batches can be nested, the changes are notified when the outermost batch is committed.
+     * Must be committed before returning to the main loop, because the RecyclerView can't lay out
+     * a list with changes that weren't notified.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Commit the batch started with {@link #beginBatch()}, notifying the RecyclerView all its changes.
+     *
+     * @throws IllegalStateException if no batch was started.
+     */
+    public void commit() {
+        if (batchDepth == 0)
+            throw new IllegalStateException("commit() called without beginBatch()");
+        if (--batchDepth == 0)
+            pendingNotifications.dispatchTo(adapterNotifier);
+    }
+
+    /**
+     * Run the changes in a batch, notifying the RecyclerView once all of them were applied.
+     *
+     * @param changes modifications of the adapter, like {@link #add(Object)}, {@link #removeIf(ListablePredicate)} or {@link #set(int, Object)}
+     */
+    public void batch(@NonNull Runnable changes) {
+        beginBatch();
+        try {
+            changes.run();
+        } finally {
+            commit();
+        }
+    }
+
+    /**
+     * @return true if a batch was started and not committed yet.
+     */
+    public boolean isInBatch() {
+        return batchDepth > 0;
+    }
+
+    /**
+     * Appends the element, or replaces the element with the same id if it is already in the list,
+     * in the next frame. Can be called from any thread.
+     *
+     * @param object element to be added to this list
+     */
+    public void postAdd(@NonNull T object) {
+        post(PendingUpdates.ADD, object);
+    }
+
+    /**
+     * Replaces the element with the same id, or the element equal to it if the entity haven't declared '@ListableId',
+     * in the next frame. Can be called from any thread.
+     *
+     * @param object the new version of the element
+     */
+    public void postUpdate(@NonNull T object) {
+        post(PendingUpdates.UPDATE, object);
+    }
+
+    /**
+     * Removes the element with the same id, or the element equal to it if the entity haven't declared '@ListableId',
+     * in the next frame. Can be called from any thread.
+     *
+     * @param object element to be removed
+     */
+    public void postRemove(@NonNull T object) {
+        post(PendingUpdates.REMOVE, object);
+    }
+
+    /**
+     * Enqueue the change without locks. Only the first change of each frame schedules the frame callback,
+     * so a burst of changes doesn't flood the main looper.
+     */
+    private void post(int kind, T object) {
+        if (!pendingUpdates.offer(kind, object))
+            return;
+        Choreographer mainChoreographer = choreographer;
+        if (mainChoreographer == null && Looper.myLooper() == Looper.getMainLooper())
+            mainChoreographer = choreographer = Choreographer.getInstance();
+        if (mainChoreographer != null) {
+            mainChoreographer.postFrameCallback(applyPendingUpdates);
+        } else {
+            mainHandler.post(() -> {
+                choreographer = Choreographer.getInstance();
+                choreographer.postFrameCallback(applyPendingUpdates);
+            });
+        }
+    }
+
+    /**
+     * Apply the posted changes, collapsed by item, in one batch. The items are found by the index,
+     * so the new items are appended without traversing the list.
+     */
+    void applyPendingUpdates() {
+        List<PendingUpdates.Update<T>> updates = pendingUpdates.drain(stableIds);
+        if (updates.isEmpty())
+            return;
+        beginBatch();
+        try {
+            for (int i = 0; i < updates.size(); i++) {
+                PendingUpdates.Update<T> update = updates.get(i);
+                int position = stableIds != null
+                        ? itemIndex.positionOfId(stableIds.getId(update.item), list)
+                        : positionOf(update.item);
+                if (update.kind == PendingUpdates.REMOVE) {
+                    if (position != RecyclerView.NO_POSITION)
+                        remove(position);
+                } else if (position != RecyclerView.NO_POSITION) {
+                    set(position, update.item);
+                } else if (update.kind == PendingUpdates.ADD) {
+                    add(update.item);
+                }
+            }
+        } finally {
+            commit();
+        }
+    }
+
+
+    /**
+     * @return the callback that notify the changes, recording them while a batch is in progress.
+     */
+    protected ListUpdateCallback notifier() {
+        return batchDepth > 0 ? pendingNotifications : adapterNotifier;
+    }
+
+
+    /**
+     * Replace the list with a new one, notifying the RecyclerView only the items that were inserted, removed, moved or changed.
+     * <p>
+     * The differences are calculated in background with {@link DiffUtil} and applied in the main thread.
+     * If another list is submitted before they are applied, this list is discarded.
+     * If the list is modified before they are applied, they are calculated again.
+     * Must be called from the main thread.
+     *
+     * @param newList the new list, or null to remove all the elements.
+     */
+    public void submitList(@Nullable List<T> newList) {
+        final int generation = ++submitGeneration;
+        final List<T> newItems = newList != null ? new ArrayList<>(newList) : new ArrayList<T>();
+        if (list.isEmpty() || newItems.isEmpty()) {
+            replaceList(newItems);
+            return;
+        }
+
+        final List<T> oldItems = new ArrayList<>(list);
+        final int expectedMutationCount = mutationCount;
+        final DiffUtil.ItemCallback<T> callback = getItemCallback();
+        getDiffExecutor().execute(() -> {
+            final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new SubmittedListCallback<>(oldItems, newItems, callback));
+            mainHandler.post(() -> {
+                if (generation != submitGeneration)
+                    return;
+                if (expectedMutationCount != mutationCount) {
+                    submitList(newItems);
+                    return;
+                }
+                list.clear();
+                list.addAll(newItems);
+                mutationCount++;
+                itemIndex.invalidate();
+                clearFormattedValues();
+                result.dispatchUpdatesTo(notifier());
+            });
+        });
+    }
+
+    /**
+     * Replace the list without calculating differences, when one of both lists is empty.
+     */
+    private void replaceList(List<T> newItems) {
+        int oldSize = list.size();
+        list.clear();
+        list.addAll(newItems);
+        mutationCount++;
+        itemIndex.invalidate();
+        clearFormattedValues();
+        if (oldSize > 0)
+            notifier().onRemoved(0, oldSize);
+        if (!newItems.isEmpty())
+            notifier().onInserted(0, newItems.size());
+    }
+
+    /**
+     * @return the callback used to compare the items of submitted lists.
+     */
+    public DiffUtil.ItemCallback<T> getItemCallback() {
+        if (itemCallback == null)
+            itemCallback = new ListableItemCallback<>(schema);
+        return itemCallback;
+    }
+
+    /**
+     * Define how the items of submitted lists are compared.
+     * By default they are compared by the values of the fields declared with '@ListableField'.
+     *
+     * @param itemCallback the callback used to compare the items.
+     */
+    public void setItemCallback(@NonNull DiffUtil.ItemCallback<T> itemCallback) {
+        this.itemCallback = itemCallback;
+    }
+
+    /**
+     * Define the executor used to calculate the differences of submitted lists.
+     * By default an executor shared by all the adapters is used.
+     *
+     * @param diffExecutor executor that runs in background.
+     */
+    public void setDiffExecutor(@NonNull Executor diffExecutor) {
+        this.diffExecutor = diffExecutor;
+    }
+
+    private Executor getDiffExecutor() {
+        if (diffExecutor == null)
+            diffExecutor = getDefaultDiffExecutor();
+        return diffExecutor;
+    }
+
+    private static synchronized Executor getDefaultDiffExecutor() {
+        if (defaultDiffExecutor == null)
+            defaultDiffExecutor = Executors.newFixedThreadPool(2);
+        return defaultDiffExecutor;
+    }
+
+
+    /**
+     * Define how many items are prepared ahead while scrolling, when the texts are formatted in background
+     * or kept in a cache. The faster the scroll, the more items are prepared, up to the maximum.
+     *
+     * @param maxItems maximum number of items prepared ahead, 10 by default, or 0 to don't prepare them.
+     * @param frameBudgetNanos maximum time used in the main thread to prepare items in each frame, 4 milliseconds by default.
+     */
+    public void setLookAhead(int maxItems, long frameBudgetNanos) {
+        lookAhead.setMaxItems(maxItems);
+        lookAhead.setFrameBudgetNanos(frameBudgetNanos);
+    }
+
+    /**
+     * Package-private for tests.
+     */
+    LookAhead getLookAhead() {
+        return lookAhead;
+    }
+
+    /**
+     * Keep the texts formatted for the last bound items, so they aren't formatted again when they are shown again,
+     * for example when scrolling back and forth.
+     * <p>
+     * Only the fields set in a TextView by a {@link ar.com.jdodevelopment.listable.formatter.TextFormatter} are kept.
+     * The texts of an item are discarded when it is changed with {@link #set(int, Object)} or {@link #notifyFieldsChanged},
+     * or removed, and all of them when a list is submitted. Items modified without notifying the adapter
+     * keep showing the old texts.
+     *
+     * @param maxSize maximum number of items whose texts are kept, like {@link FormattedValueCache#DEFAULT_MAX_SIZE},
+     *                or 0 to don't keep them, by default.
+     */
+    public void setFormattedValueCacheSize(int maxSize) {
+        formattedValueCache = maxSize > 0 ? new FormattedValueCache<>(schema.getFieldCount(), maxSize, stableIds) : null;
+    }
+
+    /**
+     * @return the texts formatted for the items, with the number of hits and misses, or null if they aren't kept.
+     */
+    @Nullable
+    public FormattedValueCache<T> getFormattedValueCache() {
+        return formattedValueCache;
+    }
+
+    /**
+     * Discard the texts of an item that changed or was removed, cached or formatted in background.
+     */
+    private void invalidateFormattedValues(T object) {
+        if (formattedValueCache != null)
+            formattedValueCache.invalidate(object);
+        if (textPrecomputer != null)
+            textPrecomputer.cancel(object);
+    }
+
+    private void clearFormattedValues() {
+        if (formattedValueCache != null)
+            formattedValueCache.clear();
+        if (textPrecomputer != null)
+            textPrecomputer.invalidate();
+    }
+
+    /**
+     * Format the texts of the fields in background before the items are bound, precomputing their layout,
+     * so the main thread does less work while scrolling. The items whose texts aren't ready are bound as usual.
+     * <p>
+     * Only the fields set in a TextView by a {@link ar.com.jdodevelopment.listable.formatter.TextFormatter}
+     * are formatted in background, so their formatters must be thread-safe. The fields whose formatter is a
+     * {@link ar.com.jdodevelopment.listable.formatter.StatefulFormatter} are formatted when they are bound.
+     *
+     * @param enabled true to format the texts in background, false by default.
+     */
+    public void setAsyncTextEnabled(boolean enabled) {
+        if (enabled == (textPrecomputer != null))
+            return;
+        if (textPrecomputer != null)
+            textPrecomputer.invalidate();
+        boundItems.clear();
+        textPrecomputer = enabled ? new TextPrecomputer<>(schema) : null;
+    }
+
+    public boolean isAsyncTextEnabled() {
+        return textPrecomputer != null;
+    }
+
+    /**
+     * Package-private for tests.
+     */
+    TextPrecomputer<T> getTextPrecomputer() {
+        return textPrecomputer;
+    }
+
+    /**
+     * Define the executor used to format the texts in background.
+     * By default an executor shared by all the adapters is used.
+     *
+     * @param textExecutor executor that runs in background.
+     */
+    public void setTextExecutor(@NonNull Executor textExecutor) {
+        this.textExecutor = textExecutor;
+    }
+
+    private Executor getTextExecutor() {
+        if (textExecutor == null)
+            textExecutor = getDefaultTextExecutor();
+        return textExecutor;
+    }
+
+    private static synchronized Executor getDefaultTextExecutor() {
+        if (defaultTextExecutor == null)
+            defaultTextExecutor = Executors.newSingleThreadExecutor();
+        return defaultTextExecutor;
     }
 
 
@@ -190,7 +912,7 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
      * @param onListableClickListener The callback that will run
      */
     public void setOnListableClickListener(OnListableClickListener<T> onListableClickListener) {
-        this.onListableClickListener = onListableClickListener;
+        clickDispatcher.setOnListableClickListener(onListableClickListener);
     }
 
 
@@ -200,7 +922,18 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
      * @param onListableLongClickListener The callback that will run
      */
     public void setOnListableLongClickListener(OnListableLongClickListener<T> onListableLongClickListener) {
-        this.onListableLongClickListener = onListableLongClickListener;
+        clickDispatcher.setOnListableLongClickListener(onListableLongClickListener);
+    }
+
+
+    /**
+     * Register a callback to be invoked when the view of a field declared with '@ListableField(clickable = true)' is clicked.
+     * Without it the clicks of the fields are dispatched to the {@link OnListableClickListener}.
+     *
+     * @param onListableFieldClickListener The callback that will run
+     */
+    public void setOnListableFieldClickListener(OnListableFieldClickListener<T> onListableFieldClickListener) {
+        clickDispatcher.setOnListableFieldClickListener(onListableFieldClickListener);
     }
 
 
@@ -220,4 +953,73 @@ public class ListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<
     }
 
 
-}
\ No newline at end of file
+    /**
+     * Interface definition for a callback to be invoked when the view of a clickable field is clicked.
+     */
+    public interface OnListableFieldClickListener<T> {
+        void onListableFieldClick(View view, T object, String fieldName);
+    }
+
+
+    /**
+     * Interface definition for a condition on the items, used to remove them.
+     */
+    public interface ListablePredicate<T> {
+        boolean test(T object);
+    }
+
+
+    /**
+     * Compares two snapshots of lists with an {@link DiffUtil.ItemCallback}.
+     */
+    private static class SubmittedListCallback<T> extends DiffUtil.Callback {
+
+        private final List<T> oldItems;
+        private final List<T> newItems;
+        private final DiffUtil.ItemCallback<T> itemCallback;
+
+        SubmittedListCallback(List<T> oldItems, List<T> newItems, DiffUtil.ItemCallback<T> itemCallback) {
+            this.oldItems = oldItems;
+            this.newItems = newItems;
+            this.itemCallback = itemCallback;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldItems.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newItems.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldPosition, int newPosition) {
+            T oldItem = oldItems.get(oldPosition);
+            T newItem = newItems.get(newPosition);
+            if (oldItem == null || newItem == null)
+                return oldItem == newItem;
+            return itemCallback.areItemsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldPosition, int newPosition) {
+            T oldItem = oldItems.get(oldPosition);
+            T newItem = newItems.get(newPosition);
+            if (oldItem == null || newItem == null)
+                return oldItem == newItem;
+            return itemCallback.areContentsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public Object getChangePayload(int oldPosition, int newPosition) {
+            T oldItem = oldItems.get(oldPosition);
+            T newItem = newItems.get(newPosition);
+            if (oldItem == null || newItem == null)
+                return null;
+            return itemCallback.getChangePayload(oldItem, newItem);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import ar.com.jdodevelopment.listable.metrics.EntityMetrics;
+import ar.com.jdodevelopment.listable.metrics.ListableMetrics;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableColumnStore;
+import ar.com.jdodevelopment.listable.schema.ListableDataset;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * It allow to list very large read-only lists kept in a {@link ListableDataset}, like a {@link ListableColumnStore}
+ * or a {@link ar.com.jdodevelopment.listable.schema.ListableMappedDataset}, binding the views from the values of the rows.
+ * <p>
+ * The entities are only created when they are clicked.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public class ListableColumnAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<T>> {
+
+
+    /**
+     * Resource ID for an XML layout resource to inflate to display the content of RecyclerView.
+     */
+    protected int layoutId;
+
+    /**
+     * Annotations of the entity resolved once and shared with the view holders.
+     */
+    protected final ListableSchema<T> schema;
+
+    private ListableDataset<T> dataset;
+
+    /**
+     * Dispatch the click events of the view holders, registered once in each view holder when it is created.
+     */
+    private final ClickDispatcher<T> clickDispatcher;
+
+
+    /**
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     */
+    public ListableColumnAdapter(Class entityClass) {
+        this.schema = ListableSchema.of(entityClass);
+        this.layoutId = schema.getLayoutResource();
+        this.clickDispatcher = new ClickDispatcher<>(schema, position -> dataset.getItem(position));
+        setHasStableIds(schema.hasId());
+    }
+
+    /**
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @param layoutId    override the value 'layoutResource' of the Annotation '@ListableEntity'
+     *                    for the purpose of declaring multiple views of the same entity
+     */
+    public ListableColumnAdapter(Class entityClass, int layoutId) {
+        this(entityClass);
+        this.layoutId = layoutId;
+    }
+
+
+    @NonNull
+    @Override
+    public ListableViewHolder<T> onCreateViewHolder(@NonNull ViewGroup parent, int position) {
+        return ViewHolderFactory.create(parent, this.layoutId, schema, clickDispatcher);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ListableViewHolder<T> viewHolder, int position) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        long start = metrics != null ? metrics.beginBind() : 0;
+        viewHolder.setValuesInViews(dataset, position);
+        if (metrics != null)
+            metrics.endBind(start, position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return dataset != null ? dataset.size() : 0;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return dataset != null && schema.hasId() ? dataset.getId(position) : RecyclerView.NO_ID;
+    }
+
+
+    /**
+     * @return the current dataset, or null.
+     */
+    @Nullable
+    public ListableDataset<T> getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Replace the values listed and notify the RecyclerView.
+     *
+     * @param dataset the values of the entities, or null to remove all the rows.
+     */
+    public void setDataset(@Nullable ListableDataset<T> dataset) {
+        this.dataset = dataset;
+        notifyDataSetChanged();
+    }
+
+
+    /**
+     * Register a callback to be invoked when this view is clicked.
+     * The entity is created from the values of the row on each click.
+     *
+     * @param onListableClickListener The callback that will run
+     */
+    public void setOnListableClickListener(ListableAdapter.OnListableClickListener<T> onListableClickListener) {
+        clickDispatcher.setOnListableClickListener(onListableClickListener);
+    }
+
+    /**
+     * Register a callback to be invoked when this view is clicked and held.
+     * The entity is created from the values of the row on each click.
+     *
+     * @param onListableLongClickListener The callback that will run
+     */
+    public void setOnListableLongClickListener(ListableAdapter.OnListableLongClickListener<T> onListableLongClickListener) {
+        clickDispatcher.setOnListableLongClickListener(onListableLongClickListener);
+    }
+
+    /**
+     * Register a callback to be invoked when the view of a field declared with '@ListableField(clickable = true)' is clicked.
+     * The entity is created from the values of the row on each click.
+     *
+     * @param onListableFieldClickListener The callback that will run
+     */
+    public void setOnListableFieldClickListener(ListableAdapter.OnListableFieldClickListener<T> onListableFieldClickListener) {
+        clickDispatcher.setOnListableFieldClickListener(onListableFieldClickListener);
+    }
+
+}
@@ -0,0 +1,322 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.view.ViewGroup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import ar.com.jdodevelopment.listable.metrics.EntityMetrics;
+import ar.com.jdodevelopment.listable.metrics.ListableMetrics;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * It allow to list the rows of a {@link Cursor} without creating the entities, only declaring the Annotation '@ListableEntity'.
+ * <p>
+ * Each field declared with '@ListableField' is read from the column named by its value 'column',
+ * or by the name of the field, with the getter of the type of the field. The columns are resolved once per Cursor.
+ * When the entity declared '@ListableId' with a numeric type, its column is used as stable id.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that describe the columns that will be listed
+ */
+public class ListableCursorAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<T>> {
+
+
+    /**
+     * Executor shared by the adapters to run the queries.
+     */
+    private static Executor defaultQueryExecutor;
+
+    private static final String TAG = "ListableCursorAdapter";
+
+    /**
+     * Dispatch the click events of the view holders, registered once in each view holder when it is created.
+     * The entity of the clicked row is created from the Cursor.
+     */
+    private final ClickDispatcher<T> clickDispatcher;
+
+    /**
+     * Resource ID for an XML layout resource to inflate to display the content of RecyclerView.
+     */
+    protected int layoutId;
+
+    /**
+     * Annotations of the entity resolved once and shared with the view holders.
+     */
+    protected final ListableSchema<T> schema;
+
+    private Cursor cursor;
+    private CursorColumns columns;
+
+    /**
+     * Used to post the cursors queried in background.
+     */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Executor used to run the queries.
+     */
+    private Executor queryExecutor;
+
+    /**
+     * Incremented on each query, to discard the cursors of older queries.
+     */
+    private int queryGeneration;
+
+    private OnQueryFailedListener onQueryFailedListener;
+
+
+    /**
+     * @param entityClass the class that describe the columns that will be listed.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     */
+    public ListableCursorAdapter(Class entityClass) {
+        this.schema = ListableSchema.of(entityClass);
+        this.layoutId = schema.getLayoutResource();
+        this.clickDispatcher = new ClickDispatcher<>(schema, this::getItem);
+        setHasStableIds(schema.getIdType() == ListableSchema.ID_LONG);
+    }
+
+    /**
+     * @param entityClass the class that describe the columns that will be listed.
+     * @param layoutId    override the value 'layoutResource' of the Annotation '@ListableEntity'
+     *                    for the purpose of declaring multiple views of the same entity
+     */
+    public ListableCursorAdapter(Class entityClass, int layoutId) {
+        this(entityClass);
+        this.layoutId = layoutId;
+    }
+
+
+    @NonNull
+    @Override
+    public ListableViewHolder<T> onCreateViewHolder(@NonNull ViewGroup parent, int position) {
+        return ViewHolderFactory.create(parent, this.layoutId, schema, clickDispatcher);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ListableViewHolder<T> viewHolder, int position) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        long start = metrics != null ? metrics.beginBind() : 0;
+        viewHolder.setValuesInViews(moveToPosition(position), columns);
+        if (metrics != null)
+            metrics.endBind(start, position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return cursor != null ? cursor.getCount() : 0;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        if (columns == null || columns.getIdColumnIndex() < 0)
+            return RecyclerView.NO_ID;
+        return moveToPosition(position).getLong(columns.getIdColumnIndex());
+    }
+
+    /**
+     * Create the entity of a row, for example when it is clicked.
+     * Only the fields declared with '@ListableField' and '@ListableId' are set.
+     *
+     * @param position the position of the row.
+     * @return a new entity, or null if the Cursor haven't the position.
+     * @throws IllegalStateException if the entity haven't a constructor without parameters.
+     */
+    @Nullable
+    public T getItem(int position) {
+        if (cursor == null || cursor.isClosed() || !cursor.moveToPosition(position))
+            return null;
+        return columns.newItem(cursor);
+    }
+
+    /**
+     * @throws IllegalStateException if the Cursor can't move to the position.
+     */
+    private Cursor moveToPosition(int position) {
+        if (cursor == null || !cursor.moveToPosition(position))
+            throw new IllegalStateException("Couldn't move the cursor to position " + position);
+        return cursor;
+    }
+
+
+    /**
+     * @return the current Cursor, or null.
+     */
+    @Nullable
+    public Cursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * Replace the Cursor and return the old one without closing it.
+     *
+     * @param newCursor the new Cursor, or null to remove all the rows.
+     * @return the previous Cursor, or null.
+     * @throws IllegalStateException if a column is missing in the new Cursor.
+     */
+    @Nullable
+    public Cursor swapCursor(@Nullable Cursor newCursor) {
+        if (newCursor == cursor)
+            return null;
+        CursorColumns newColumns = newCursor != null ? new CursorColumns(schema, newCursor) : null;
+        Cursor oldCursor = cursor;
+        cursor = newCursor;
+        columns = newColumns;
+        notifyDataSetChanged();
+        return oldCursor;
+    }
+
+    /**
+     * Replace the Cursor, closing the old one.
+     *
+     * @param newCursor the new Cursor, or null to remove all the rows.
+     */
+    public void changeCursor(@Nullable Cursor newCursor) {
+        Cursor oldCursor = swapCursor(newCursor);
+        if (oldCursor != null)
+            oldCursor.close();
+    }
+
+    /**
+     * Run a query in background and then change the Cursor in the main thread, closing the old one.
+     * The rows are counted in background too, so the Cursor window is filled before it is shown.
+     * If another query is run before, the Cursor of this query is closed and discarded.
+     * If the query fails, the Cursor isn't changed and the failure is delivered in the main thread
+     * to the {@link OnQueryFailedListener}.
+     * Must be called from the main thread.
+     *
+     * @param query returns the new Cursor.
+     */
+    public void changeCursorAsync(@NonNull Callable<Cursor> query) {
+        final int generation = ++queryGeneration;
+        getQueryExecutor().execute(() -> {
+            Cursor cursor = null;
+            try {
+                cursor = query.call();
+                if (cursor != null)
+                    cursor.getCount();
+            } catch (final Exception e) {
+                if (cursor != null)
+                    cursor.close();
+                mainHandler.post(() -> {
+                    if (generation == queryGeneration)
+                        onQueryFailed(e);
+                });
+                return;
+            }
+            final Cursor newCursor = cursor;
+            mainHandler.post(() -> {
+                if (generation != queryGeneration) {
+                    if (newCursor != null)
+                        newCursor.close();
+                    return;
+                }
+                changeCursor(newCursor);
+            });
+        });
+    }
+
+    private void onQueryFailed(Exception e) {
+        if (onQueryFailedListener != null) {
+            onQueryFailedListener.onQueryFailed(e);
+        } else {
+            Log.w(TAG, "The query of the cursor failed", e);
+        }
+    }
+
+    /**
+     * Register a callback to be invoked in the main thread when a query of {@link #changeCursorAsync(Callable)} fails.
+     * Without it the failures are logged.
+     *
+     * @param onQueryFailedListener The callback that will run
+     */
+    public void setOnQueryFailedListener(OnQueryFailedListener onQueryFailedListener) {
+        this.onQueryFailedListener = onQueryFailedListener;
+    }
+
+    /**
+     * Define the executor used to run the queries of {@link #changeCursorAsync(Callable)}.
+     * By default an executor shared by all the adapters is used.
+     *
+     * @param queryExecutor executor that runs in background.
+     */
+    public void setQueryExecutor(@NonNull Executor queryExecutor) {
+        this.queryExecutor = queryExecutor;
+    }
+
+    private Executor getQueryExecutor() {
+        if (queryExecutor == null)
+            queryExecutor = getDefaultQueryExecutor();
+        return queryExecutor;
+    }
+
+    private static synchronized Executor getDefaultQueryExecutor() {
+        if (defaultQueryExecutor == null)
+            defaultQueryExecutor = Executors.newSingleThreadExecutor();
+        return defaultQueryExecutor;
+    }
+
+
+    /**
+     * Register a callback to be invoked when a row is clicked, with the entity created from the row.
+     *
+     * @param onListableClickListener The callback that will run
+     */
+    public void setOnListableClickListener(ListableAdapter.OnListableClickListener<T> onListableClickListener) {
+        clickDispatcher.setOnListableClickListener(onListableClickListener);
+    }
+
+    /**
+     * Register a callback to be invoked when a row is clicked and held, with the entity created from the row.
+     *
+     * @param onListableLongClickListener The callback that will run
+     */
+    public void setOnListableLongClickListener(ListableAdapter.OnListableLongClickListener<T> onListableLongClickListener) {
+        clickDispatcher.setOnListableLongClickListener(onListableLongClickListener);
+    }
+
+    /**
+     * Register a callback to be invoked when the view of a field declared with '@ListableField(clickable = true)' is clicked.
+     *
+     * @param onListableFieldClickListener The callback that will run
+     */
+    public void setOnListableFieldClickListener(ListableAdapter.OnListableFieldClickListener<T> onListableFieldClickListener) {
+        clickDispatcher.setOnListableFieldClickListener(onListableFieldClickListener);
+    }
+
+
+    /**
+     * Interface definition for a callback to be invoked when a query fails.
+     */
+    public interface OnQueryFailedListener {
+        void onQueryFailed(Exception e);
+    }
+
+}
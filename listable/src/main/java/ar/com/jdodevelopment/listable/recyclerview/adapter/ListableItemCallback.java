@@ -0,0 +1,86 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.v7.util.DiffUtil;
+
+import ar.com.jdodevelopment.listable.schema.FieldChanges;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Default {@link DiffUtil.ItemCallback} of {@link ListableAdapter#submitList(java.util.List)},
+ * that compares the values of the fields declared with the Annotation '@ListableField'.
+ * <p>
+ * Two items are the same item when they have the same '@ListableId', or if the entity haven't declared it,
+ * when they are equal or all their listable values are equal.
+ * They have the same contents when all their listable values are equal.
+ * The change payload is a {@link FieldChanges} with the fields whose values changed.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public class ListableItemCallback<T> extends DiffUtil.ItemCallback<T> {
+
+
+    protected final ListableSchema<T> schema;
+
+
+    /**
+     * @param schema the schema of the entity that will be compared.
+     */
+    public ListableItemCallback(@NonNull ListableSchema<T> schema) {
+        this.schema = schema;
+    }
+
+
+    @Override
+    public boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+        switch (schema.getIdType()) {
+            case ListableSchema.ID_LONG:
+                return schema.getLongId(oldItem) == schema.getLongId(newItem);
+            case ListableSchema.ID_STRING:
+                String oldId = schema.getStringId(oldItem);
+                return oldId != null && oldId.equals(schema.getStringId(newItem));
+            default:
+                return oldItem.equals(newItem) || areContentsTheSame(oldItem, newItem);
+        }
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+        for (int i = 0; i < schema.getFieldCount(); i++) {
+            if (!isFieldTheSame(oldItem, newItem, i))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Object getChangePayload(@NonNull T oldItem, @NonNull T newItem) {
+        return schema.getChanges(oldItem, newItem);
+    }
+
+    /**
+     * @param index position of the field in the schema.
+     * @return true if the field has the same value in both items.
+     */
+    protected boolean isFieldTheSame(@NonNull T oldItem, @NonNull T newItem, int index) {
+        return schema.isValueEqual(oldItem, newItem, index);
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import java.util.List;
+
+/**
+ * Source of the items of a {@link PagedListableAdapter}, loaded by pages in background.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public interface ListablePageSource<T> {
+
+    /**
+     * @return the total number of items, the positions not loaded yet are shown as placeholders.
+     */
+    @WorkerThread
+    int getItemCount();
+
+    /**
+     * Load the items between the positions.
+     * It can be called concurrently for different pages from the threads of the load executor,
+     * so the source must be thread-safe. The exceptions are reported to the OnPageLoadFailedListener of the adapter.
+     *
+     * @param offset position of the first item
+     * @param count  number of items to load, less at the end of the list
+     * @return the loaded items, in order
+     */
+    @WorkerThread
+    @NonNull
+    List<T> loadPage(int offset, int count);
+
+}
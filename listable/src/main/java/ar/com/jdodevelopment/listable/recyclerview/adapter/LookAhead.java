@@ -0,0 +1,199 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.os.SystemClock;
+import android.support.annotation.MainThread;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * Prepare the items that are about to be shown, following the direction and velocity of the scroll.
+ * <p>
+ * The faster the scroll, the more items are prepared ahead, up to a maximum. The items that the LayoutManager
+ * prefetches by itself are skipped, as they are bound before the prepared ones would be ready.
+ * The items are prepared in the main thread on the next frames, without exceeding a time budget per frame,
+ * so the preparation itself should be cheap or only start work in background.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class LookAhead extends RecyclerView.OnScrollListener implements Choreographer.FrameCallback {
+
+
+    /**
+     * Prepares the item at a position, in the main thread.
+     */
+    interface Preparer {
+
+        /**
+         * @param position position of the item to prepare.
+         * @return false if there is nothing to prepare at the position, to stop preparing in that direction.
+         */
+        boolean prepare(int position);
+    }
+
+
+    static final int DEFAULT_MAX_ITEMS = 10;
+
+    static final long DEFAULT_FRAME_BUDGET_NANOS = 4_000_000L;
+
+    /**
+     * Items prepared ahead even when the scroll is slow.
+     */
+    static final int MIN_ITEMS = 2;
+
+    /**
+     * Time of scroll that is prepared ahead, at the current velocity.
+     */
+    private static final float LOOK_AHEAD_SECONDS = 0.3f;
+
+    /**
+     * Scroll events further apart than this are not averaged to calculate the velocity.
+     */
+    private static final long VELOCITY_WINDOW_MILLIS = 100;
+
+
+    private final Preparer preparer;
+
+    private int maxItems = DEFAULT_MAX_ITEMS;
+
+    private long frameBudgetNanos = DEFAULT_FRAME_BUDGET_NANOS;
+
+    private long lastScrollMillis;
+
+    private float pixelsPerSecond;
+
+    /**
+     * 1 when scrolling towards the end of the list, -1 towards the start.
+     */
+    private int direction;
+
+    /**
+     * Next position to prepare, moving in the direction of the scroll until the end position, exclusive.
+     */
+    private int nextPosition = RecyclerView.NO_POSITION;
+    private int endPosition = RecyclerView.NO_POSITION;
+
+    private boolean scheduled;
+
+
+    LookAhead(Preparer preparer) {
+        this.preparer = preparer;
+    }
+
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        int delta = dy != 0 ? dy : dx;
+        if (delta == 0 || recyclerView.getChildCount() == 0 || maxItems == 0)
+            return;
+        long now = SystemClock.uptimeMillis();
+        long elapsed = Math.max(1, now - lastScrollMillis);
+        lastScrollMillis = now;
+        float velocity = Math.abs(delta) * 1000f / elapsed;
+        pixelsPerSecond = elapsed > VELOCITY_WINDOW_MILLIS ? velocity : (pixelsPerSecond + velocity) / 2;
+
+        View edge = recyclerView.getChildAt(delta > 0 ? recyclerView.getChildCount() - 1 : 0);
+        int edgePosition = recyclerView.getChildAdapterPosition(edge);
+        if (edgePosition == RecyclerView.NO_POSITION)
+            return;
+        int itemSize = dy != 0 ? edge.getHeight() : edge.getWidth();
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        int itemsPerLine = layoutManager instanceof GridLayoutManager ? ((GridLayoutManager) layoutManager).getSpanCount() : 1;
+        int prefetched = layoutManager != null && layoutManager.isItemPrefetchEnabled() ? itemsPerLine : 0;
+        float itemsPerSecond = itemSize > 0 ? pixelsPerSecond / itemSize * itemsPerLine : 0;
+        onScrolled(edgePosition, delta > 0 ? 1 : -1, itemsPerSecond, prefetched);
+    }
+
+    /**
+     * @param edgePosition position of the last visible item in the direction of the scroll.
+     * @param direction 1 when scrolling towards the end of the list, -1 towards the start.
+     * @param itemsPerSecond velocity of the scroll.
+     * @param prefetched number of items after the edge that the LayoutManager prefetches.
+     */
+    @MainThread
+    void onScrolled(int edgePosition, int direction, float itemsPerSecond, int prefetched) {
+        if (maxItems == 0)
+            return;
+        int count = Math.min(maxItems, MIN_ITEMS + (int) Math.ceil(itemsPerSecond * LOOK_AHEAD_SECONDS));
+        int start = edgePosition + direction * (1 + prefetched);
+        boolean prepared = direction == this.direction && nextPosition != RecyclerView.NO_POSITION
+                && (nextPosition - start) * direction > 0;
+        if (!prepared)
+            nextPosition = start;
+        this.direction = direction;
+        endPosition = start + direction * count;
+        if (nextPosition != endPosition && !scheduled) {
+            scheduled = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        scheduled = false;
+        long deadline = System.nanoTime() + frameBudgetNanos;
+        while ((endPosition - nextPosition) * direction > 0) {
+            if (!preparer.prepare(nextPosition)) {
+                endPosition = nextPosition;
+                return;
+            }
+            nextPosition += direction;
+            if (System.nanoTime() >= deadline)
+                break;
+        }
+        if ((endPosition - nextPosition) * direction > 0) {
+            scheduled = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * Stop preparing, when the adapter is detached.
+     */
+    @MainThread
+    void stop() {
+        if (scheduled)
+            Choreographer.getInstance().removeFrameCallback(this);
+        scheduled = false;
+        direction = 0;
+        nextPosition = RecyclerView.NO_POSITION;
+        endPosition = RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * @param maxItems maximum number of items prepared ahead, or 0 to don't prepare them.
+     */
+    void setMaxItems(int maxItems) {
+        if (maxItems < 0)
+            throw new IllegalStateException("The number of items must not be negative: " + maxItems);
+        this.maxItems = maxItems;
+        if (maxItems == 0)
+            stop();
+    }
+
+    /**
+     * @param frameBudgetNanos maximum time used to prepare items in each frame, at least one item is prepared.
+     */
+    void setFrameBudgetNanos(long frameBudgetNanos) {
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+
+}
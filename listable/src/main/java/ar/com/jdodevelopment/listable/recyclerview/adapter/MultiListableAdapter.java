@@ -0,0 +1,424 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ar.com.jdodevelopment.listable.metrics.EntityMetrics;
+import ar.com.jdodevelopment.listable.metrics.ListableMetrics;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.FieldChanges;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * It allow to list entities of different classes declaring the Annotation '@ListableEntity', each one with its own view.
+ * <p>
+ * Each registered class, or layout variant of a class, is a view type of its own. The view type of an item is found
+ * by its class in a map, so it is O(1), and the schema of each view type is resolved once when it is registered.
+ * The maximum of recycled views can be set by view type, so a type with many rows in the screen doesn't push
+ * the views of the others out of the pool.
+ *
+ * @author Juan Daniel Ornella
+ */
+public class MultiListableAdapter extends RecyclerView.Adapter<ListableViewHolder<Object>> {
+
+
+    /**
+     * Registered view types, the view type is the position in this list.
+     */
+    private final List<ViewType> viewTypes = new ArrayList<>();
+
+    /**
+     * View types of the registered classes.
+     */
+    private final Map<Class, ClassTypes> classTypes = new HashMap<>();
+
+    /**
+     * View types of the classes of the items, including the subclasses of the registered classes.
+     * It is cleared when a class is registered.
+     */
+    private final Map<Class, ClassTypes> resolvedTypes = new HashMap<>();
+
+    private final List<Object> list = new ArrayList<>();
+
+    private RecyclerView recyclerView;
+
+    private ListableAdapter.OnListableClickListener<Object> onListableClickListener;
+
+    private ListableAdapter.OnListableLongClickListener<Object> onListableLongClickListener;
+
+    private ListableAdapter.OnListableFieldClickListener<Object> onListableFieldClickListener;
+
+
+    /**
+     * Register a class with the layout 'layoutResource' of its Annotation '@ListableEntity'.
+     *
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @return the view type of the class.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity' or it was already registered
+     */
+    public int addType(Class entityClass) {
+        return addType(entityClass, ListableSchema.of(entityClass).getLayoutResource());
+    }
+
+    /**
+     * Register a class with a layout.
+     *
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @param layoutId    override the value 'layoutResource' of the Annotation '@ListableEntity'
+     * @return the view type of the class.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity' or it was already registered
+     */
+    public int addType(Class entityClass, int layoutId) {
+        ClassTypes types = obtainClassTypes(entityClass);
+        if (types.defaultType != null)
+            throw new IllegalStateException("The class " + entityClass.getName() + " was already registered in the adapter");
+        types.defaultType = newViewType(entityClass, layoutId, null);
+        return types.defaultType.viewType;
+    }
+
+    /**
+     * Register a layout variant of a class, used for the items that match the predicate.
+     * The variants are checked in the order they were registered, and the items that don't match
+     * any of them use the view type registered with {@link #addType(Class, int)}.
+     *
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @param layoutId    the layout of the items that match the predicate.
+     * @param predicate   the condition of the items shown with this layout.
+     * @return the view type of the variant.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     */
+    @SuppressWarnings("unchecked")
+    public <E> int addType(Class<E> entityClass, int layoutId, @NonNull ListableAdapter.ListablePredicate<? super E> predicate) {
+        ViewType viewType = newViewType(entityClass, layoutId, (ListableAdapter.ListablePredicate<Object>) predicate);
+        obtainClassTypes(entityClass).variants.add(viewType);
+        return viewType.viewType;
+    }
+
+    private ClassTypes obtainClassTypes(Class entityClass) {
+        ClassTypes types = classTypes.get(entityClass);
+        if (types == null) {
+            types = new ClassTypes();
+            classTypes.put(entityClass, types);
+        }
+        resolvedTypes.clear();
+        return types;
+    }
+
+    private ViewType newViewType(Class entityClass, int layoutId, ListableAdapter.ListablePredicate<Object> predicate) {
+        ViewType viewType = new ViewType(viewTypes.size(), ListableSchema.of(entityClass), layoutId, predicate, list);
+        viewType.clickDispatcher.setOnListableClickListener(onListableClickListener);
+        viewType.clickDispatcher.setOnListableLongClickListener(onListableLongClickListener);
+        viewType.clickDispatcher.setOnListableFieldClickListener(onListableFieldClickListener);
+        viewTypes.add(viewType);
+        return viewType;
+    }
+
+
+    /**
+     * Set the maximum of views of a view type kept in the pool of the RecyclerView to be reused.
+     *
+     * @param viewType the view type returned by addType.
+     * @param max      the maximum of views, by default 5.
+     */
+    public void setMaxRecycledViews(int viewType, int max) {
+        ViewType type = viewTypes.get(viewType);
+        type.maxRecycledViews = max;
+        if (recyclerView != null)
+            recyclerView.getRecycledViewPool().setMaxRecycledViews(viewType, max);
+    }
+
+    /**
+     * @return the schema of the class of a view type.
+     */
+    public ListableSchema<Object> getSchema(int viewType) {
+        return viewTypes.get(viewType).schema;
+    }
+
+
+    @Override
+    public int getItemViewType(int position) {
+        return getViewType(list.get(position)).viewType;
+    }
+
+    private ViewType getViewType(Object object) {
+        ClassTypes types = getClassTypes(object.getClass());
+        for (int i = 0; i < types.variants.size(); i++) {
+            ViewType variant = types.variants.get(i);
+            if (variant.predicate.test(object))
+                return variant;
+        }
+        if (types.defaultType == null)
+            throw new IllegalStateException("The item " + object + " doesn't match any layout of the class " + object.getClass().getName());
+        return types.defaultType;
+    }
+
+    /**
+     * The classes that weren't registered use the view types of their closest registered superclass.
+     */
+    private ClassTypes getClassTypes(Class objectClass) {
+        ClassTypes types = resolvedTypes.get(objectClass);
+        if (types != null)
+            return types;
+        for (Class c = objectClass; c != null; c = c.getSuperclass()) {
+            types = classTypes.get(c);
+            if (types != null) {
+                resolvedTypes.put(objectClass, types);
+                return types;
+            }
+        }
+        throw new IllegalStateException("The class " + objectClass.getName() + " haven't been registered in the adapter");
+    }
+
+    @NonNull
+    @Override
+    public ListableViewHolder<Object> onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ViewType type = viewTypes.get(viewType);
+        return ViewHolderFactory.create(parent, type.layoutId, type.schema, type.clickDispatcher);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ListableViewHolder<Object> viewHolder, int position) {
+        EntityMetrics metrics = ListableMetrics.obtain(viewTypes.get(viewHolder.getItemViewType()).schema);
+        long start = metrics != null ? metrics.beginBind() : 0;
+        viewHolder.setValuesInViews(list.get(position));
+        if (metrics != null)
+            metrics.endBind(start, position);
+    }
+
+    /**
+     * When all the payloads are {@link FieldChanges}, only the fields that changed are set again.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ListableViewHolder<Object> viewHolder, int position, @NonNull List<Object> payloads) {
+        FieldChanges changes = FieldChanges.union(payloads);
+        if (changes == null) {
+            onBindViewHolder(viewHolder, position);
+            return;
+        }
+        viewHolder.setChangedValuesInViews(list.get(position), changes);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        this.recyclerView = recyclerView;
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        for (int i = 0; i < viewTypes.size(); i++) {
+            ViewType type = viewTypes.get(i);
+            if (type.maxRecycledViews >= 0)
+                pool.setMaxRecycledViews(type.viewType, type.maxRecycledViews);
+        }
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        if (this.recyclerView == recyclerView)
+            this.recyclerView = null;
+    }
+
+    @Override
+    public int getItemCount() {
+        return list.size();
+    }
+
+    public Object getItem(int position) {
+        return list.get(position);
+    }
+
+
+    /**
+     * Appends the specified elements to the end of this list and notify the RecyclerView.
+     *
+     * @param list collection containing elements to be added to this list
+     * @throws IllegalStateException when the class of an element haven't been registered
+     */
+    public void add(@NonNull Collection<?> list) {
+        checkRegistered(list);
+        int oldSize = this.list.size();
+        this.list.addAll(list);
+        if (this.list.size() > oldSize)
+            notifyItemRangeInserted(oldSize, this.list.size() - oldSize);
+    }
+
+    /**
+     * Appends the specified element to the end of this list and notify the RecyclerView.
+     *
+     * @param object element to be appended to this list
+     * @throws IllegalStateException when the class of the element haven't been registered
+     */
+    public void add(@NonNull Object object) {
+        getClassTypes(object.getClass());
+        list.add(object);
+        notifyItemInserted(list.size() - 1);
+    }
+
+    /**
+     * Inserts the elements at the specified position in this list and notify the RecyclerView with one range.
+     *
+     * @param position index at which to insert the first element
+     * @param list collection containing elements to be inserted to this list
+     * @throws IllegalStateException when the class of an element haven't been registered
+     */
+    public void insertAll(int position, @NonNull Collection<?> list) {
+        checkRegistered(list);
+        int oldSize = this.list.size();
+        this.list.addAll(position, list);
+        if (this.list.size() > oldSize)
+            notifyItemRangeInserted(position, this.list.size() - oldSize);
+    }
+
+    /**
+     * Replaces the element at the specified position, the view type changes if the new element needs another layout.
+     *
+     * @return the element previously at the specified position
+     * @throws IllegalStateException when the class of the element haven't been registered
+     */
+    public Object set(int position, @NonNull Object object) {
+        getClassTypes(object.getClass());
+        Object previous = list.set(position, object);
+        notifyItemChanged(position);
+        return previous;
+    }
+
+    /**
+     * Removes the element at the specified position in this list and notify the RecyclerView.
+     *
+     * @param position the index of the element to be removed
+     */
+    public void remove(int position) {
+        list.remove(position);
+        notifyItemRemoved(position);
+    }
+
+    /**
+     * Removes the first occurrence of the object in this list, if it is present, and notify the RecyclerView.
+     *
+     * @param object to be removed
+     */
+    public void remove(Object object) {
+        int position = list.indexOf(object);
+        if (position != -1)
+            remove(position);
+    }
+
+    /**
+     * Removes all of the elements from this list and notify the RecyclerView.
+     */
+    public void removeAll() {
+        int size = list.size();
+        list.clear();
+        if (size > 0)
+            notifyItemRangeRemoved(0, size);
+    }
+
+    private void checkRegistered(Collection<?> list) {
+        for (Object object : list) {
+            getClassTypes(object.getClass());
+        }
+    }
+
+
+    /**
+     * Register a callback to be invoked when the itemview of any view type is clicked.
+     *
+     * @param onListableClickListener The callback that will run
+     */
+    public void setOnListableClickListener(ListableAdapter.OnListableClickListener<Object> onListableClickListener) {
+        this.onListableClickListener = onListableClickListener;
+        for (int i = 0; i < viewTypes.size(); i++) {
+            viewTypes.get(i).clickDispatcher.setOnListableClickListener(onListableClickListener);
+        }
+    }
+
+    /**
+     * Register a callback to be invoked when the itemview of any view type is clicked and held.
+     *
+     * @param onListableLongClickListener The callback that will run
+     */
+    public void setOnListableLongClickListener(ListableAdapter.OnListableLongClickListener<Object> onListableLongClickListener) {
+        this.onListableLongClickListener = onListableLongClickListener;
+        for (int i = 0; i < viewTypes.size(); i++) {
+            viewTypes.get(i).clickDispatcher.setOnListableLongClickListener(onListableLongClickListener);
+        }
+    }
+
+    /**
+     * Register a callback to be invoked when the view of a field declared with '@ListableField(clickable = true)' is clicked.
+     *
+     * @param onListableFieldClickListener The callback that will run
+     */
+    public void setOnListableFieldClickListener(ListableAdapter.OnListableFieldClickListener<Object> onListableFieldClickListener) {
+        this.onListableFieldClickListener = onListableFieldClickListener;
+        for (int i = 0; i < viewTypes.size(); i++) {
+            viewTypes.get(i).clickDispatcher.setOnListableFieldClickListener(onListableFieldClickListener);
+        }
+    }
+
+
+    /**
+     * A layout of a class, with the schema resolved when it is registered.
+     */
+    private static final class ViewType {
+
+        final int viewType;
+        final ListableSchema<Object> schema;
+        final int layoutId;
+
+        /**
+         * The condition of the items of a layout variant, or null for the layout by default of the class.
+         */
+        final ListableAdapter.ListablePredicate<Object> predicate;
+
+        final ClickDispatcher<Object> clickDispatcher;
+
+        /**
+         * The maximum of views kept in the pool, or -1 to leave the value of the RecyclerView.
+         */
+        int maxRecycledViews = -1;
+
+        ViewType(int viewType, ListableSchema<Object> schema, int layoutId,
+                 ListableAdapter.ListablePredicate<Object> predicate, List<Object> list) {
+            this.viewType = viewType;
+            this.schema = schema;
+            this.layoutId = layoutId;
+            this.predicate = predicate;
+            this.clickDispatcher = new ClickDispatcher<>(schema, list::get);
+        }
+    }
+
+    /**
+     * The view types of a registered class.
+     */
+    private static final class ClassTypes {
+
+        ViewType defaultType;
+
+        final List<ViewType> variants = new ArrayList<>();
+    }
+
+}
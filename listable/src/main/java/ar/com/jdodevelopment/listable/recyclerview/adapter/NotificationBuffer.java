@@ -0,0 +1,174 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.annotation.Nullable;
+import android.support.v7.util.ListUpdateCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.schema.FieldChanges;
+
+/**
+ * Records the notifications of a batch of changes and dispatch them together when the batch is committed.
+ * <p>
+ * Each notification is merged with the previous one when possible, so a batch notifies the fewest ranges:
+ * adjacent insertions, removals and changes become one range, removals and changes of items inserted in the
+ * same batch are absorbed by the insertion, and the changes of adjacent items are merged by the union of
+ * their {@link FieldChanges}.
+ *
+ * @author Juan Daniel Ornella
+ */
+class NotificationBuffer implements ListUpdateCallback {
+
+
+    private static final int INSERTED = 1;
+    private static final int REMOVED = 2;
+    private static final int CHANGED = 3;
+    private static final int MOVED = 4;
+
+    private final List<Notification> notifications = new ArrayList<>();
+
+
+    @Override
+    public void onInserted(int position, int count) {
+        Notification last = last(INSERTED);
+        if (last != null && position >= last.position && position <= last.position + last.count) {
+            last.count += count;
+            return;
+        }
+        notifications.add(new Notification(INSERTED, position, count, null));
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        Notification last = last(REMOVED);
+        if (last != null && last.position >= position && last.position <= position + count) {
+            last.count += count;
+            last.position = position;
+            return;
+        }
+        last = last(INSERTED);
+        if (last != null && position >= last.position && position + count <= last.position + last.count) {
+            last.count -= count;
+            if (last.count == 0)
+                notifications.remove(notifications.size() - 1);
+            return;
+        }
+        notifications.add(new Notification(REMOVED, position, count, null));
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        notifications.add(new Notification(MOVED, fromPosition, toPosition, null));
+    }
+
+    @Override
+    public void onChanged(int position, int count, @Nullable Object payload) {
+        Notification last = last(INSERTED);
+        if (last != null && position >= last.position && position + count <= last.position + last.count)
+            return;
+        last = last(CHANGED);
+        if (last != null && position <= last.position + last.count && position + count >= last.position) {
+            Object merged = mergePayloads(last.payload, payload);
+            if (merged != null || (last.payload == null && payload == null)) {
+                int end = Math.max(last.position + last.count, position + count);
+                last.position = Math.min(last.position, position);
+                last.count = end - last.position;
+                last.payload = merged;
+                return;
+            }
+        }
+        notifications.add(new Notification(CHANGED, position, count, payload));
+    }
+
+
+    /**
+     * @return true if no notification is pending.
+     */
+    boolean isEmpty() {
+        return notifications.isEmpty();
+    }
+
+    /**
+     * Dispatch the pending notifications in the order they were recorded and discard them.
+     */
+    void dispatchTo(ListUpdateCallback callback) {
+        for (int i = 0; i < notifications.size(); i++) {
+            Notification notification = notifications.get(i);
+            switch (notification.type) {
+                case INSERTED:
+                    callback.onInserted(notification.position, notification.count);
+                    break;
+                case REMOVED:
+                    callback.onRemoved(notification.position, notification.count);
+                    break;
+                case CHANGED:
+                    callback.onChanged(notification.position, notification.count, notification.payload);
+                    break;
+                case MOVED:
+                    callback.onMoved(notification.position, notification.count);
+                    break;
+            }
+        }
+        notifications.clear();
+    }
+
+
+    /**
+     * @return the last notification if it is of the type, or null.
+     */
+    private Notification last(int type) {
+        if (notifications.isEmpty())
+            return null;
+        Notification last = notifications.get(notifications.size() - 1);
+        return last.type == type ? last : null;
+    }
+
+    /**
+     * @return the payload of two merged changes, or null if they can't be merged without a full bind.
+     */
+    private static Object mergePayloads(Object payload, Object other) {
+        if (payload == other)
+            return payload;
+        if (payload instanceof FieldChanges && other instanceof FieldChanges)
+            return FieldChanges.union((FieldChanges) payload, (FieldChanges) other);
+        return null;
+    }
+
+
+    /**
+     * A range notification, the count of a move is its destination position.
+     */
+    private static final class Notification {
+
+        final int type;
+        int position;
+        int count;
+        Object payload;
+
+        Notification(int type, int position, int count, Object payload) {
+            this.type = type;
+            this.position = position;
+            this.count = count;
+            this.payload = payload;
+        }
+    }
+
+}
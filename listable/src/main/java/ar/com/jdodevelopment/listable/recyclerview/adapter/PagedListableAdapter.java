@@ -0,0 +1,501 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.view.ViewGroup;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import ar.com.jdodevelopment.listable.metrics.EntityMetrics;
+import ar.com.jdodevelopment.listable.metrics.ListableMetrics;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * It allow to list entities that don't fit in memory, loading them by pages from a {@link ListablePageSource}.
+ * <p>
+ * The pages are loaded in background when their positions are bound, together with the pages around them.
+ * Positions not loaded yet are shown as placeholders, setting null in the views. Only a limited number
+ * of pages are kept in memory, the ones farthest from the last bound position are discarded.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+public class PagedListableAdapter<T> extends RecyclerView.Adapter<ListableViewHolder<T>> {
+
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * The page given to {@link OnPageLoadFailedListener} when the item count couldn't be loaded.
+     */
+    public static final int NO_PAGE = -1;
+
+    /**
+     * Time to wait before loading again a page that failed, doubled on each consecutive failure up to the maximum.
+     */
+    static final long MIN_RETRY_DELAY_MILLIS = 1_000;
+    static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private static final String TAG = "PagedListableAdapter";
+
+    /**
+     * Executor shared by the adapters to load the pages.
+     */
+    private static Executor defaultLoadExecutor;
+
+    /**
+     * Dispatch the click events of the view holders, registered once in each view holder when it is created.
+     * The clicks of the placeholders are ignored.
+     */
+    private final ClickDispatcher<T> clickDispatcher;
+
+    /**
+     * Resource ID for an XML layout resource to inflate to display the content of RecyclerView.
+     */
+    protected int layoutId;
+
+    /**
+     * Annotations of the entity resolved once and shared with the view holders.
+     */
+    protected final ListableSchema<T> schema;
+
+    private final ListablePageSource<T> pageSource;
+    private final int pageSize;
+
+    /**
+     * Used to post the loaded pages.
+     */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Executor used to load the pages.
+     */
+    private Executor loadExecutor;
+
+    /**
+     * Number of pages loaded before and after the page of a bound position.
+     */
+    private int prefetchPages = 1;
+
+    /**
+     * Maximum number of pages kept in memory.
+     */
+    private int maxLoadedPages = 10;
+
+    private int itemCount;
+
+    /**
+     * Loaded pages by number, null when the page isn't loaded.
+     */
+    private List<T>[] pages = newPages(0);
+    private final BitSet loadedPages = new BitSet();
+    private final BitSet requestedPages = new BitSet();
+    private int lastAccessedPage;
+
+    /**
+     * Consecutive failures of each page, and the time since it can be loaded again.
+     */
+    private int[] pageFailures = new int[0];
+    private long[] pageRetryTimes = new long[0];
+
+    private OnPageLoadFailedListener onPageLoadFailedListener;
+
+    /**
+     * Incremented on each refresh, to discard the pages loaded before.
+     */
+    private int generation;
+
+    /**
+     * Loads the pages of the items about to be shown while scrolling fast.
+     */
+    private final LookAhead lookAhead = new LookAhead(this::prepare);
+
+
+    /**
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @param pageSource  loads the items by pages.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     */
+    public PagedListableAdapter(Class entityClass, @NonNull ListablePageSource<T> pageSource) {
+        this(entityClass, pageSource, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param entityClass the class that wrap the entity that will be listed.
+     * @param pageSource  loads the items by pages.
+     * @param pageSize    number of items of each page.
+     * @throws IllegalStateException when entityClass haven't declared the Annotation '@ListableEntity'
+     */
+    public PagedListableAdapter(Class entityClass, @NonNull ListablePageSource<T> pageSource, int pageSize) {
+        if (pageSize <= 0)
+            throw new IllegalStateException("The page size must be positive: " + pageSize);
+        this.schema = ListableSchema.of(entityClass);
+        this.layoutId = schema.getLayoutResource();
+        this.pageSource = pageSource;
+        this.pageSize = pageSize;
+        this.clickDispatcher = new ClickDispatcher<>(schema, this::getItem);
+    }
+
+
+    /**
+     * The item count is loaded the first time the adapter is attached, if {@link #refresh()} wasn't called before.
+     */
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        recyclerView.addOnScrollListener(lookAhead);
+        if (generation == 0)
+            refresh();
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        recyclerView.removeOnScrollListener(lookAhead);
+        lookAhead.stop();
+    }
+
+    @NonNull
+    @Override
+    public ListableViewHolder<T> onCreateViewHolder(@NonNull ViewGroup parent, int position) {
+        return ViewHolderFactory.create(parent, this.layoutId, schema, clickDispatcher);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ListableViewHolder<T> viewHolder, int position) {
+        loadAround(position);
+        T obj = getItem(position);
+        if (obj == null) {
+            viewHolder.setPlaceholderInViews();
+            return;
+        }
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        long start = metrics != null ? metrics.beginBind() : 0;
+        viewHolder.setValuesInViews(obj);
+        if (metrics != null)
+            metrics.endBind(start, position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return itemCount;
+    }
+
+
+    /**
+     * @param position the position of the item.
+     * @return the item, or null if its page isn't loaded.
+     */
+    @Nullable
+    public T getItem(int position) {
+        List<T> page = pages[position / pageSize];
+        int index = position % pageSize;
+        return page != null && index < page.size() ? page.get(index) : null;
+    }
+
+    /**
+     * @param position the position of the item.
+     * @return true if the page of the item is loaded.
+     */
+    public boolean isLoaded(int position) {
+        return getItem(position) != null;
+    }
+
+
+    /**
+     * Discard the loaded pages and load the item count again, for example when the source changed.
+     * Must be called from the main thread.
+     */
+    public void refresh() {
+        final int refreshGeneration = ++generation;
+        getLoadExecutor().execute(() -> {
+            final int count;
+            try {
+                count = pageSource.getItemCount();
+            } catch (final RuntimeException e) {
+                mainHandler.post(() -> {
+                    if (refreshGeneration == generation)
+                        onLoadFailed(NO_PAGE, e);
+                });
+                return;
+            }
+            mainHandler.post(() -> {
+                if (refreshGeneration != generation)
+                    return;
+                itemCount = count;
+                int pageCount = (count + pageSize - 1) / pageSize;
+                pages = newPages(pageCount);
+                pageFailures = new int[pageCount];
+                pageRetryTimes = new long[pageCount];
+                loadedPages.clear();
+                requestedPages.clear();
+                notifyDataSetChanged();
+            });
+        });
+    }
+
+    /**
+     * Load the page of the position and the pages around it, if they aren't loaded or loading.
+     */
+    void loadAround(int position) {
+        int page = position / pageSize;
+        lastAccessedPage = page;
+        int last = Math.min(pages.length - 1, page + prefetchPages);
+        for (int i = Math.max(0, page - prefetchPages); i <= last; i++) {
+            if (canLoad(i))
+                loadPage(i);
+        }
+    }
+
+    /**
+     * Load the page of an item about to be shown, if it isn't loaded or loading.
+     *
+     * @return false if the position is out of the list.
+     */
+    boolean prepare(int position) {
+        if (position < 0 || position >= itemCount)
+            return false;
+        int page = position / pageSize;
+        if (canLoad(page))
+            loadPage(page);
+        return true;
+    }
+
+    /**
+     * @return true if the page isn't loaded or loading, and it didn't fail recently.
+     */
+    private boolean canLoad(int page) {
+        return !loadedPages.get(page) && !requestedPages.get(page)
+                && SystemClock.uptimeMillis() >= pageRetryTimes[page];
+    }
+
+    /**
+     * Load a page in background. If the source fails, the failure is reported and the page is loaded again
+     * after a delay, while it is still around the last bound position.
+     */
+    private void loadPage(final int page) {
+        requestedPages.set(page);
+        final int loadGeneration = generation;
+        final int offset = page * pageSize;
+        final int count = Math.min(pageSize, itemCount - offset);
+        getLoadExecutor().execute(() -> {
+            List<T> items = null;
+            RuntimeException failure = null;
+            try {
+                items = pageSource.loadPage(offset, count);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            final List<T> loadedItems = items;
+            final RuntimeException loadFailure = failure;
+            mainHandler.post(() -> {
+                if (loadGeneration != generation)
+                    return;
+                requestedPages.clear(page);
+                if (loadFailure != null) {
+                    onPageFailed(page, loadFailure);
+                } else {
+                    onPageLoaded(page, loadedItems);
+                }
+            });
+        });
+    }
+
+    private void onPageLoaded(int page, List<T> items) {
+        pageFailures[page] = 0;
+        pageRetryTimes[page] = 0;
+        pages[page] = items;
+        loadedPages.set(page);
+        notifyItemRangeChanged(page * pageSize, Math.min(pageSize, itemCount - page * pageSize));
+        evictFarPages();
+    }
+
+    private void onPageFailed(final int page, RuntimeException e) {
+        pageFailures[page]++;
+        long delay = Math.min(MAX_RETRY_DELAY_MILLIS, MIN_RETRY_DELAY_MILLIS << Math.min(pageFailures[page] - 1, 16));
+        pageRetryTimes[page] = SystemClock.uptimeMillis() + delay;
+        final int failedGeneration = generation;
+        mainHandler.postDelayed(() -> {
+            if (failedGeneration == generation && Math.abs(page - lastAccessedPage) <= prefetchPages && canLoad(page))
+                loadPage(page);
+        }, delay);
+        onLoadFailed(page, e);
+    }
+
+    private void onLoadFailed(int page, RuntimeException e) {
+        if (onPageLoadFailedListener != null) {
+            onPageLoadFailedListener.onPageLoadFailed(page, e);
+        } else {
+            Log.w(TAG, "Unable to load the " + (page == NO_PAGE ? "item count" : "page " + page), e);
+        }
+    }
+
+    /**
+     * Discard the pages farthest from the last bound position, while there are too many.
+     * They are the first or the last loaded page, so no page is traversed.
+     */
+    private void evictFarPages() {
+        while (loadedPages.cardinality() > maxLoadedPages) {
+            int first = loadedPages.nextSetBit(0);
+            int last = loadedPages.length() - 1;
+            int farthest = lastAccessedPage - first >= last - lastAccessedPage ? first : last;
+            if (Math.abs(farthest - lastAccessedPage) <= prefetchPages)
+                return;
+            pages[farthest] = null;
+            loadedPages.clear(farthest);
+        }
+    }
+
+
+    /**
+     * @return the number of pages in memory.
+     */
+    public int getLoadedPageCount() {
+        return loadedPages.cardinality();
+    }
+
+    /**
+     * Define how many pages are loaded before and after the page of each bound position, by default 1.
+     *
+     * @param prefetchPages number of pages.
+     * @throws IllegalStateException if the pages around a position don't fit in the maximum of loaded pages.
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        checkLimits(prefetchPages, maxLoadedPages);
+        this.prefetchPages = prefetchPages;
+    }
+
+    /**
+     * Define how many items are prepared ahead while scrolling, loading their pages before they are bound.
+     * The faster the scroll, the more items are prepared, up to the maximum.
+     *
+     * @param maxItems maximum number of items prepared ahead, 10 by default, or 0 to don't prepare them.
+     * @param frameBudgetNanos maximum time used in the main thread to prepare items in each frame, 4 milliseconds by default.
+     */
+    public void setLookAhead(int maxItems, long frameBudgetNanos) {
+        lookAhead.setMaxItems(maxItems);
+        lookAhead.setFrameBudgetNanos(frameBudgetNanos);
+    }
+
+    /**
+     * Define how many pages are kept in memory, by default 10.
+     *
+     * @param maxLoadedPages number of pages.
+     * @throws IllegalStateException if the pages around a position don't fit in the maximum of loaded pages.
+     */
+    public void setMaxLoadedPages(int maxLoadedPages) {
+        checkLimits(prefetchPages, maxLoadedPages);
+        this.maxLoadedPages = maxLoadedPages;
+    }
+
+    private static void checkLimits(int prefetchPages, int maxLoadedPages) {
+        if (prefetchPages < 0 || maxLoadedPages < 2 * prefetchPages + 1)
+            throw new IllegalStateException("Can't keep " + prefetchPages + " pages around a position with a maximum of " + maxLoadedPages + " pages");
+    }
+
+    /**
+     * Define the executor used to load the pages.
+     * By default an executor shared by all the adapters is used.
+     *
+     * @param loadExecutor executor that runs in background.
+     */
+    public void setLoadExecutor(@NonNull Executor loadExecutor) {
+        this.loadExecutor = loadExecutor;
+    }
+
+    private Executor getLoadExecutor() {
+        if (loadExecutor == null)
+            loadExecutor = getDefaultLoadExecutor();
+        return loadExecutor;
+    }
+
+    private static synchronized Executor getDefaultLoadExecutor() {
+        if (defaultLoadExecutor == null)
+            defaultLoadExecutor = Executors.newFixedThreadPool(2);
+        return defaultLoadExecutor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T>[] newPages(int count) {
+        return (List<T>[]) new List[count];
+    }
+
+
+    /**
+     * Register a callback to be invoked in the main thread when the source fails to load a page or the item count.
+     * Without it the failures are logged. The failed pages are loaded again after a delay, doubled on each
+     * consecutive failure, while they are around the bound positions.
+     *
+     * @param onPageLoadFailedListener The callback that will run
+     */
+    public void setOnPageLoadFailedListener(OnPageLoadFailedListener onPageLoadFailedListener) {
+        this.onPageLoadFailedListener = onPageLoadFailedListener;
+    }
+
+    /**
+     * Register a callback to be invoked when a loaded item is clicked.
+     *
+     * @param onListableClickListener The callback that will run
+     */
+    public void setOnListableClickListener(ListableAdapter.OnListableClickListener<T> onListableClickListener) {
+        clickDispatcher.setOnListableClickListener(onListableClickListener);
+    }
+
+    /**
+     * Register a callback to be invoked when a loaded item is clicked and held.
+     *
+     * @param onListableLongClickListener The callback that will run
+     */
+    public void setOnListableLongClickListener(ListableAdapter.OnListableLongClickListener<T> onListableLongClickListener) {
+        clickDispatcher.setOnListableLongClickListener(onListableLongClickListener);
+    }
+
+    /**
+     * Register a callback to be invoked when the view of a field declared with '@ListableField(clickable = true)'
+     * of a loaded item is clicked.
+     *
+     * @param onListableFieldClickListener The callback that will run
+     */
+    public void setOnListableFieldClickListener(ListableAdapter.OnListableFieldClickListener<T> onListableFieldClickListener) {
+        clickDispatcher.setOnListableFieldClickListener(onListableFieldClickListener);
+    }
+
+
+    /**
+     * Interface definition for a callback to be invoked when the source fails.
+     */
+    public interface OnPageLoadFailedListener {
+        /**
+         * @param page the number of the page, or {@link #NO_PAGE} if the item count failed.
+         * @param e    the exception thrown by the source.
+         */
+        void onPageLoadFailed(int page, RuntimeException e);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import ar.com.jdodevelopment.listable.schema.StableIds;
+
+/**
+ * Queue of the changes posted to an adapter from any thread, until they are applied in the main thread.
+ * <p>
+ * The queue is lock-free. When the changes are drained, the changes of the same item are collapsed in one:
+ * the last change wins, except that an update after an add is still an add, and an update after a remove is ignored.
+ * Items are the same if they have the same '@ListableId', or are equal without it.
+ *
+ * @author Juan Daniel Ornella
+ * @param <T> the class that want to list
+ */
+class PendingUpdates<T> {
+
+
+    static final int ADD = 0;
+    static final int UPDATE = 1;
+    static final int REMOVE = 2;
+
+    private final ConcurrentLinkedQueue<Update<T>> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * True while a drain is scheduled and the queue wasn't drained yet.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+
+    /**
+     * Enqueue a change, from any thread.
+     *
+     * @return true if a drain must be scheduled.
+     */
+    boolean offer(int kind, T item) {
+        queue.offer(new Update<>(kind, item));
+        return scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Take the changes enqueued, collapsed by item, in the order each item was first changed.
+     * Must be called from the main thread, because the ids are assigned there.
+     *
+     * @param stableIds the stable ids of the adapter, or null if the items haven't '@ListableId'.
+     */
+    List<Update<T>> drain(StableIds<T> stableIds) {
+        scheduled.set(false);
+        Map<Object, Update<T>> collapsed = new LinkedHashMap<>();
+        Update<T> update;
+        while ((update = queue.poll()) != null) {
+            Object key = stableIds != null ? (Object) stableIds.getId(update.item) : update.item;
+            collapsed.put(key, collapse(collapsed.get(key), update));
+        }
+        return new ArrayList<>(collapsed.values());
+    }
+
+    private static <T> Update<T> collapse(Update<T> previous, Update<T> next) {
+        if (previous == null || next.kind != UPDATE)
+            return next;
+        if (previous.kind == ADD)
+            return new Update<>(ADD, next.item);
+        if (previous.kind == REMOVE)
+            return previous;
+        return next;
+    }
+
+
+    static final class Update<T> {
+
+        final int kind;
+        final T item;
+
+        Update(int kind, T item) {
+            this.kind = kind;
+            this.item = item;
+        }
+    }
+
+}
@@ -16,19 +16,16 @@
 
 package ar.com.jdodevelopment.listable.recyclerview.adapter;
 
-import android.content.Context;
 import android.support.annotation.NonNull;
-import android.view.LayoutInflater;
-import android.view.View;
+import android.support.v7.widget.RecyclerView;
 import android.view.ViewGroup;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
 import ar.com.jdodevelopment.listable.recyclerview.viewholder.SelectableListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.SelectionModel;
 
 
 /**
@@ -40,6 +37,11 @@ import ar.com.jdodevelopment.listable.recyclerview.viewholder.SelectableListable
 public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
 
 
+    /**
+     * Payload of the notifications that only change the selection, so the fields aren't set again.
+     */
+    private static final Object SELECTION_PAYLOAD = new Object();
+
 
     /**
      * Determine if the selection is enabled or disbled in the RecyclerView.
@@ -48,16 +50,21 @@ public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
 
 
     /**
-     * Contains the list of indices of the objects that are currently selected.
+     * Contains the objects that are currently selected, by their '@ListableId' when declared.
+     */
+    private final SelectionModel<T> selection;
+
+    /**
+     * Value of mutationCount when the selection forgot the removed objects.
      */
-    private final Set<Integer> selectedIndexes;
+    private int retainedMutationCount;
 
     /**
      * @param entityClass the class that wrap the entity that will be listed.
      */
     public SelectableListableAdapter(Class entityClass) {
         super(entityClass);
-        selectedIndexes = new HashSet<>();
+        selection = new SelectionModel<>(getStableIds());
     }
 
     /**
@@ -72,10 +79,32 @@ public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
 
 
     /**
-     * Clear the current selection
+     * Clear the current selection and notify the RecyclerView.
      */
     public void clearSelection(){
-        selectedIndexes.clear();
+        if (selection.isClear())
+            return;
+        selection.clear();
+        notifySelectionChanged(0, list.size());
+    }
+
+
+    /**
+     * Select all the objects, in O(1) regardless of the size of the list.
+     * Objects added later are selected too, until the selection is cleared.
+     */
+    public void selectAll(){
+        selection.selectAll();
+        notifySelectionChanged(0, list.size());
+    }
+
+
+    /**
+     * Select the objects that aren't selected and unselect the ones that are, in O(1).
+     */
+    public void invertSelection(){
+        selection.invert();
+        notifySelectionChanged(0, list.size());
     }
 
 
@@ -83,10 +112,12 @@ public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
      * @return a List of current seleted objects
      */
     public List<T> getSelectedObjects(){
+        retainSelection();
         List<T> selectedObjects = new ArrayList<>();
-        for(Integer index : selectedIndexes){
-            T selectedObject = list.get(index);
-            selectedObjects.add(selectedObject);
+        for (int i = 0; i < list.size(); i++) {
+            T object = list.get(i);
+            if (selection.isSelected(object))
+                selectedObjects.add(object);
         }
         return selectedObjects;
     }
@@ -96,7 +127,72 @@ public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
      * @return a List of current seleted indexes
      */
     public List<Integer> getSelectedIndexes(){
-        return new ArrayList<>(selectedIndexes);
+        retainSelection();
+        List<Integer> selectedIndexes = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            if (selection.isSelected(list.get(i)))
+                selectedIndexes.add(i);
+        }
+        return selectedIndexes;
+    }
+
+
+    /**
+     * @return the number of selected objects
+     */
+    public int getSelectedCount(){
+        retainSelection();
+        int count = 0;
+        for (int i = 0; i < list.size(); i++) {
+            if (selection.isSelected(list.get(i)))
+                count++;
+        }
+        return count;
+    }
+
+
+    /**
+     * @param position the index of an object
+     * @return true if the object is selected
+     */
+    public boolean isSelected(int position){
+        return selection.isSelected(list.get(position));
+    }
+
+
+    /**
+     * Change the selection of the object at the position, notifying the RecyclerView if it changed.
+     *
+     * @param position the index of the object
+     * @param selected the new state of selection
+     */
+    public void setSelected(int position, boolean selected){
+        if (selection.setSelected(list.get(position), selected))
+            notifySelectionChanged(position, 1);
+    }
+
+
+    /**
+     * Change the selection of the objects between the positions, for example when dragging to select.
+     * Only the objects whose state changed are notified to the RecyclerView.
+     *
+     * @param fromPosition index of the first object, inclusive
+     * @param toPosition   index after the last object, exclusive
+     * @param selected     the new state of selection
+     */
+    public void setRangeSelected(int fromPosition, int toPosition, boolean selected){
+        int runStart = -1;
+        for (int i = fromPosition; i < toPosition; i++) {
+            if (selection.setSelected(list.get(i), selected)) {
+                if (runStart < 0)
+                    runStart = i;
+            } else if (runStart >= 0) {
+                notifySelectionChanged(runStart, i - runStart);
+                runStart = -1;
+            }
+        }
+        if (runStart >= 0)
+            notifySelectionChanged(runStart, toPosition - runStart);
     }
 
 
@@ -106,11 +202,27 @@ public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
      * @param object that change the state of selection
      */
     public void flipObjectSelection(T object){
-        int index = list.indexOf(object);
-        if(!selectedIndexes.contains(index)){
-            selectedIndexes.add(index);
-        }else{
-            selectedIndexes.remove(index);
+        int index = positionOf(object);
+        if(index == RecyclerView.NO_POSITION){
+            return;
+        }
+        selection.setSelected(object, !selection.isSelected(object));
+        notifySelectionChanged(index, 1);
+    }
+
+
+    private void notifySelectionChanged(int position, int count) {
+        if (count > 0)
+            notifier().onChanged(position, count, SELECTION_PAYLOAD);
+    }
+
+    /**
+     * Forget the selection of the objects removed since the last time.
+     */
+    private void retainSelection() {
+        if (retainedMutationCount != mutationCount) {
+            selection.retainAll(list);
+            retainedMutationCount = mutationCount;
         }
     }
 
@@ -118,16 +230,39 @@ public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
     @NonNull
     @Override
     public ListableViewHolder<T> onCreateViewHolder(@NonNull ViewGroup parent, int position) {
-        Context context = parent.getContext();
-        View view = LayoutInflater.from(context).inflate(this.layoutId, parent, false);
-        return new SelectableListableViewHolder<>(view, entityClass);
+        return ViewHolderFactory.create(parent, this.layoutId, schema, clickDispatcher, SelectableListableViewHolder::new);
     }
 
 
     @Override
     public void onBindViewHolder(@NonNull ListableViewHolder<T> viewHolder, int position) {
         super.onBindViewHolder(viewHolder, position);
-        boolean selected = selectedIndexes.contains(position);
+        updateSelection(viewHolder, position);
+    }
+
+
+    /**
+     * When the payloads only changed the selection, the fields aren't set again.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull ListableViewHolder<T> viewHolder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.contains(SELECTION_PAYLOAD)) {
+            super.onBindViewHolder(viewHolder, position, payloads);
+            return;
+        }
+        List<Object> fieldPayloads = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            if (payloads.get(i) != SELECTION_PAYLOAD)
+                fieldPayloads.add(payloads.get(i));
+        }
+        if (!fieldPayloads.isEmpty())
+            super.onBindViewHolder(viewHolder, position, fieldPayloads);
+        updateSelection(viewHolder, position);
+    }
+
+
+    private void updateSelection(ListableViewHolder<T> viewHolder, int position) {
+        boolean selected = selection.isSelected(list.get(position));
 
         SelectableListableViewHolder selectableListableViewHolder = (SelectableListableViewHolder) viewHolder;
         selectableListableViewHolder.updateSelection(selectionEnabled, selected);
@@ -139,6 +274,9 @@ public class SelectableListableAdapter<T> extends  ListableAdapter<T> {
     }
 
     public void setSelectionEnabled(boolean selectionEnabled) {
+        if (this.selectionEnabled == selectionEnabled)
+            return;
         this.selectionEnabled = selectionEnabled;
+        notifySelectionChanged(0, list.size());
     }
 }
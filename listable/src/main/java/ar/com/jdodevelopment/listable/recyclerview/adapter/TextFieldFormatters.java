@@ -0,0 +1,111 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.view.View;
+import android.widget.TextView;
+
+import ar.com.jdodevelopment.listable.formatter.FormatterRegistry;
+import ar.com.jdodevelopment.listable.formatter.StatefulFormatter;
+import ar.com.jdodevelopment.listable.formatter.TextFormatter;
+import ar.com.jdodevelopment.listable.formatter.ViewFormatters;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Formatters of the fields set in a TextView by a {@link TextFormatter}, used to format the texts of the items
+ * before they are bound.
+ * <p>
+ * Which fields are set in a TextView is taken from a bound view holder, as the views of all the holders
+ * are inflated from the same layout, but the views aren't kept. The formatters are obtained from the schema,
+ * so the {@link StatefulFormatter}s have their own instances.
+ * <p>
+ * To format in background only the shared formatters are used, as a StatefulFormatter can't be used
+ * from many threads, so those fields are formatted when they are bound.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class TextFieldFormatters<T> {
+
+
+    private final ListableSchema<T> schema;
+
+    /**
+     * Formatter of each field, by index, or null for the fields that aren't set in a TextView by a TextFormatter.
+     */
+    private final TextFormatter[] formatters;
+
+
+    /**
+     * @param viewHolder a bound view holder, from which only the types of the views are taken.
+     * @param background true if the texts are formatted in background, so only the shared formatters are used.
+     */
+    TextFieldFormatters(ListableSchema<T> schema, ListableViewHolder<T> viewHolder, boolean background) {
+        this.schema = schema;
+        this.formatters = new TextFormatter[schema.getFieldCount()];
+        for (int i = 0; i < formatters.length; i++) {
+            View view = viewHolder.getListableView(i);
+            if (background && !FormatterRegistry.isShared(schema.getFormatterClass(i)))
+                continue;
+            if (view instanceof TextView && viewHolder.getValueFormatter(i) instanceof TextFormatter
+                    && ViewFormatters.isViewSupported(viewHolder.getListableFormatter(i), view)) {
+                formatters[i] = (TextFormatter) schema.obtainFormatter(i);
+            }
+        }
+    }
+
+
+    int getFieldCount() {
+        return formatters.length;
+    }
+
+    /**
+     * @return true if the text of the field is formatted before the item is bound.
+     */
+    boolean isTextField(int index) {
+        return formatters[index] != null;
+    }
+
+
+    /**
+     * Format the texts of the item that weren't formatted yet.
+     *
+     * @param texts texts of the item by index of field, null for the fields that weren't formatted yet.
+     */
+    void formatTexts(T item, CharSequence[] texts) {
+        for (int i = 0; i < formatters.length; i++) {
+            if (formatters[i] != null && texts[i] == null)
+                texts[i] = format(item, i);
+        }
+    }
+
+    /**
+     * @return the text of the field, or null if the formatter doesn't support its value,
+     * so the error is reported when it is bound as usual.
+     */
+    CharSequence format(T item, int index) {
+        TextFormatter formatter = formatters[index];
+        Object value = schema.getValue(item, index);
+        if (value == null)
+            return formatter.formatNull();
+        if (!FormatterRegistry.isValueSupported(formatter, value))
+            return null;
+        return formatter.formatValue(value);
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.annotation.MainThread;
+import android.support.v4.text.PrecomputedTextCompat;
+import android.support.v4.widget.TextViewCompat;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+import ar.com.jdodevelopment.listable.formatter.TextFormatter;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Format the texts of the items in background before they are bound, precomputing their layout
+ * with {@link PrecomputedTextCompat}.
+ * <p>
+ * Only the fields set in a TextView by a shared {@link TextFormatter} are formatted in advance,
+ * see {@link TextFieldFormatters}.
+ * The results are matched with the items by identity, and the items whose texts aren't ready when they are bound
+ * are bound synchronously. Must be used from the main thread.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class TextPrecomputer<T> {
+
+
+    /**
+     * Maximum number of items with texts being formatted or waiting to be bound.
+     */
+    static final int MAX_TASKS = 16;
+
+
+    private final ListableSchema<T> schema;
+
+    /**
+     * Formatters of the fields formatted in advance, known after the first bind.
+     */
+    private TextFieldFormatters<T> formatters;
+
+    /**
+     * Text metrics of the TextView of each field, or null to format the text without precomputing it.
+     */
+    private PrecomputedTextCompat.Params[] params;
+
+    /**
+     * Items being formatted or waiting to be bound, the oldest first.
+     */
+    private final ArrayList<Task> tasks = new ArrayList<>();
+
+
+    TextPrecomputer(ListableSchema<T> schema) {
+        this.schema = schema;
+    }
+
+
+    /**
+     * Take the fields set in TextViews and their text metrics from the first view holder,
+     * as the views of all the holders are inflated from the same layout.
+     */
+    @MainThread
+    void init(ListableViewHolder<T> viewHolder) {
+        if (formatters != null)
+            return;
+        formatters = new TextFieldFormatters<>(schema, viewHolder, true);
+        params = new PrecomputedTextCompat.Params[formatters.getFieldCount()];
+        for (int i = 0; i < params.length; i++) {
+            if (formatters.isTextField(i))
+                params[i] = TextViewCompat.getTextMetricsParams((TextView) viewHolder.getListableView(i));
+        }
+    }
+
+    /**
+     * Start formatting the texts of an item in background, unless they are already being formatted.
+     * When there are too many items being formatted, the oldest is cancelled.
+     */
+    @MainThread
+    void prepare(T item, Executor executor) {
+        if (formatters == null || indexOf(item) >= 0)
+            return;
+        if (tasks.size() >= MAX_TASKS)
+            tasks.remove(0).cancelled = true;
+        Task task = new Task(item);
+        tasks.add(task);
+        executor.execute(task);
+    }
+
+    /**
+     * Set the texts formatted in advance in the view holder.
+     *
+     * @return false if the texts of the item weren't ready, so the item must be bound synchronously.
+     */
+    @MainThread
+    boolean apply(ListableViewHolder<T> viewHolder, T item) {
+        init(viewHolder);
+        int index = indexOf(item);
+        if (index < 0)
+            return false;
+        Task task = tasks.remove(index);
+        if (!task.done) {
+            task.cancelled = true;
+            return false;
+        }
+        viewHolder.setTextsInViews(item, task.texts);
+        return true;
+    }
+
+    /**
+     * Discard the texts of an item that won't be bound.
+     */
+    @MainThread
+    void cancel(T item) {
+        int index = indexOf(item);
+        if (index >= 0)
+            tasks.remove(index).cancelled = true;
+    }
+
+    /**
+     * Discard all the texts, because the items changed.
+     */
+    @MainThread
+    void invalidate() {
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).cancelled = true;
+        }
+        tasks.clear();
+    }
+
+    /**
+     * @return the number of items being formatted or waiting to be bound.
+     */
+    int getTaskCount() {
+        return tasks.size();
+    }
+
+    private int indexOf(T item) {
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).item == item)
+                return i;
+        }
+        return -1;
+    }
+
+
+    /**
+     * Format the texts of an item, in background.
+     */
+    private final class Task implements Runnable {
+
+        final T item;
+
+        final CharSequence[] texts;
+
+        /**
+         * Set in the main thread when the texts are no longer needed.
+         */
+        volatile boolean cancelled;
+
+        /**
+         * Set in background when all the texts were formatted.
+         */
+        volatile boolean done;
+
+        Task(T item) {
+            this.item = item;
+            this.texts = new CharSequence[formatters.getFieldCount()];
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < texts.length; i++) {
+                if (cancelled)
+                    return;
+                if (formatters.isTextField(i))
+                    texts[i] = format(i);
+            }
+            done = true;
+        }
+
+        /**
+         * @return the text of the field, or null if the formatter doesn't support its value,
+         * so the error is reported when it is bound synchronously.
+         */
+        private CharSequence format(int index) {
+            CharSequence text = formatters.format(item, index);
+            if (text == null || params[index] == null)
+                return text;
+            PrecomputedTextCompat precomputedText = PrecomputedTextCompat.create(text, params[index]);
+            return precomputedText != null ? precomputedText : text;
+        }
+
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import ar.com.jdodevelopment.listable.metrics.EntityMetrics;
+import ar.com.jdodevelopment.listable.metrics.ListableMetrics;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Create the view holders of the adapters: inflate the layout, create the holder, register its click listener
+ * and measure the creation in the {@link ListableMetrics} of the entity.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class ViewHolderFactory {
+
+
+    /**
+     * The constructor of a subclass of {@link ListableViewHolder}.
+     */
+    interface Constructor<T> {
+        ListableViewHolder<T> newViewHolder(View itemView, ListableSchema<T> schema);
+    }
+
+
+    private ViewHolderFactory() {
+    }
+
+
+    static <T> ListableViewHolder<T> create(ViewGroup parent, int layoutId, ListableSchema<T> schema,
+                                            ClickDispatcher<T> clickDispatcher) {
+        return create(parent, layoutId, schema, clickDispatcher, ListableViewHolder::new);
+    }
+
+    static <T> ListableViewHolder<T> create(ViewGroup parent, int layoutId, ListableSchema<T> schema,
+                                            ClickDispatcher<T> clickDispatcher, Constructor<T> constructor) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        long start = metrics != null ? metrics.beginCreate() : 0;
+        View view = LayoutInflater.from(parent.getContext()).inflate(layoutId, parent, false);
+        ListableViewHolder<T> viewHolder = constructor.newViewHolder(view, schema);
+        clickDispatcher.register(viewHolder);
+        if (metrics != null)
+            metrics.endCreate(start);
+        return viewHolder;
+    }
+
+}
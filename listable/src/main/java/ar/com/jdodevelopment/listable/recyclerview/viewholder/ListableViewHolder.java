@@ -16,18 +16,26 @@
 
 package ar.com.jdodevelopment.listable.recyclerview.viewholder;
 
+import android.database.Cursor;
+import android.support.v4.text.PrecomputedTextCompat;
+import android.support.v4.widget.TextViewCompat;
 import android.support.v7.widget.RecyclerView;
-import android.util.ArrayMap;
 import android.view.View;
+import android.widget.TextView;
 
-import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
-import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.formatter.DoubleFormatter;
+import ar.com.jdodevelopment.listable.formatter.FormatterRegistry;
 import ar.com.jdodevelopment.listable.formatter.ListableFormatter;
-import ar.com.jdodevelopment.listable.recyclerview.adapter.ListableAdapter;
+import ar.com.jdodevelopment.listable.formatter.LongFormatter;
+import ar.com.jdodevelopment.listable.formatter.TextFormatter;
+import ar.com.jdodevelopment.listable.formatter.ValueFormatter;
+import ar.com.jdodevelopment.listable.formatter.ViewFormatters;
+import ar.com.jdodevelopment.listable.metrics.EntityMetrics;
+import ar.com.jdodevelopment.listable.metrics.ListableMetrics;
+import ar.com.jdodevelopment.listable.recyclerview.adapter.CursorColumns;
+import ar.com.jdodevelopment.listable.schema.FieldChanges;
+import ar.com.jdodevelopment.listable.schema.ListableDataset;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
 
 /**
  *
@@ -37,14 +45,36 @@ public class ListableViewHolder<T> extends RecyclerView.ViewHolder {
 
 
     /**
-     * Represent the entity than you want to list
+     * Fields defined in the class with the Annotation '@ListableField', shared by all the view holders of the entity.
+     */
+    private final ListableSchema<T> schema;
+
+    /**
+     * Views corresponding to each field of the schema, by index.
+     */
+    private final View[] listableViews;
+
+    /**
+     * Formatters declared for each field of the schema, by index.
+     */
+    private final ValueFormatter[] valueFormatters;
+
+    /**
+     * Formatters that set the values of each field in its view, by index.
+     */
+    private final ListableFormatter[] listableFormatters;
+
+    /**
+     * How each field is read and formatted: {@link ListableSchema#VALUE_LONG} and {@link ListableSchema#VALUE_DOUBLE}
+     * when both the field and the formatter support primitives, {@link ListableSchema#VALUE_OBJECT} otherwise.
      */
-    private Class entityClass;
+    private final int[] valueTypes;
 
     /**
-     * Map of fields and views defined in the class with the Annotation '@ListableField'
+     * True for the fields whose values are set as text in a TextView by a {@link TextFormatter},
+     * so the text can be formatted before it is set.
      */
-    private Map<Field, View> listableViews;
+    private final boolean[] textFields;
 
 
     /**
@@ -52,156 +82,342 @@ public class ListableViewHolder<T> extends RecyclerView.ViewHolder {
      * @param itemView the view inflated to display the data
      */
     public ListableViewHolder(View itemView, Class entityClass) {
+        this(itemView, ListableSchema.<T>of(entityClass));
+    }
+
+    /**
+     * @param schema the schema of the entity that will be listed.
+     * @param itemView the view inflated to display the data
+     */
+    public ListableViewHolder(View itemView, ListableSchema<T> schema) {
         super(itemView);
-        this.entityClass = entityClass;
-        listableViews = new ArrayMap<>();
+        this.schema = schema;
+        this.listableViews = new View[schema.getFieldCount()];
+        this.valueFormatters = new ValueFormatter[schema.getFieldCount()];
+        this.listableFormatters = new ListableFormatter[schema.getFieldCount()];
+        this.valueTypes = new int[schema.getFieldCount()];
+        this.textFields = new boolean[schema.getFieldCount()];
         initListableViews();
     }
 
 
     /**
-     * Init the views corresponding to each field
-     *
-     * @throws IllegalStateException when entityClass haven't declared in any the Annotation '@ListableField'.
+     * Init the views and formatters corresponding to each field
      */
     private void initListableViews() {
-        List<Field> listableFields = getListableFields();
-        if (listableFields.isEmpty())
-            throw new IllegalStateException("You must declare at least one @ListableField in the class:" + entityClass.getSimpleName());
-
-        for (Field field : listableFields) {
-            View view = getListableFieldView(field);
-            listableViews.put(field, view);
+        for (int i = 0; i < listableViews.length; i++) {
+            listableViews[i] = getListableFieldView(i);
+            valueFormatters[i] = schema.obtainFormatter(i);
+            listableFormatters[i] = ViewFormatters.of(valueFormatters[i]);
+            valueTypes[i] = getValueType(i);
+            textFields[i] = listableViews[i] instanceof TextView && valueFormatters[i] instanceof TextFormatter
+                    && ViewFormatters.isViewSupported(listableFormatters[i], listableViews[i]);
         }
     }
 
     /**
-     * @return the list of fields that have the Annotation '@ListableField'.
+     * Fields are read and formatted as primitives only if the formatter supports the primitive
+     * and the type of its wrapper. The other fields are read boxed in the type of the field.
      */
-    private List<Field> getListableFields() {
-        List<Field> list = new ArrayList<>();
-        Field[] fields = entityClass.getDeclaredFields();
-        for (Field field : fields) {
-            ListableField listableField = field.getAnnotation(ListableField.class);
-            if (listableField != null) {
-                list.add(field);
-            }
-        }
-        return list;
+    private int getValueType(int index) {
+        ListableFormatter listableFormatter = listableFormatters[index];
+        int valueType = schema.getValueType(index);
+        boolean primitiveFormatter = (valueType == ListableSchema.VALUE_LONG && ViewFormatters.isLongSupported(listableFormatter))
+                || (valueType == ListableSchema.VALUE_DOUBLE && ViewFormatters.isDoubleSupported(listableFormatter));
+        if (primitiveFormatter && FormatterRegistry.isValueSupported(valueFormatters[index], schema.getZeroValue(index)))
+            return valueType;
+        return ListableSchema.VALUE_OBJECT;
     }
 
     /**
      * Find the corresponding view of a field.
-     * @param field target field.
+     * @param index position of the target field in the schema.
      * @return finded view in itemView.
      * @throws IllegalStateException if the view is not found in itemView
      */
-    private View getListableFieldView(Field field) {
-        ListableField listableField = field.getAnnotation(ListableField.class);
-        int viewResource = listableField.viewResource();
+    private View getListableFieldView(int index) {
+        int viewResource = schema.getViewResource(index);
         View view = itemView.findViewById(viewResource);
         if (view == null) {
-            String message = "The view with id: " + viewResource + " could not be found, in the field: " + field.getName();
+            String message = "The view with id: " + viewResource + " could not be found, in the field: " + schema.getFieldName(index);
             throw new IllegalStateException(message);
         }
         return view;
     }
 
 
+    /**
+     * @param index position of a field in the schema.
+     * @return the view corresponding to the field.
+     */
+    public View getListableView(int index) {
+        return listableViews[index];
+    }
+
+    /**
+     * @param index position of a field in the schema.
+     * @return the formatter that sets the value of the field in its view.
+     */
+    public ListableFormatter getListableFormatter(int index) {
+        return listableFormatters[index];
+    }
+
+    /**
+     * @param index position of a field in the schema.
+     * @return the formatter declared for the field, that is a {@link TextFormatter} when the text can be formatted in advance.
+     */
+    public ValueFormatter getValueFormatter(int index) {
+        return valueFormatters[index];
+    }
+
+
      /**
      * Set all values ​​in their respective views.
       *
      * @param object to set values in each view
      */
     public void setValuesInViews(final T object) {
-        for (Map.Entry<Field, View> entry : listableViews.entrySet()) {
-            View view = entry.getValue();
-            Field field = entry.getKey();
-            Object fieldValue = getFieldValueByReflection(field, object);
-            setValueInView(view, field, fieldValue);
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        for (int i = 0; i < listableViews.length; i++) {
+            long start = metrics != null ? metrics.beginField(i) : 0;
+            setValueInView(i, object);
+            if (metrics != null)
+                metrics.endField(i, start);
         }
     }
 
     /**
-     * Set the value in the corresponding view.
+     * Set only the values of the fields that changed in their respective views.
      *
-     * @param view target view to set value
-     * @param field target field from which the formatter is obtained.
-     * @param fieldValue the value to in in the view.
+     * @param object to set values in each view
+     * @param changes the fields that changed
      */
-    private void setValueInView(View view, Field field, Object fieldValue){
-        ListableFormatter listableFormatter = createFotmatter(field);
-        if(fieldValue != null){
-            setValueIfSupported(listableFormatter, view, fieldValue);
-        }else{
-            listableFormatter.setNullInView(view);
+    public void setChangedValuesInViews(final T object, FieldChanges changes) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        for (int i = 0; i < listableViews.length; i++) {
+            if (!changes.contains(i))
+                continue;
+            long start = metrics != null ? metrics.beginField(i) : 0;
+            setValueInView(i, object);
+            if (metrics != null)
+                metrics.endField(i, start);
+        }
+    }
+
+    /**
+     * Set all values in their respective views, reading them from the current row of a Cursor.
+     *
+     * @param cursor cursor moved to the row to set in each view
+     * @param columns the columns of the fields in the cursor
+     */
+    public void setValuesInViews(Cursor cursor, CursorColumns columns) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        for (int i = 0; i < listableViews.length; i++) {
+            long start = metrics != null ? metrics.beginField(i) : 0;
+            setValueInView(i, cursor, columns);
+            if (metrics != null)
+                metrics.endField(i, start);
         }
     }
 
+    private void setValueInView(int index, Cursor cursor, CursorColumns columns) {
+        View view = listableViews[index];
+        if (valueTypes[index] != ListableSchema.VALUE_OBJECT && columns.isNull(cursor, index)) {
+            checkViewSupported(listableFormatters[index], view);
+            listableFormatters[index].setNullInView(view);
+            return;
+        }
+        switch (valueTypes[index]) {
+            case ListableSchema.VALUE_LONG:
+                checkViewSupported(listableFormatters[index], view);
+                ((LongFormatter) listableFormatters[index]).setLongInView(view, columns.getLong(cursor, index));
+                break;
+            case ListableSchema.VALUE_DOUBLE:
+                checkViewSupported(listableFormatters[index], view);
+                ((DoubleFormatter) listableFormatters[index]).setDoubleInView(view, columns.getDouble(cursor, index));
+                break;
+            default:
+                setValueInView(view, index, columns.getValue(cursor, index));
+        }
+    }
 
     /**
+     * Set all values in their respective views, reading them from a row of a dataset.
      *
-     * @throws IllegalStateException if the type of view is not supported by the {@link ListableFormatter}
-     * @throws IllegalStateException if the type of fieldValue is not supported by the {@link ListableFormatter}
+     * @param dataset the values of the entities, like a {@link ar.com.jdodevelopment.listable.schema.ListableColumnStore}
+     * @param row position of the row to set in each view
      */
-    private void setValueIfSupported( ListableFormatter listableFormatter, View view, Object fieldValue) {
-        if(!listableFormatter.supportedValueType(fieldValue)){
-            throw new IllegalStateException(listableFormatter.getClass().getSimpleName() + " not support field value type: " + fieldValue.getClass());
+    public void setValuesInViews(ListableDataset<T> dataset, int row) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        for (int i = 0; i < listableViews.length; i++) {
+            long start = metrics != null ? metrics.beginField(i) : 0;
+            setValueInView(i, dataset, row);
+            if (metrics != null)
+                metrics.endField(i, start);
         }
-        if(!listableFormatter.supportedViewType(view)){
-            throw new IllegalStateException(listableFormatter.getClass().getSimpleName() + " not support view type: " + view.getClass());
+    }
+
+    private void setValueInView(int index, ListableDataset<T> dataset, int row) {
+        View view = listableViews[index];
+        switch (valueTypes[index]) {
+            case ListableSchema.VALUE_LONG:
+                checkViewSupported(listableFormatters[index], view);
+                ((LongFormatter) listableFormatters[index]).setLongInView(view, dataset.getLong(row, index));
+                break;
+            case ListableSchema.VALUE_DOUBLE:
+                checkViewSupported(listableFormatters[index], view);
+                ((DoubleFormatter) listableFormatters[index]).setDoubleInView(view, dataset.getDouble(row, index));
+                break;
+            default:
+                setValueInView(view, index, dataset.getValue(row, index));
         }
-        listableFormatter.setValueInView(view, fieldValue);
     }
 
     /**
-     * @return the value of a field obtained by reflection.
+     * Set all values in their respective views, reusing the texts already formatted for the object
+     * and keeping the texts formatted now for the next time.
+     *
+     * @param object to set values in each view
+     * @param texts texts of the object by index of field, null for the fields that weren't formatted yet.
+     *              Only the fields set in a TextView by a {@link TextFormatter} are kept.
+     */
+    public void setValuesInViews(final T object, CharSequence[] texts) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        for (int i = 0; i < listableViews.length; i++) {
+            long start = metrics != null ? metrics.beginField(i) : 0;
+            if (textFields[i] && texts[i] == null)
+                texts[i] = formatText(i, object);
+            if (textFields[i] && texts[i] != null)
+                setText((TextView) listableViews[i], texts[i]);
+            else
+                setValueInView(i, object);
+            if (metrics != null)
+                metrics.endField(i, start);
+        }
+    }
+
+    /**
+     * @return the text of the field, or null if the formatter doesn't support its value,
+     * so the error is reported when it is set as usual.
+     */
+    private CharSequence formatText(int index, T object) {
+        TextFormatter textFormatter = (TextFormatter) valueFormatters[index];
+        Object value = schema.getValue(object, index);
+        if (value == null)
+            return textFormatter.formatNull();
+        if (!FormatterRegistry.isValueSupported(textFormatter, value))
+            return null;
+        return textFormatter.formatValue(value);
+    }
+
+    /**
+     * Set the texts formatted in advance, for example in background, in the TextViews of their fields.
+     * The fields without text are read from the object and set as usual.
+     *
+     * @param object the object from which the texts were formatted
+     * @param texts texts by index of field, that can be a {@link PrecomputedTextCompat}, or null
+     */
+    public void setTextsInViews(final T object, CharSequence[] texts) {
+        EntityMetrics metrics = ListableMetrics.obtain(schema);
+        for (int i = 0; i < listableViews.length; i++) {
+            long start = metrics != null ? metrics.beginField(i) : 0;
+            if (texts[i] != null) {
+                checkViewSupported(listableFormatters[i], listableViews[i]);
+                setText((TextView) listableViews[i], texts[i]);
+            } else {
+                setValueInView(i, object);
+            }
+            if (metrics != null)
+                metrics.endField(i, start);
+        }
+    }
+
+    /**
+     * A PrecomputedTextCompat is only valid for a TextView with the same text metrics params,
+     * otherwise the text is set as plain text.
+     */
+    private static void setText(TextView view, CharSequence text) {
+        if (text instanceof PrecomputedTextCompat) {
+            try {
+                TextViewCompat.setPrecomputedText(view, (PrecomputedTextCompat) text);
+                return;
+            } catch (IllegalArgumentException e) {
+                text = text.toString();
+            }
+        }
+        view.setText(text);
+    }
+
+    /**
+     * Set the views as if all the values were null, while the object isn't available.
      */
-    private Object getFieldValueByReflection(Field field, Object object) {
-        try {
-            field.setAccessible(true);
-            return field.get(object);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e);
+    public void setPlaceholderInViews() {
+        for (int i = 0; i < listableViews.length; i++) {
+            checkViewSupported(listableFormatters[i], listableViews[i]);
+            listableFormatters[i].setNullInView(listableViews[i]);
         }
     }
 
     /**
-     * Innstantiate a {@link ListableFormatter} defined in the Annotation '{@link ListableField}'.
+     * Read the value of a field and set it in the corresponding view.
      *
-     * @param field that have declared the {@link ListableField}.
-     * @return instantiated {@link ListableFormatter}.
+     * @param index position of the target field.
+     * @param object the object from which the value is read.
      */
-    private ListableFormatter createFotmatter(Field field) {
-        try {
-            ListableField listableField = field.getAnnotation(ListableField.class);
-            Class formatterClass = listableField.formatter();
-            return (ListableFormatter) formatterClass.newInstance();
-        } catch (ReflectiveOperationException e) {
-            throw new IllegalStateException(e);
+    private void setValueInView(int index, T object) {
+        View view = listableViews[index];
+        switch (valueTypes[index]) {
+            case ListableSchema.VALUE_LONG:
+                checkViewSupported(listableFormatters[index], view);
+                ((LongFormatter) listableFormatters[index]).setLongInView(view, schema.getLong(object, index));
+                break;
+            case ListableSchema.VALUE_DOUBLE:
+                checkViewSupported(listableFormatters[index], view);
+                ((DoubleFormatter) listableFormatters[index]).setDoubleInView(view, schema.getDouble(object, index));
+                break;
+            default:
+                setValueInView(view, index, schema.getValue(object, index));
         }
     }
 
     /**
-     * Register a callback to be invoked when the itemView is clicked.
+     * Set the value in the corresponding view.
      *
-     * @param onListableClickListener The callback that will run
+     * @param view target view to set value
+     * @param index position of the target field from which the formatter is obtained.
+     * @param fieldValue the value to in in the view.
      */
-    public void setOnListableClickListener(ListableAdapter.OnListableClickListener<T> onListableClickListener, T object) {
-        itemView.setOnClickListener(view -> onListableClickListener.onListableClick(view, object));
+    private void setValueInView(View view, int index, Object fieldValue){
+        ListableFormatter listableFormatter = listableFormatters[index];
+        if(fieldValue != null){
+            setValueIfSupported(index, view, fieldValue);
+        }else{
+            listableFormatter.setNullInView(view);
+        }
     }
 
+
     /**
-     * Register a callback to be invoked when the itemView is clicked and held.
      *
-     * @param onListableLongClickListener The callback that will run
+     * @throws IllegalStateException if the type of view is not supported by the {@link ListableFormatter}
+     * @throws IllegalStateException if the type of fieldValue is not supported by the {@link ListableFormatter}
      */
-    public void setOnListableLongClickListener(ListableAdapter.OnListableLongClickListener<T> onListableLongClickListener, T object) {
-        itemView.setOnLongClickListener(view -> {
-            onListableLongClickListener.onListableLongClick(view, object);
-            return false;
-        });
+    private void setValueIfSupported(int index, View view, Object fieldValue) {
+        ListableFormatter listableFormatter = listableFormatters[index];
+        if(!FormatterRegistry.isValueSupported(valueFormatters[index], fieldValue)){
+            throw new IllegalStateException(valueFormatters[index].getClass().getSimpleName() + " not support field value type: " + fieldValue.getClass());
+        }
+        checkViewSupported(listableFormatter, view);
+        listableFormatter.setValueInView(view, fieldValue);
     }
 
-}
+    /**
+     * @throws IllegalStateException if the type of view is not supported by the {@link ListableFormatter}
+     */
+    private void checkViewSupported(ListableFormatter listableFormatter, View view) {
+        if(!ViewFormatters.isViewSupported(listableFormatter, view)){
+            throw new IllegalStateException(listableFormatter.getClass().getSimpleName() + " not support view type: " + view.getClass());
+        }
+    }
 
+}
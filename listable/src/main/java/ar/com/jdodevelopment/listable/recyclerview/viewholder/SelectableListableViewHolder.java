@@ -21,6 +21,7 @@ import android.support.v4.content.ContextCompat;
 import android.view.View;
 
 import ar.com.jdodevelopment.listable.R;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
 
 
 /**
@@ -36,7 +37,12 @@ public class SelectableListableViewHolder<T> extends ListableViewHolder<T> {
 
 
     public SelectableListableViewHolder(View view, Class entityClass) {
-        super(view, entityClass);
+        this(view, ListableSchema.<T>of(entityClass));
+    }
+
+
+    public SelectableListableViewHolder(View view, ListableSchema<T> schema) {
+        super(view, schema);
         backgroundInitial = itemView.getBackground();
         backgroundSelected = ContextCompat.getDrawable(view.getContext(), R.color.backgroundSelected);
         backgroundUnselected = ContextCompat.getDrawable(view.getContext(), R.color.backgroundUnselected);
@@ -0,0 +1,66 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable;
+
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import org.robolectric.RuntimeEnvironment;
+
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+/**
+ * Item views of the tests, with a TextView for each field instead of an inflated layout.
+ */
+public final class ItemViews {
+
+
+    private ItemViews() {
+    }
+
+
+    /**
+     * @return a FrameLayout with a TextView for each field, with the id of its view resource.
+     */
+    public static FrameLayout newItemView(ListableSchema<?> schema) {
+        FrameLayout itemView = new FrameLayout(RuntimeEnvironment.application);
+        for (int i = 0; i < schema.getFieldCount(); i++) {
+            TextView textView = new TextView(RuntimeEnvironment.application);
+            textView.setId(schema.getViewResource(i));
+            itemView.addView(textView);
+        }
+        return itemView;
+    }
+
+    /**
+     * @return a view holder of the entity over {@link #newItemView(ListableSchema)}.
+     */
+    public static <T> ListableViewHolder<T> newViewHolder(Class entityClass) {
+        ListableSchema<T> schema = ListableSchema.of(entityClass);
+        return new ListableViewHolder<>(newItemView(schema), schema);
+    }
+
+    /**
+     * @return the text of the TextView with the id in the item view of the view holder.
+     */
+    public static String text(ListableViewHolder<?> viewHolder, int viewId) {
+        return ((TextView) viewHolder.itemView.findViewById(viewId)).getText().toString();
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.formatter.ToStringFormatter;
+import ar.com.jdodevelopment.listable.recyclerview.adapter.ListableAdapter;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+import static ar.com.jdodevelopment.listable.ItemViews.newViewHolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the latencies recorded by {@link ListableMetrics} while binding.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListableMetricsTest {
+
+
+    private static final int NAME_VIEW = 1;
+    private static final int STOCK_VIEW = 2;
+
+    @After
+    public void tearDown() {
+        ListableMetrics.setEnabled(false);
+        ListableMetrics.setListener(null);
+        ListableMetrics.setSlowBindThresholdNanos(ListableMetrics.DEFAULT_SLOW_BIND_NANOS);
+        ListableMetrics.reset();
+    }
+
+
+    @Test
+    public void histogram_percentilesAreBoundedByTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50500, histogram.getMeanNanos());
+        assertEquals(100000, histogram.getMaxNanos());
+        long median = histogram.getPercentileNanos(50);
+        assertTrue(median >= 50000 && median < 2 * 50000);
+        assertEquals(100000, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    public void disabled_recordsNothing() {
+        bindAll(newAdapter());
+        assertNull(ListableMetrics.obtain(ListableSchema.of(Item.class)));
+        EntityMetrics metrics = ListableMetrics.getEntityMetrics(Item.class);
+        assertTrue(metrics == null || metrics.getBindLatency().getCount() == 0);
+    }
+
+    @Test
+    public void enabled_recordsBindsFieldsAndFormatters() {
+        ListableMetrics.setEnabled(true);
+        ListableMetrics.reset();
+        bindAll(newAdapter());
+
+        EntityMetrics metrics = ListableMetrics.getEntityMetrics(Item.class);
+        assertEquals(10, metrics.getBindLatency().getCount());
+        assertEquals(10, metrics.getFieldLatency(0).getCount());
+        assertEquals(10, metrics.getFieldLatency(1).getCount());
+        assertEquals(20, ListableMetrics.getFormatterLatency(ToStringFormatter.class).getCount());
+    }
+
+    @Test
+    public void slowBinds_areReportedWithTheTimeOfEachField() {
+        ListableMetrics.setEnabled(true);
+        ListableMetrics.setSlowBindThresholdNanos(0);
+        final List<Integer> positions = new ArrayList<>();
+        ListableMetrics.setListener((metrics, position, bindNanos, fieldNanos) -> {
+            positions.add(position);
+            assertEquals("stock", metrics.getFieldName(1));
+            assertTrue(bindNanos >= fieldNanos[0] + fieldNanos[1]);
+        });
+        bindAll(newAdapter());
+        assertEquals(10, positions.size());
+        assertEquals(10, ListableMetrics.getEntityMetrics(Item.class).getSlowBindCount());
+    }
+
+
+    private ListableAdapter<Item> newAdapter() {
+        ListableAdapter<Item> adapter = new ListableAdapter<>(Item.class);
+        for (int i = 0; i < 10; i++) {
+            adapter.add(new Item("item" + i, i));
+        }
+        return adapter;
+    }
+
+    private void bindAll(ListableAdapter<Item> adapter) {
+        ListableViewHolder<Item> viewHolder = newViewHolder(Item.class);
+        for (int i = 0; i < adapter.getItemCount(); i++) {
+            adapter.onBindViewHolder(viewHolder, i);
+        }
+    }
+
+
+    @ListableEntity
+    static class Item {
+
+        @ListableField(viewResource = NAME_VIEW)
+        final String name;
+
+        @ListableField(viewResource = STOCK_VIEW)
+        final int stock;
+
+        Item(String name, int stock) {
+            this.name = name;
+            this.stock = stock;
+        }
+    }
+
+}
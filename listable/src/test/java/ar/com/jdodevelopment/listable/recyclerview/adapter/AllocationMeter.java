@@ -0,0 +1,82 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the bytes allocated by the current thread, through the thread allocated bytes of the JVM.
+ * <p>
+ * The runnable is warmed up first, and the lowest of several rounds is kept,
+ * so the lazy initializations and the noise of the JVM aren't counted.
+ *
+ * @author Juan Daniel Ornella
+ */
+final class AllocationMeter {
+
+
+    private static final int ROUNDS = 5;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+
+    private AllocationMeter() {
+    }
+
+
+    /**
+     * @return true if the JVM can measure the bytes allocated by a thread.
+     */
+    static boolean isSupported() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean))
+            return false;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported())
+            return false;
+        if (!threads.isThreadAllocatedMemoryEnabled())
+            threads.setThreadAllocatedMemoryEnabled(true);
+        return true;
+    }
+
+    /**
+     * @param runs number of times that the runnable is run in each round.
+     * @param runnable the code to measure, created once so its creation isn't counted.
+     * @return the bytes allocated by each run in steady state.
+     */
+    static long bytesPerRun(int runs, Runnable runnable) {
+        for (int i = 0; i < runs; i++) {
+            runnable.run();
+        }
+        long min = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = allocatedBytes();
+            for (int i = 0; i < runs; i++) {
+                runnable.run();
+            }
+            min = Math.min(min, allocatedBytes() - before);
+        }
+        return min / runs;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
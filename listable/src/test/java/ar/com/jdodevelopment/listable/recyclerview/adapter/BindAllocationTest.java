@@ -0,0 +1,311 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Date;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+import ar.com.jdodevelopment.listable.formatter.DateFormatter;
+import ar.com.jdodevelopment.listable.formatter.MinorUnitsMoneyFormatter;
+import ar.com.jdodevelopment.listable.formatter.MoneyFormatter;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.SelectableListableViewHolder;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+import static ar.com.jdodevelopment.listable.ItemViews.newItemView;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks the bytes allocated by each bind in steady state against a budget,
+ * for each built-in formatter and for the default bind path of {@link ListableAdapter} and {@link SelectableListableAdapter}.
+ * <p>
+ * What the TextViews allocate to set the texts isn't counted. The build fails when a change allocates more
+ * than the budget, so raise a budget only on purpose.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class BindAllocationTest {
+
+
+    private static final int ROWS = 64;
+
+    private static final int BINDS = 4096;
+
+    /**
+     * Allowed in each bind for the noise of the measure.
+     */
+    private static final long SLACK_BYTES = 8;
+
+    /**
+     * A new String of up to 20 characters, the formatted text of a value that isn't cached.
+     */
+    private static final long STRING_BYTES = 88;
+
+    /**
+     * The digits of a double, converted by the DecimalFormat of the money formatters.
+     */
+    private static final long DOUBLE_DIGITS_BYTES = 40;
+
+    /**
+     * The dates of all the rows are in the last days, so they are in the cache of the formatter.
+     */
+    private static final long TODAY = System.currentTimeMillis();
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+
+    @Before
+    public void setUp() {
+        assumeTrue(AllocationMeter.isSupported());
+    }
+
+
+    @Test
+    public void toStringFormatter_stringField() {
+        assertBudget(0, new ListableAdapter<>(Name.class), ListableViewHolder::new);
+    }
+
+    @Test
+    public void toStringFormatter_longField() {
+        assertBudget(STRING_BYTES, new ListableAdapter<>(Count.class), ListableViewHolder::new);
+    }
+
+    @Test
+    public void toStringFormatter_doubleField() {
+        assertBudget(STRING_BYTES, new ListableAdapter<>(Ratio.class), ListableViewHolder::new);
+    }
+
+    @Test
+    public void dateFormatter_cachedDays() {
+        assertBudget(0, new ListableAdapter<>(Day.class), ListableViewHolder::new);
+    }
+
+    @Test
+    public void moneyFormatter() {
+        assertBudget(STRING_BYTES, new ListableAdapter<>(Price.class), ListableViewHolder::new);
+    }
+
+    @Test
+    public void minorUnitsMoneyFormatter() {
+        assertBudget(STRING_BYTES + DOUBLE_DIGITS_BYTES, new ListableAdapter<>(Cents.class), ListableViewHolder::new);
+    }
+
+    @Test
+    public void listableAdapter_formattedValueCache() {
+        ListableAdapter<Product> adapter = new ListableAdapter<>(Product.class);
+        adapter.setFormattedValueCacheSize(ROWS);
+        assertBudget(0, adapter, ListableViewHolder::new);
+    }
+
+    @Test
+    public void selectableListableAdapter_formattedValueCache() {
+        SelectableListableAdapter<Product> adapter = new SelectableListableAdapter<>(Product.class);
+        adapter.setFormattedValueCacheSize(ROWS);
+        adapter.setSelectionEnabled(true);
+        assertBudget(0, adapter, SelectableListableViewHolder::new);
+    }
+
+    @Test
+    public void listableAdapter_clickListeners() {
+        ListableAdapter<Product> adapter = new ListableAdapter<>(Product.class);
+        adapter.setFormattedValueCacheSize(ROWS);
+        adapter.setOnListableClickListener((view, product) -> { });
+        adapter.setOnListableLongClickListener((view, product) -> { });
+        assertBudget(0, adapter, ListableViewHolder::new);
+    }
+
+
+    /**
+     * Bind all the rows, in order, again and again in the same view holder.
+     */
+    private <T> void assertBudget(long budget, ListableAdapter<T> adapter, ViewHolderFactory<T> factory) {
+        ListableSchema<T> schema = adapter.schema;
+        for (int i = 0; i < ROWS; i++) {
+            adapter.add(BindAllocationTest.<T>newItem(schema.getEntityClass(), i));
+        }
+        ListableViewHolder<T> viewHolder = factory.create(newItemView(schema), schema);
+
+        CharSequence[][] texts = new CharSequence[ROWS][schema.getFieldCount()];
+        for (int i = 0; i < ROWS; i++) {
+            adapter.onBindViewHolder(viewHolder, i);
+            for (int j = 0; j < schema.getFieldCount(); j++) {
+                texts[i][j] = ((TextView) viewHolder.getListableView(j)).getText();
+            }
+        }
+
+        int[] position = new int[1];
+        long bindBytes = AllocationMeter.bytesPerRun(BINDS, () -> {
+            adapter.onBindViewHolder(viewHolder, position[0]);
+            position[0] = (position[0] + 1) % ROWS;
+        });
+        long textBytes = AllocationMeter.bytesPerRun(BINDS, () -> {
+            CharSequence[] rowTexts = texts[position[0]];
+            for (int j = 0; j < rowTexts.length; j++) {
+                ((TextView) viewHolder.getListableView(j)).setText(rowTexts[j]);
+            }
+            position[0] = (position[0] + 1) % ROWS;
+        });
+
+        long bytes = bindBytes - textBytes;
+        String message = schema.getEntityClass().getSimpleName() + " allocated " + bytes + " bytes per bind, the budget is " + budget;
+        assertTrue(message, bytes <= budget + SLACK_BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T newItem(Class itemClass, int index) {
+        try {
+            return (T) itemClass.getDeclaredConstructor(int.class).newInstance(index);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private interface ViewHolderFactory<T> {
+        ListableViewHolder<T> create(FrameLayout itemView, ListableSchema<T> schema);
+    }
+
+
+    @ListableEntity
+    static class Name {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = 1)
+        final String name;
+
+        Name(int index) {
+            this.id = index;
+            this.name = "Name " + index;
+        }
+    }
+
+    @ListableEntity
+    static class Count {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = 1)
+        final long count;
+
+        Count(int index) {
+            this.id = index;
+            this.count = 1000 + index;
+        }
+    }
+
+    @ListableEntity
+    static class Ratio {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = 1)
+        final double ratio;
+
+        Ratio(int index) {
+            this.id = index;
+            this.ratio = index / 8d;
+        }
+    }
+
+    @ListableEntity
+    static class Day {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = 1, formatter = DateFormatter.class)
+        final Date date;
+
+        Day(int index) {
+            this.id = index;
+            this.date = new Date(TODAY - index % 30 * DAY);
+        }
+    }
+
+    @ListableEntity
+    static class Price {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = 1, formatter = MoneyFormatter.class, locale = "en-US")
+        final long price;
+
+        Price(int index) {
+            this.id = index;
+            this.price = 1000 + index * 37;
+        }
+    }
+
+    @ListableEntity
+    static class Cents {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = 1, formatter = MinorUnitsMoneyFormatter.class, locale = "en-US")
+        final long cents;
+
+        Cents(int index) {
+            this.id = index;
+            this.cents = 1000 + index * 37;
+        }
+    }
+
+    @ListableEntity
+    static class Product {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = 1)
+        final String name;
+
+        @ListableField(viewResource = 2)
+        final int stock;
+
+        @ListableField(viewResource = 3, formatter = MoneyFormatter.class, locale = "en-US")
+        final double price;
+
+        @ListableField(viewResource = 4, formatter = DateFormatter.class)
+        final Date date;
+
+        Product(int index) {
+            this.id = index;
+            this.name = "Product " + index;
+            this.stock = index % 10;
+            this.price = 10 + index * 0.25;
+            this.date = new Date(TODAY - index % 30 * DAY);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+
+import static ar.com.jdodevelopment.listable.ItemViews.newItemView;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the views registered by {@link ClickDispatcher} are clickable only while there is a callback for them.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ClickDispatcherTest {
+
+
+    private static final int NAME_VIEW = 0x01020014;
+    private static final int FAVORITE_VIEW = 0x01020015;
+
+    private ListableAdapter<Item> adapter;
+    private View itemView;
+    private View favoriteView;
+
+    @Before
+    public void setUp() {
+        adapter = new ListableAdapter<>(Item.class);
+        adapter.add(new Item());
+        ListableViewHolder<Item> viewHolder = new ListableViewHolder<>(newItemView(adapter.schema), adapter.schema);
+        adapter.clickDispatcher.register(viewHolder);
+        itemView = viewHolder.itemView;
+        favoriteView = viewHolder.getListableView(1);
+    }
+
+
+    @Test
+    public void withoutListeners_theRowsAreInert() {
+        assertFalse(itemView.isClickable());
+        assertFalse(itemView.isLongClickable());
+        assertFalse(favoriteView.isClickable());
+    }
+
+    @Test
+    public void clickListener_makesTheItemAndTheClickableFieldsClickable() {
+        adapter.setOnListableClickListener((view, item) -> { });
+        assertTrue(itemView.isClickable());
+        assertFalse(itemView.isLongClickable());
+        assertTrue(favoriteView.isClickable());
+
+        adapter.setOnListableClickListener(null);
+        assertFalse(itemView.isClickable());
+        assertFalse(favoriteView.isClickable());
+    }
+
+    @Test
+    public void fieldClickListener_onlyMakesTheFieldsClickable() {
+        adapter.setOnListableFieldClickListener((view, item, fieldName) -> { });
+        assertFalse(itemView.isClickable());
+        assertTrue(favoriteView.isClickable());
+    }
+
+    @Test
+    public void longClickListener_isResetWhenCleared() {
+        adapter.setOnListableLongClickListener((view, item) -> { });
+        assertTrue(itemView.isLongClickable());
+        assertFalse(itemView.isClickable());
+
+        adapter.setOnListableLongClickListener(null);
+        assertFalse(itemView.isLongClickable());
+    }
+
+
+    @ListableEntity
+    static class Item {
+
+        @ListableField(viewResource = NAME_VIEW)
+        final String name = "name";
+
+        @ListableField(viewResource = FAVORITE_VIEW, clickable = true)
+        final String favorite = "favorite";
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.ItemViews;
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the texts kept by {@link FormattedValueCache} for the items bound by {@link ListableAdapter}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class FormattedValueCacheTest {
+
+
+    private static final int NAME_VIEW = 1;
+
+    private ListableAdapter<Item> adapter;
+    private FormattedValueCache<Item> cache;
+    private ListableViewHolder<Item> viewHolder;
+
+    @Before
+    public void setUp() {
+        adapter = new ListableAdapter<>(Item.class);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new Item(i, "item" + i));
+        }
+        adapter.add(items);
+        adapter.setFormattedValueCacheSize(3);
+        cache = adapter.getFormattedValueCache();
+        viewHolder = ItemViews.newViewHolder(Item.class);
+    }
+
+
+    @Test
+    public void boundAgain_isAHit() {
+        bind(0);
+        bind(1);
+        bind(0);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals("item0", text());
+    }
+
+    @Test
+    public void leastRecentlyUsed_isEvicted() {
+        bind(0);
+        bind(1);
+        bind(2);
+        bind(0);
+        bind(3);
+        assertEquals(3, cache.size());
+
+        cache.resetCounters();
+        bind(0);
+        bind(2);
+        bind(3);
+        assertEquals(3, cache.getHitCount());
+        bind(1);
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void changedItem_isFormattedAgain() {
+        bind(4);
+        adapter.set(4, new Item(4, "changed"));
+        bind(4);
+        assertEquals("changed", text());
+        assertEquals(0, cache.getHitCount());
+
+        adapter.list.get(4).name = "modified";
+        adapter.notifyFieldsChanged(4, "name");
+        bind(4);
+        assertEquals("modified", text());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void removedItems_areDiscarded() {
+        bind(0);
+        bind(1);
+        adapter.remove(0);
+        assertEquals(1, cache.size());
+        adapter.removeAll();
+        assertEquals(0, cache.size());
+    }
+
+
+    @Test
+    public void preparedTexts_areFormattedWithoutKeepingTheBoundViewHolder() {
+        bind(0);
+        WeakReference<ListableViewHolder<Item>> bound = new WeakReference<>(viewHolder);
+        viewHolder = null;
+        for (int i = 0; i < 10 && bound.get() != null; i++) {
+            System.gc();
+        }
+        assertNull(bound.get());
+
+        assertTrue(adapter.prepare(5));
+        viewHolder = ItemViews.newViewHolder(Item.class);
+        bind(5);
+        assertEquals(1, cache.getHitCount());
+        assertEquals("item5", text());
+    }
+
+    private void bind(int position) {
+        adapter.onBindViewHolder(viewHolder, position);
+    }
+
+    private String text() {
+        return ItemViews.text(viewHolder, NAME_VIEW);
+    }
+
+
+    @ListableEntity
+    static class Item {
+
+        @ListableId
+        final long id;
+
+        @ListableField(viewResource = NAME_VIEW)
+        String name;
+
+        Item(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+}
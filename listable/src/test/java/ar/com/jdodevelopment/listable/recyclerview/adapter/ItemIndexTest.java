@@ -0,0 +1,166 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ItemIndexTest {
+
+
+    @Test
+    public void randomOperations_matchIndexOf() {
+        Random random = new Random(7);
+        List<String> list = new ArrayList<>();
+        ItemIndex<String> index = new ItemIndex<>(null);
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || list.isEmpty()) {
+                int from = list.size();
+                int count = 1 + random.nextInt(3);
+                for (int j = 0; j < count; j++) {
+                    list.add("item" + random.nextInt(3_000));
+                }
+                index.onAppended(list, from);
+            } else if (operation < 7) {
+                int position = random.nextInt(list.size());
+                index.onRemoved(list.remove(position), position);
+            } else if (operation < 8) {
+                int position = random.nextInt(list.size());
+                String item = "item" + random.nextInt(3_000);
+                index.onReplaced(list.set(position, item), item, position);
+            } else {
+                String item = "item" + random.nextInt(3_000);
+                assertEquals(item, list.indexOf(item), index.positionOf(item, list));
+            }
+        }
+    }
+
+    @Test
+    public void uniqueItems_stayIndexedIncrementally() {
+        Random random = new Random(11);
+        List<Integer> list = new ArrayList<>();
+        ItemIndex<Integer> index = new ItemIndex<>(null);
+        int next = 0;
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || list.isEmpty()) {
+                int from = list.size();
+                list.add(next++);
+                index.onAppended(list, from);
+            } else if (operation < 7) {
+                int position = random.nextInt(list.size());
+                index.onRemoved(list.remove(position), position);
+            } else if (operation < 8) {
+                int position = random.nextInt(list.size());
+                Integer item = next++;
+                index.onReplaced(list.set(position, item), item, position);
+            } else {
+                Integer item = random.nextInt(next);
+                assertEquals(list.indexOf(item), index.positionOf(item, list));
+            }
+        }
+    }
+
+    @Test
+    public void itemsUpdatedInPlace_areFoundAfterInvalidating() {
+        List<Mutable> list = new ArrayList<>();
+        ItemIndex<Mutable> index = new ItemIndex<>(null);
+        for (int i = 0; i < 10; i++) {
+            list.add(new Mutable(i));
+        }
+        index.onAppended(list, 0);
+        Mutable item = list.get(4);
+        assertEquals(4, index.positionOf(item, list));
+
+        item.value = 100;
+        index.invalidate();
+        assertEquals(4, index.positionOf(item, list));
+        index.onRemoved(list.remove(4), 4);
+        assertEquals(-1, index.positionOf(item, list));
+        assertEquals(4, index.positionOf(list.get(4), list));
+        assertEquals(8, index.positionOf(list.get(8), list));
+    }
+
+    @Test
+    public void absentItems_areNotSearchedInTheList() {
+        CountingList list = new CountingList();
+        ItemIndex<String> index = new ItemIndex<>(null);
+        for (int i = 0; i < 10_000; i++) {
+            list.add("item" + i);
+        }
+        index.onAppended(list, 0);
+        assertEquals(9_000, index.positionOf("item9000", list));
+
+        list.reads = 0;
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(-1, index.positionOf("absent" + i, list));
+        }
+        assertEquals(0, list.reads);
+    }
+
+
+    /**
+     * A list that counts the reads of its items.
+     */
+    private static final class CountingList extends ArrayList<String> {
+
+        int reads;
+
+        @Override
+        public String get(int index) {
+            reads++;
+            return super.get(index);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            reads += size();
+            return super.indexOf(o);
+        }
+    }
+
+
+    /**
+     * An item updated in place, whose hashCode depends on its value.
+     */
+    private static final class Mutable {
+
+        int value;
+
+        Mutable(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Mutable && ((Mutable) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+
+}
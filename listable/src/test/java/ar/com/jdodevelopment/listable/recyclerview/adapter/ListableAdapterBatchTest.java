@@ -0,0 +1,341 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+import ar.com.jdodevelopment.listable.schema.FieldChanges;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the notifications of the mutations of {@link ListableAdapter}, recorded by an AdapterDataObserver.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListableAdapterBatchTest {
+
+
+    private ListableAdapter<Item> adapter;
+    private RecordingObserver observer;
+
+    @Before
+    public void setUp() {
+        adapter = new ListableAdapter<>(Item.class);
+        adapter.add(items(0, 10));
+        observer = new RecordingObserver();
+        adapter.registerAdapterDataObserver(observer);
+    }
+
+
+    @Test
+    public void addCollection_notifiesTheSizeOfTheCollection() {
+        adapter.add(items(10, 3));
+        assertEquals(Arrays.asList("inserted 10 3"), observer.events);
+    }
+
+    @Test
+    public void batch_mergesAdjacentInsertions() {
+        adapter.batch(() -> {
+            adapter.add(new Item(10, "a"));
+            adapter.add(new Item(11, "b"));
+            adapter.insertAll(0, items(12, 2));
+            adapter.insertAll(2, items(14, 1));
+        });
+        assertEquals(Arrays.asList("inserted 10 2", "inserted 0 3"), observer.events);
+    }
+
+    @Test
+    public void batch_mergesAdjacentChangesWithTheUnionOfTheFields() {
+        adapter.batch(() -> {
+            for (int i = 2; i < 6; i++) {
+                adapter.set(i, new Item(i, "changed" + i));
+            }
+        });
+        assertEquals(Arrays.asList("changed 2 4"), observer.events);
+        assertTrue(observer.payloads.get(0) instanceof FieldChanges);
+    }
+
+    @Test
+    public void batch_absorbsChangesAndRemovalsOfInsertedItems() {
+        adapter.batch(() -> {
+            adapter.add(items(10, 5));
+            adapter.set(12, new Item(12, "changed"));
+            adapter.removeRange(13, 15);
+        });
+        assertEquals(Arrays.asList("inserted 10 3"), observer.events);
+    }
+
+    @Test
+    public void removeIf_notifiesOneRangeForEachRun() {
+        int removed = adapter.removeIf(item -> (item.id >= 2 && item.id < 5) || item.id >= 7);
+        assertEquals(6, removed);
+        assertEquals(Arrays.asList("removed 2 3", "removed 4 3"), observer.events);
+        assertEquals(4, adapter.getItemCount());
+        assertEquals(3, adapter.getPositionOfId(6));
+        assertEquals(RecyclerView.NO_POSITION, adapter.getPositionOfId(9));
+    }
+
+    @Test
+    public void nestedBatch_notifiesWhenTheOutermostIsCommitted() {
+        adapter.beginBatch();
+        adapter.batch(() -> adapter.remove(0));
+        assertTrue(observer.events.isEmpty());
+        adapter.remove(0);
+        adapter.commit();
+        assertEquals(Arrays.asList("removed 0 2"), observer.events);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void commitWithoutBatch_throws() {
+        adapter.commit();
+    }
+
+    @Test
+    public void randomBatch_notificationsReproduceTheList() {
+        Random random = new Random(5);
+        long nextId = 10;
+        for (int round = 0; round < 200; round++) {
+            List<Item> before = new ArrayList<>(adapter.list);
+            observer.events.clear();
+            adapter.beginBatch();
+            for (int i = 0; i < 20; i++) {
+                int size = adapter.getItemCount();
+                int operation = random.nextInt(6);
+                if (operation == 0 || size == 0) {
+                    adapter.insertAll(random.nextInt(size + 1), items(nextId, 1 + random.nextInt(3)));
+                    nextId += 3;
+                } else if (operation == 1) {
+                    adapter.add(new Item(nextId++, "added"));
+                } else if (operation == 2) {
+                    adapter.remove(random.nextInt(size));
+                } else if (operation == 3) {
+                    int from = random.nextInt(size);
+                    adapter.removeRange(from, Math.min(size, from + 1 + random.nextInt(3)));
+                } else if (operation == 4) {
+                    int position = random.nextInt(size);
+                    adapter.set(position, new Item(adapter.list.get(position).id, "set" + i));
+                } else {
+                    final int modulo = 2 + random.nextInt(5);
+                    adapter.removeIf(item -> item.id % modulo == 0 && item.id % 7 == 0);
+                }
+            }
+            adapter.commit();
+            List<Object> replayed = observer.replay(before);
+            assertEquals(adapter.list.size(), replayed.size());
+            for (int i = 0; i < replayed.size(); i++) {
+                if (replayed.get(i) instanceof Item)
+                    assertEquals(((Item) replayed.get(i)).id, adapter.list.get(i).id);
+            }
+        }
+    }
+
+
+    @Test
+    public void postedChanges_areCollapsedByIdAndAppliedInOneBatch() {
+        adapter.postAdd(new Item(10, "a"));
+        adapter.postUpdate(new Item(10, "b"));
+        adapter.postAdd(new Item(11, "c"));
+        adapter.postRemove(new Item(11, "c"));
+        adapter.postUpdate(new Item(3, "changed"));
+        adapter.postUpdate(new Item(4, "changed"));
+        adapter.postRemove(new Item(0, "item0"));
+        adapter.postUpdate(new Item(0, "ignored"));
+        adapter.postAdd(new Item(12, "d"));
+        assertTrue(observer.events.isEmpty());
+
+        adapter.applyPendingUpdates();
+        assertEquals(Arrays.asList("inserted 10 1", "changed 3 2", "removed 0 1", "inserted 10 1"), observer.events);
+        assertEquals("b", adapter.list.get(9).name);
+        assertEquals(RecyclerView.NO_POSITION, adapter.getPositionOfId(11));
+        assertEquals(11, adapter.getItemCount());
+    }
+
+    @Test
+    public void changesPostedFromManyThreads_areAllApplied() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final long firstId = 100 + t * 1_000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    adapter.postAdd(new Item(firstId + i, "added"));
+                    adapter.postUpdate(new Item(firstId + i, "updated"));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        adapter.applyPendingUpdates();
+        assertEquals(4_010, adapter.getItemCount());
+        assertEquals("updated", adapter.list.get(4_009).name);
+    }
+
+
+    @Test
+    public void newIdsPostedToALargeList_areAppendedInOneRange() {
+        adapter.add(items(10, 99_990));
+        observer.events.clear();
+        for (int i = 0; i < 10_000; i++) {
+            adapter.postAdd(new Item(100_000 + i, "new"));
+        }
+        adapter.applyPendingUpdates();
+        assertEquals(Arrays.asList("inserted 100000 10000"), observer.events);
+        assertEquals(105_000, adapter.getPositionOfId(105_000));
+    }
+
+    @Test
+    public void newItemsPostedToALargeList_areNotComparedWithTheList() {
+        ListableAdapter<Entry> entries = new ListableAdapter<>(Entry.class);
+        List<Entry> list = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(new Entry(i));
+        }
+        entries.add(list);
+        assertEquals(50_000, entries.positionOf(new Entry(50_000)));
+
+        Entry.comparisons = 0;
+        for (int i = 0; i < 1_000; i++) {
+            entries.postAdd(new Entry(100_000 + i));
+        }
+        entries.applyPendingUpdates();
+        assertEquals(101_000, entries.getItemCount());
+        assertTrue("comparisons: " + Entry.comparisons, Entry.comparisons < 1_000);
+    }
+
+
+    private static List<Item> items(long firstId, int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(firstId + i, "item" + (firstId + i)));
+        }
+        return items;
+    }
+
+
+    @ListableEntity
+    static class Item {
+
+        @ListableId
+        final long id;
+
+        @ListableField
+        final String name;
+
+        Item(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+
+    /**
+     * An entity without '@ListableId', that counts its comparisons.
+     */
+    @ListableEntity
+    static class Entry {
+
+        static int comparisons;
+
+        @ListableField
+        final int value;
+
+        Entry(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            comparisons++;
+            return o instanceof Entry && ((Entry) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+
+
+    private static class RecordingObserver extends RecyclerView.AdapterDataObserver {
+
+        final List<String> events = new ArrayList<>();
+        final List<Object> payloads = new ArrayList<>();
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            events.add("inserted " + positionStart + " " + itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            events.add("removed " + positionStart + " " + itemCount);
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+            events.add("changed " + positionStart + " " + itemCount);
+            payloads.add(payload);
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            events.add("moved " + fromPosition + " " + toPosition + " " + itemCount);
+        }
+
+        /**
+         * Apply the recorded insertions and removals to a copy of the list, checking that each range is valid.
+         */
+        List<Object> replay(List<Item> before) {
+            List<Object> list = new ArrayList<Object>(before);
+            for (String event : events) {
+                String[] parts = event.split(" ");
+                int position = Integer.parseInt(parts[1]);
+                int count = Integer.parseInt(parts[2]);
+                assertTrue(event, count > 0);
+                if (parts[0].equals("inserted")) {
+                    assertTrue(event, position <= list.size());
+                    for (int i = 0; i < count; i++) {
+                        list.add(position, "inserted");
+                    }
+                } else if (parts[0].equals("removed")) {
+                    assertTrue(event, position + count <= list.size());
+                    list.subList(position, position + count).clear();
+                } else if (parts[0].equals("changed")) {
+                    assertTrue(event, position + count <= list.size());
+                }
+            }
+            return list;
+        }
+    }
+
+}
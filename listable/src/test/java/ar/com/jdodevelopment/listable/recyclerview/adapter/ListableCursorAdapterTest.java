@@ -0,0 +1,165 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.database.Cursor;
+import android.database.MatrixCursor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+import ar.com.jdodevelopment.listable.formatter.DateFormatter;
+import ar.com.jdodevelopment.listable.schema.ListableSchema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the reading of the columns of a Cursor by {@link ListableCursorAdapter}, with a MatrixCursor.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListableCursorAdapterTest {
+
+
+    @Test
+    public void columns_areResolvedByNameAndReadByTheTypeOfTheField() {
+        MatrixCursor cursor = newCursor();
+        CursorColumns columns = new CursorColumns(ListableSchema.<Order>of(Order.class), cursor);
+        cursor.moveToPosition(1);
+
+        int customer = ListableSchema.of(Order.class).indexOf("customer");
+        int total = ListableSchema.of(Order.class).indexOf("total");
+        int date = ListableSchema.of(Order.class).indexOf("date");
+        assertEquals(2, columns.getColumnIndex(customer));
+        assertEquals("Bob", columns.getValue(cursor, customer));
+        assertEquals(20.5, columns.getDouble(cursor, total), 0);
+        assertEquals(new Date(2_000L), columns.getValue(cursor, date));
+        assertEquals(0, columns.getIdColumnIndex());
+
+        cursor.moveToPosition(2);
+        assertTrue(columns.isNull(cursor, total));
+        assertNull(columns.getValue(cursor, customer));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingColumn_throws() {
+        new CursorColumns(ListableSchema.<Order>of(Order.class), new MatrixCursor(new String[]{"_id", "customer_name"}));
+    }
+
+    @Test
+    public void adapter_countsRowsAndUsesTheIdColumn() {
+        ListableCursorAdapter<Order> adapter = new ListableCursorAdapter<>(Order.class);
+        assertEquals(0, adapter.getItemCount());
+        adapter.changeCursor(newCursor());
+        assertEquals(3, adapter.getItemCount());
+        assertTrue(adapter.hasStableIds());
+        assertEquals(12, adapter.getItemId(1));
+    }
+
+    @Test
+    public void olderQueries_areClosedAndDiscarded() {
+        List<Runnable> pendingQueries = new ArrayList<>();
+        ListableCursorAdapter<Order> adapter = new ListableCursorAdapter<>(Order.class);
+        adapter.setQueryExecutor(pendingQueries::add);
+        Cursor first = newCursor();
+        Cursor second = newCursor();
+        adapter.changeCursorAsync(() -> first);
+        adapter.changeCursorAsync(() -> second);
+        pendingQueries.get(1).run();
+        pendingQueries.get(0).run();
+        assertSame(second, adapter.getCursor());
+        assertTrue(first.isClosed());
+        adapter.changeCursor(null);
+        assertTrue(second.isClosed());
+        assertFalse(adapter.getItemCount() > 0);
+    }
+
+    @Test
+    public void failedQuery_isDeliveredAndKeepsTheCursor() {
+        List<Runnable> pendingQueries = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        ListableCursorAdapter<Order> adapter = new ListableCursorAdapter<>(Order.class);
+        adapter.setQueryExecutor(pendingQueries::add);
+        adapter.setOnQueryFailedListener(failures::add);
+        Cursor cursor = newCursor();
+        adapter.changeCursor(cursor);
+        adapter.changeCursorAsync(() -> {
+            throw new IllegalStateException("no such table: orders");
+        });
+        pendingQueries.get(0).run();
+        assertEquals(1, failures.size());
+        assertEquals("no such table: orders", failures.get(0).getMessage());
+        assertSame(cursor, adapter.getCursor());
+    }
+
+    @Test
+    public void getItem_createsTheEntityOfTheRow() {
+        ListableCursorAdapter<Order> adapter = new ListableCursorAdapter<>(Order.class);
+        assertNull(adapter.getItem(0));
+        adapter.changeCursor(newCursor());
+
+        Order order = adapter.getItem(1);
+        assertEquals(12, order.id);
+        assertEquals("Bob", order.customer);
+        assertEquals(20.5, order.total, 0);
+        assertEquals(new Date(2_000L), order.date);
+
+        Order empty = adapter.getItem(2);
+        assertEquals(0, empty.total, 0);
+        assertNull(empty.customer);
+        assertNull(adapter.getItem(3));
+    }
+
+
+    private static MatrixCursor newCursor() {
+        MatrixCursor cursor = new MatrixCursor(new String[]{"_id", "total", "customer_name", "date"});
+        cursor.addRow(new Object[]{11L, 10.0, "Alice", 1_000L});
+        cursor.addRow(new Object[]{12L, 20.5, "Bob", 2_000L});
+        cursor.addRow(new Object[]{13L, null, null, 3_000L});
+        return cursor;
+    }
+
+
+    @ListableEntity
+    static class Order {
+
+        @ListableId(column = "_id")
+        long id;
+
+        @ListableField(column = "customer_name")
+        String customer;
+
+        @ListableField
+        double total;
+
+        @ListableField(formatter = DateFormatter.class)
+        Date date;
+    }
+
+}
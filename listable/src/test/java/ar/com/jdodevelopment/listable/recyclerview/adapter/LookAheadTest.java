@@ -0,0 +1,106 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks which positions {@link LookAhead} prepares as the list is scrolled.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class LookAheadTest {
+
+
+    private static final int ITEM_COUNT = 100;
+
+    private List<Integer> prepared;
+    private LookAhead lookAhead;
+
+    @Before
+    public void setUp() {
+        prepared = new ArrayList<>();
+        lookAhead = new LookAhead(position -> {
+            if (position < 0 || position >= ITEM_COUNT)
+                return false;
+            prepared.add(position);
+            return true;
+        });
+        lookAhead.setFrameBudgetNanos(1_000_000_000L);
+    }
+
+
+    @Test
+    public void slowScroll_preparesTheMinimumAfterThePrefetchedItems() {
+        lookAhead.onScrolled(10, 1, 0, 1);
+        lookAhead.doFrame(0);
+        assertEquals(Arrays.asList(12, 13), prepared);
+    }
+
+    @Test
+    public void fastScroll_preparesMoreItemsUpToTheMaximum() {
+        lookAhead.onScrolled(10, 1, 10, 0);
+        lookAhead.doFrame(0);
+        assertEquals(LookAhead.MIN_ITEMS + 3, prepared.size());
+
+        prepared.clear();
+        lookAhead.onScrolled(10, 1, 1000, 0);
+        lookAhead.doFrame(0);
+        assertEquals(LookAhead.DEFAULT_MAX_ITEMS - LookAhead.MIN_ITEMS - 3, prepared.size());
+    }
+
+    @Test
+    public void advancingScroll_onlyPreparesTheNewItems() {
+        lookAhead.onScrolled(10, 1, 0, 0);
+        lookAhead.doFrame(0);
+        lookAhead.onScrolled(11, 1, 0, 0);
+        lookAhead.doFrame(0);
+        assertEquals(Arrays.asList(11, 12, 13), prepared);
+    }
+
+    @Test
+    public void reversedScroll_preparesTowardsTheStartUntilTheFirstItem() {
+        lookAhead.onScrolled(10, 1, 0, 0);
+        lookAhead.doFrame(0);
+        prepared.clear();
+        lookAhead.onScrolled(2, -1, 1000, 0);
+        lookAhead.doFrame(0);
+        assertEquals(Arrays.asList(1, 0), prepared);
+    }
+
+    @Test
+    public void frameBudget_spreadsThePreparationOverFrames() {
+        lookAhead.setFrameBudgetNanos(0);
+        lookAhead.onScrolled(10, 1, 1000, 0);
+        lookAhead.doFrame(0);
+        assertEquals(1, prepared.size());
+        for (int i = 1; i < LookAhead.DEFAULT_MAX_ITEMS; i++) {
+            lookAhead.doFrame(0);
+        }
+        assertEquals(LookAhead.DEFAULT_MAX_ITEMS, prepared.size());
+    }
+
+}
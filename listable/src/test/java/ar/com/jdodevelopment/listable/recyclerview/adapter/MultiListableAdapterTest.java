@@ -0,0 +1,167 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.Arrays;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that {@link MultiListableAdapter} resolves the view type of each item by its class and layout variant.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class MultiListableAdapterTest {
+
+
+    private MultiListableAdapter adapter;
+    private int orderType;
+    private int paymentType;
+    private int urgentNoticeType;
+    private int noticeType;
+
+    @Before
+    public void setUp() {
+        adapter = new MultiListableAdapter();
+        orderType = adapter.addType(Order.class);
+        paymentType = adapter.addType(Payment.class);
+        urgentNoticeType = adapter.addType(Notice.class, android.R.layout.simple_list_item_2, notice -> notice.urgent);
+        noticeType = adapter.addType(Notice.class);
+    }
+
+
+    @Test
+    public void eachClass_hasItsOwnViewTypeAndSchema() {
+        adapter.add(Arrays.asList(new Order("a"), new Payment("b"), new Order("c")));
+        assertEquals(orderType, adapter.getItemViewType(0));
+        assertEquals(paymentType, adapter.getItemViewType(1));
+        assertEquals(orderType, adapter.getItemViewType(2));
+        assertSame(Payment.class, adapter.getSchema(paymentType).getEntityClass());
+    }
+
+    @Test
+    public void layoutVariants_areChosenByTheirPredicate() {
+        adapter.add(new Notice("a", false));
+        adapter.add(new Notice("b", true));
+        assertEquals(noticeType, adapter.getItemViewType(0));
+        assertEquals(urgentNoticeType, adapter.getItemViewType(1));
+        adapter.set(0, new Notice("c", true));
+        assertEquals(urgentNoticeType, adapter.getItemViewType(0));
+    }
+
+    @Test
+    public void subclasses_useTheViewTypeOfTheirRegisteredSuperclass() {
+        adapter.add(new RefundPayment("a"));
+        assertEquals(paymentType, adapter.getItemViewType(0));
+    }
+
+    @Test
+    public void maxRecycledViews_areSetInThePoolByViewType() {
+        RecyclerView recyclerView = new RecyclerView(RuntimeEnvironment.application);
+        recyclerView.setLayoutManager(new LinearLayoutManager(RuntimeEnvironment.application));
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        adapter.setMaxRecycledViews(orderType, 2);
+        adapter.onAttachedToRecyclerView(recyclerView);
+        recycle(recyclerView, orderType, 5);
+        recycle(recyclerView, paymentType, 5);
+        assertEquals(2, pool.getRecycledViewCount(orderType));
+        assertEquals(5, pool.getRecycledViewCount(paymentType));
+
+        adapter.setMaxRecycledViews(orderType, 4);
+        recycle(recyclerView, orderType, 5);
+        assertEquals(4, pool.getRecycledViewCount(orderType));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unregisteredClass_throwsWhenAdded() {
+        adapter.add("not registered");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void registeringAClassTwice_throws() {
+        adapter.addType(Order.class);
+    }
+
+
+    /**
+     * Create view holders of a view type and put them in the pool of the RecyclerView.
+     */
+    private void recycle(RecyclerView recyclerView, int viewType, int count) {
+        for (int i = 0; i < count; i++) {
+            recyclerView.getRecycledViewPool().putRecycledView(adapter.createViewHolder(recyclerView, viewType));
+        }
+    }
+
+
+    @ListableEntity
+    static class Order {
+
+        @ListableField
+        final String number;
+
+        Order(String number) {
+            this.number = number;
+        }
+    }
+
+    @ListableEntity
+    static class Payment {
+
+        @ListableField
+        final String receipt;
+
+        Payment(String receipt) {
+            this.receipt = receipt;
+        }
+    }
+
+    static class RefundPayment extends Payment {
+
+        RefundPayment(String receipt) {
+            super(receipt);
+        }
+    }
+
+    @ListableEntity
+    static class Notice {
+
+        @ListableField
+        final String text;
+
+        final boolean urgent;
+
+        Notice(String text, boolean urgent) {
+            this.text = text;
+            this.urgent = urgent;
+        }
+    }
+
+}
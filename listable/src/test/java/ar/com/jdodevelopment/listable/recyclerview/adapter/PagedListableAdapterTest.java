@@ -0,0 +1,170 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the loading, prefetching and eviction of the pages of {@link PagedListableAdapter}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PagedListableAdapterTest {
+
+
+    private final List<Runnable> pendingLoads = new ArrayList<>();
+    private final List<Integer> loadedOffsets = new ArrayList<>();
+    private int itemCount = 1_000;
+    private int failingOffset = -1;
+    private PagedListableAdapter<Item> adapter;
+
+    @Before
+    public void setUp() {
+        adapter = new PagedListableAdapter<>(Item.class, new ListablePageSource<Item>() {
+            @Override
+            public int getItemCount() {
+                return itemCount;
+            }
+
+            @NonNull
+            @Override
+            public List<Item> loadPage(int offset, int count) {
+                loadedOffsets.add(offset);
+                if (offset == failingOffset)
+                    throw new IllegalStateException("offline");
+                List<Item> items = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    items.add(new Item(offset + i));
+                }
+                return items;
+            }
+        }, 10);
+        adapter.setLoadExecutor(pendingLoads::add);
+        adapter.refresh();
+        runPendingLoads();
+    }
+
+
+    @Test
+    public void positionsNotLoaded_arePlaceholders() {
+        assertEquals(1_000, adapter.getItemCount());
+        assertNull(adapter.getItem(0));
+        adapter.loadAround(0);
+        assertNull(adapter.getItem(0));
+        runPendingLoads();
+        assertEquals(0, adapter.getItem(0).position);
+        assertEquals(19, adapter.getItem(19).position);
+        assertFalse(adapter.isLoaded(20));
+    }
+
+    @Test
+    public void pagesAroundThePosition_arePrefetchedOnce() {
+        adapter.setPrefetchPages(2);
+        adapter.loadAround(155);
+        adapter.loadAround(157);
+        runPendingLoads();
+        adapter.loadAround(151);
+        runPendingLoads();
+        assertEquals(5, loadedOffsets.size());
+        assertTrue(adapter.isLoaded(130));
+        assertTrue(adapter.isLoaded(179));
+    }
+
+    @Test
+    public void farPages_areEvicted() {
+        adapter.setMaxLoadedPages(4);
+        for (int position = 0; position < 1_000; position += 10) {
+            adapter.loadAround(position);
+            runPendingLoads();
+            assertTrue(adapter.getLoadedPageCount() <= 4);
+        }
+        assertFalse(adapter.isLoaded(0));
+        assertTrue(adapter.isLoaded(995));
+    }
+
+    @Test
+    public void refresh_discardsPagesOfTheOldSource() {
+        adapter.loadAround(0);
+        itemCount = 5;
+        adapter.refresh();
+        runPendingLoads();
+        assertEquals(5, adapter.getItemCount());
+        assertFalse(adapter.isLoaded(0));
+    }
+
+    @Test
+    public void failedPages_areReportedAndNotLoadedAgainOnEachBind() {
+        List<String> failures = new ArrayList<>();
+        adapter.setOnPageLoadFailedListener((page, e) -> failures.add(page + " " + e.getMessage()));
+        adapter.setPrefetchPages(0);
+        failingOffset = 20;
+        adapter.loadAround(25);
+        runPendingLoads();
+        adapter.loadAround(26);
+        adapter.loadAround(27);
+        runPendingLoads();
+        assertEquals(1, loadedOffsets.size());
+        assertEquals(Arrays.asList("2 offline"), failures);
+        assertFalse(adapter.isLoaded(25));
+
+        adapter.loadAround(35);
+        runPendingLoads();
+        assertTrue(adapter.isLoaded(35));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void prefetchLargerThanTheLoadedPages_throws() {
+        adapter.setPrefetchPages(5);
+    }
+
+
+    private void runPendingLoads() {
+        while (!pendingLoads.isEmpty()) {
+            pendingLoads.remove(0).run();
+        }
+    }
+
+
+    @ListableEntity
+    static class Item {
+
+        @ListableField
+        final int position;
+
+        Item(int position) {
+            this.position = position;
+        }
+    }
+
+}
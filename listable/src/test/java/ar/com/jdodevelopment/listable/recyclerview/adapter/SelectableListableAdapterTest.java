@@ -0,0 +1,131 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import android.support.v7.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.annotation.ListableId;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the selection of {@link SelectableListableAdapter} follows the objects and notifies only what changed.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class SelectableListableAdapterTest {
+
+
+    private SelectableListableAdapter<Item> adapter;
+    private final List<String> events = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        adapter = new SelectableListableAdapter<>(Item.class);
+        for (int i = 0; i < 10; i++) {
+            adapter.add(new Item(i));
+        }
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                events.add(positionStart + " " + itemCount);
+            }
+        });
+    }
+
+
+    @Test
+    public void selection_followsTheObjectsWhenTheListChanges() {
+        adapter.setSelected(5, true);
+        adapter.setSelected(8, true);
+        adapter.removeRange(0, 3);
+        adapter.insertAll(0, Arrays.asList(new Item(20), new Item(21)));
+        assertEquals(Arrays.asList(4, 7), adapter.getSelectedIndexes());
+        assertTrue(adapter.isSelected(4));
+    }
+
+    @Test
+    public void selectAllAndInvert_applyToEveryObject() {
+        adapter.selectAll();
+        assertEquals(10, adapter.getSelectedCount());
+        adapter.setSelected(2, false);
+        adapter.add(new Item(10));
+        assertEquals(10, adapter.getSelectedCount());
+        adapter.invertSelection();
+        assertEquals(Arrays.asList(2), adapter.getSelectedIndexes());
+        assertEquals(Arrays.asList("0 10", "2 1", "0 11"), events);
+    }
+
+    @Test
+    public void rangeSelection_notifiesOnlyTheObjectsThatChanged() {
+        adapter.setSelected(4, true);
+        events.clear();
+        adapter.setRangeSelected(2, 8, true);
+        assertEquals(Arrays.asList("2 2", "5 3"), events);
+        assertEquals(6, adapter.getSelectedCount());
+    }
+
+    @Test
+    public void clearSelection_notifiesOnlyWhenSomethingWasSelected() {
+        adapter.clearSelection();
+        assertTrue(events.isEmpty());
+        adapter.flipObjectSelection(adapter.list.get(3));
+        adapter.clearSelection();
+        assertEquals(Arrays.asList("3 1", "0 10"), events);
+        assertFalse(adapter.isSelected(3));
+    }
+
+    @Test
+    public void removedObjects_areForgotten() {
+        Item item = adapter.list.get(1);
+        adapter.setSelected(1, true);
+        adapter.remove(1);
+        assertEquals(0, adapter.getSelectedCount());
+        adapter.add(item);
+        assertFalse(adapter.isSelected(adapter.getItemCount() - 1));
+    }
+
+
+    @ListableEntity
+    static class Item {
+
+        @ListableId
+        final long id;
+
+        @ListableField
+        final String name;
+
+        Item(long id) {
+            this.id = id;
+            this.name = "item" + id;
+        }
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.adapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.formatter.StatefulFormatter;
+import ar.com.jdodevelopment.listable.formatter.TextFormatter;
+import ar.com.jdodevelopment.listable.recyclerview.viewholder.ListableViewHolder;
+
+import static ar.com.jdodevelopment.listable.ItemViews.newViewHolder;
+import static ar.com.jdodevelopment.listable.ItemViews.text;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the texts formatted in background by {@link ListableAdapter} are the same that are set synchronously.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class TextPrecomputerTest {
+
+
+    private static final int NAME_VIEW = 1;
+    private static final int PRICE_VIEW = 2;
+
+    private ListableAdapter<Item> adapter;
+    private List<Runnable> queued;
+
+    @Before
+    public void setUp() {
+        adapter = new ListableAdapter<>(Item.class);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new Item("item" + i, i % 3 == 0 ? null : i * 10L));
+        }
+        adapter.add(items);
+        queued = new ArrayList<>();
+        adapter.setTextExecutor(queued::add);
+        adapter.setAsyncTextEnabled(true);
+        adapter.setLookAhead(LookAhead.DEFAULT_MAX_ITEMS, 1_000_000_000L);
+    }
+
+
+    @Test
+    public void scroll_preparesTheItemsAheadInTheDirectionOfTheScroll() {
+        adapter.onBindViewHolder(newViewHolder(Item.class), 5);
+        adapter.getLookAhead().onScrolled(5, 1, 0, 1);
+        adapter.getLookAhead().doFrame(0);
+        assertEquals(LookAhead.MIN_ITEMS, queued.size());
+
+        adapter.getLookAhead().onScrolled(3, -1, 100, 1);
+        adapter.getLookAhead().doFrame(0);
+        assertEquals(LookAhead.MIN_ITEMS + 2, adapter.getTextPrecomputer().getTaskCount());
+    }
+
+    @Test
+    public void bind_setsTheSameTextsWithAndWithoutPreparation() {
+        adapter.onBindViewHolder(newViewHolder(Item.class), 0);
+        for (int position = 1; position < 5; position++) {
+            adapter.prepare(position);
+            runQueued();
+            ListableViewHolder<Item> prepared = newViewHolder(Item.class);
+            adapter.onBindViewHolder(prepared, position);
+
+            ListableViewHolder<Item> synchronous = newViewHolder(Item.class);
+            synchronous.setValuesInViews(adapter.list.get(position));
+            assertEquals(text(synchronous, NAME_VIEW), text(prepared, NAME_VIEW));
+            assertEquals(text(synchronous, PRICE_VIEW), text(prepared, PRICE_VIEW));
+        }
+    }
+
+    @Test
+    public void bind_fallsBackWhenTheTextsArentReady() {
+        adapter.onBindViewHolder(newViewHolder(Item.class), 0);
+        adapter.prepare(1);
+        ListableViewHolder<Item> viewHolder = newViewHolder(Item.class);
+        adapter.onBindViewHolder(viewHolder, 1);
+        assertEquals("item1", text(viewHolder, NAME_VIEW));
+    }
+
+    @Test
+    public void changes_discardThePreparedTexts() {
+        adapter.onBindViewHolder(newViewHolder(Item.class), 0);
+        adapter.prepare(1);
+        runQueued();
+        adapter.set(1, new Item("changed", 1L));
+        assertEquals(0, adapter.getTextPrecomputer().getTaskCount());
+
+        ListableViewHolder<Item> viewHolder = newViewHolder(Item.class);
+        adapter.onBindViewHolder(viewHolder, 1);
+        assertEquals("changed", text(viewHolder, NAME_VIEW));
+    }
+
+    @Test
+    public void appendsAndFieldChanges_keepThePreparedTextsOfTheOtherItems() {
+        adapter.onBindViewHolder(newViewHolder(Item.class), 0);
+        adapter.prepare(1);
+        adapter.prepare(2);
+        runQueued();
+        adapter.add(new Item("appended", 1L));
+        adapter.notifyFieldsChanged(2, "name");
+        assertEquals(1, adapter.getTextPrecomputer().getTaskCount());
+
+        ListableViewHolder<Item> viewHolder = newViewHolder(Item.class);
+        adapter.onBindViewHolder(viewHolder, 1);
+        assertEquals(0, adapter.getTextPrecomputer().getTaskCount());
+        assertEquals("item1", text(viewHolder, NAME_VIEW));
+    }
+
+
+    @Test
+    public void recycledHolder_cancelsTheTextsOfTheItemItWasBoundTo() {
+        ListableViewHolder<Item> recycled = newViewHolder(Item.class);
+        adapter.onBindViewHolder(recycled, 3);
+        adapter.remove(0);
+        adapter.prepare(0);
+        adapter.prepare(2);
+        runQueued();
+        assertEquals(2, adapter.getTextPrecomputer().getTaskCount());
+
+        adapter.onViewRecycled(recycled);
+        assertEquals(1, adapter.getTextPrecomputer().getTaskCount());
+        adapter.onBindViewHolder(newViewHolder(Item.class), 0);
+        assertEquals(0, adapter.getTextPrecomputer().getTaskCount());
+    }
+
+    @Test
+    public void statefulFormatters_areOnlyUsedWhenBinding() {
+        ListableAdapter<Note> notes = new ListableAdapter<>(Note.class);
+        notes.add(new Note("first"));
+        notes.add(new Note("second"));
+        notes.setTextExecutor(queued::add);
+        notes.setAsyncTextEnabled(true);
+        notes.onBindViewHolder(newViewHolder(Note.class), 0);
+        CountingFormatter.count = 0;
+
+        notes.prepare(1);
+        runQueued();
+        assertEquals(0, CountingFormatter.count);
+
+        ListableViewHolder<Note> viewHolder = newViewHolder(Note.class);
+        notes.onBindViewHolder(viewHolder, 1);
+        assertEquals("second 1", text(viewHolder, NAME_VIEW));
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+
+    /**
+     * Formats the texts numbering them, so each instance keeps its own count.
+     */
+    public static class CountingFormatter implements TextFormatter, StatefulFormatter {
+
+        static int count;
+
+        private int number;
+
+        @Override
+        public CharSequence formatValue(Object value) {
+            count++;
+            return value + " " + ++number;
+        }
+
+        @Override
+        public CharSequence formatNull() {
+            return "";
+        }
+
+        @Override
+        public boolean supportedValueType(Object value) {
+            return value instanceof String;
+        }
+    }
+
+    @ListableEntity
+    static class Item {
+
+        @ListableField(viewResource = NAME_VIEW)
+        final String name;
+
+        @ListableField(viewResource = PRICE_VIEW)
+        final Long price;
+
+        Item(String name, Long price) {
+            this.name = name;
+            this.price = price;
+        }
+    }
+
+
+    @ListableEntity
+    static class Note {
+
+        @ListableField(viewResource = NAME_VIEW, formatter = CountingFormatter.class)
+        final String text;
+
+        Note(String text) {
+            this.text = text;
+        }
+    }
+
+}
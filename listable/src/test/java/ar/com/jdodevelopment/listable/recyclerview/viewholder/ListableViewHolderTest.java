@@ -0,0 +1,151 @@
+/*
+    Copyright (c) 2019 Juan Daniel Ornella <juan.daniel.sp@gmail.com>
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package ar.com.jdodevelopment.listable.recyclerview.viewholder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import ar.com.jdodevelopment.listable.annotation.ListableEntity;
+import ar.com.jdodevelopment.listable.annotation.ListableField;
+import ar.com.jdodevelopment.listable.formatter.LongTextFormatter;
+import ar.com.jdodevelopment.listable.formatter.TextFormatter;
+
+import static ar.com.jdodevelopment.listable.ItemViews.newViewHolder;
+import static ar.com.jdodevelopment.listable.ItemViews.text;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the primitive fields reach the TextFormatters with the type they expect.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListableViewHolderTest {
+
+
+    private static final int COUNT_VIEW = 1;
+    private static final int LEVEL_VIEW = 2;
+    private static final int TOTAL_VIEW = 3;
+
+
+    @Test
+    public void primitiveFields_areBoxedInTheirTypeForPlainTextFormatters() {
+        ListableViewHolder<Item> viewHolder = newViewHolder(Item.class);
+        viewHolder.setValuesInViews(new Item(7, (byte) 2, 1000L));
+
+        assertEquals("int 7", text(viewHolder, COUNT_VIEW));
+        assertEquals("Byte 2", text(viewHolder, LEVEL_VIEW));
+    }
+
+    @Test
+    public void primitiveFields_areFormattedWithoutBoxingByLongTextFormatters() {
+        ListableViewHolder<Item> viewHolder = newViewHolder(Item.class);
+        viewHolder.setValuesInViews(new Item(7, (byte) 2, 1000L));
+
+        assertEquals("long 1000", text(viewHolder, TOTAL_VIEW));
+    }
+
+
+    /**
+     * Formats only Integers, casting the value.
+     */
+    public static class IntegerFormatter implements TextFormatter {
+
+        @Override
+        public CharSequence formatValue(Object value) {
+            return "int " + (int) (Integer) value;
+        }
+
+        @Override
+        public CharSequence formatNull() {
+            return "";
+        }
+
+        @Override
+        public boolean supportedValueType(Object value) {
+            return value instanceof Integer;
+        }
+    }
+
+    /**
+     * Formats any number with the name of its type.
+     */
+    public static class TypeNameFormatter implements TextFormatter {
+
+        @Override
+        public CharSequence formatValue(Object value) {
+            return value.getClass().getSimpleName() + " " + value;
+        }
+
+        @Override
+        public CharSequence formatNull() {
+            return "";
+        }
+
+        @Override
+        public boolean supportedValueType(Object value) {
+            return value instanceof Number;
+        }
+    }
+
+    /**
+     * Formats the longs without boxing, and fails if they are boxed.
+     */
+    public static class UnboxedFormatter implements LongTextFormatter {
+
+        @Override
+        public CharSequence formatLong(long value) {
+            return "long " + value;
+        }
+
+        @Override
+        public CharSequence formatValue(Object value) {
+            throw new AssertionError("The value was boxed: " + value);
+        }
+
+        @Override
+        public CharSequence formatNull() {
+            return "";
+        }
+
+        @Override
+        public boolean supportedValueType(Object value) {
+            return value instanceof Long;
+        }
+    }
+
+
+    @ListableEntity
+    static class Item {
+
+        @ListableField(viewResource = COUNT_VIEW, formatter = IntegerFormatter.class)
+        final int count;
+
+        @ListableField(viewResource = LEVEL_VIEW, formatter = TypeNameFormatter.class)
+        final byte level;
+
+        @ListableField(viewResource = TOTAL_VIEW, formatter = UnboxedFormatter.class)
+        final long total;
+
+        Item(int count, byte level, long total) {
+            this.count = count;
+            this.level = level;
+            this.total = total;
+        }
+    }
+
+}